@@ -0,0 +1,26 @@
+package com.IndiExport.backend.config;
+
+import com.IndiExport.backend.repository.analytics.AnalyticsDays;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.ZoneId;
+
+/**
+ * Hands {@code analytics.time-zone} and {@code analytics.stored-time-zone} to
+ * {@link AnalyticsDays} while the context starts, before any scheduled job or request runs.
+ * Only analytics day bucketing uses them; the JVM default zone is left alone.
+ */
+@Configuration
+@Slf4j
+public class AnalyticsTimeZoneConfig {
+
+    public AnalyticsTimeZoneConfig(
+            @Value("${analytics.time-zone:" + AnalyticsDays.DEFAULT_ZONE + "}") String zone,
+            @Value("${analytics.stored-time-zone:}") String storedZone) {
+        ZoneId stored = storedZone.isBlank() ? ZoneId.systemDefault() : ZoneId.of(storedZone);
+        AnalyticsDays.useZones(ZoneId.of(zone), stored);
+        log.info("Analytics days in {}, stored times read as {}", zone, stored);
+    }
+}
@@ -39,4 +39,24 @@ public class DatabaseConstraintFixer {
             }
         };
     }
+
+    /**
+     * products.total_orders predates its NOT NULL mapping, which ddl-auto=update does not apply
+     * to an existing column. A NULL there breaks popularity keyset pagination (rows skipped or
+     * repeated), so existing NULLs become 0 and the constraint is added.
+     */
+    @Bean
+    CommandLineRunner fixProductTotalOrdersNotNull() {
+        return args -> {
+            try {
+                int updated = jdbcTemplate.update("UPDATE products SET total_orders = 0 WHERE total_orders IS NULL");
+                jdbcTemplate.execute("ALTER TABLE products ALTER COLUMN total_orders SET NOT NULL");
+                if (updated > 0) {
+                    log.info("Set total_orders to 0 on {} products", updated);
+                }
+            } catch (Exception e) {
+                log.error("Failed to make products.total_orders NOT NULL: {}", e.getMessage());
+            }
+        };
+    }
 }
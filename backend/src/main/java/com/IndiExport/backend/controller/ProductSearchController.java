@@ -2,6 +2,7 @@ package com.IndiExport.backend.controller;
 
 import com.IndiExport.backend.dto.ProductDto.ProductFilterRequest;
 import com.IndiExport.backend.dto.ProductDto.BuyerProductCardResponse;
+import com.IndiExport.backend.dto.ProductDto.ProductCardCursorPage;
 import com.IndiExport.backend.service.ProductSearchService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -21,4 +22,12 @@ public class ProductSearchController {
             @RequestParam(required = false) String currency) {
         return ResponseEntity.ok(productSearchService.searchProducts(filter, currency));
     }
+
+    @GetMapping("/cursor")
+    public ResponseEntity<ProductCardCursorPage> searchByCursor(
+            @ModelAttribute ProductFilterRequest filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String currency) {
+        return ResponseEntity.ok(productSearchService.searchProductsByCursor(filter, cursor, currency));
+    }
 }
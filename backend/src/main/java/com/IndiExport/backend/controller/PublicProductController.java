@@ -25,6 +25,20 @@ public class PublicProductController {
         return ResponseEntity.ok(productSearchService.searchProducts(filter, currency));
     }
 
+    @GetMapping("/cursor")
+    public ResponseEntity<ProductDto.ProductCardCursorPage> searchProductsByCursor(
+            @ModelAttribute ProductDto.ProductFilterRequest filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String currency) {
+        return ResponseEntity.ok(productSearchService.searchProductsByCursor(filter, cursor, currency));
+    }
+
+    @GetMapping("/facets")
+    public ResponseEntity<ProductDto.ProductFacetResponse> getFacets(
+            @ModelAttribute ProductDto.ProductFilterRequest filter) {
+        return ResponseEntity.ok(productSearchService.getFacets(filter));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ProductDto.ProductResponse> getProductDetails(
             @PathVariable UUID id,
@@ -69,6 +69,10 @@ public class SellerController {
      * GET /api/v1/sellers/products
      * Get seller's products
      * Available to all SELLER users (both BASIC and ADVANCED)
+     *
+     * Items are {@link com.IndiExport.backend.dto.ProductDto.SellerProductListItem}: the listing
+     * columns the seller catalogue page shows (title, price, unit, min qty, lead time, status,
+     * media, ...), not the full ProductResponse; the edit page loads the full product by id.
      * 
      * @param page Pagination page number
      * @return Paginated products list
@@ -79,13 +83,14 @@ public class SellerController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "50") int size,
             @RequestParam(required = false) String keyword,
-            @RequestParam(required = false) String status) {
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String sortBy) {
         
         UUID sellerId = getCurrentUserId();
         log.info("API Request: getSellerProducts. User: {}, Page: {}, Status: {}", sellerId, page, status);
         
-        org.springframework.data.domain.Page<com.IndiExport.backend.dto.ProductDto.ProductResponse> productPage = 
-            productService.getSellerProducts(sellerId, page, size, keyword, status);
+        org.springframework.data.domain.Page<com.IndiExport.backend.dto.ProductDto.SellerProductListItem> productPage = 
+            productService.getSellerProducts(sellerId, page, size, keyword, status, sortBy);
         
         log.info("API Response: getSellerProducts. Items found: {}", productPage.getTotalElements());
         
@@ -100,6 +105,27 @@ public class SellerController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * GET /api/v1/sellers/products/cursor
+     * Get seller's products with keyset pagination
+     * 
+     * @param cursor nextCursor from the previous page, omitted for the first page
+     * @return One page of products plus the cursor for the next one
+     */
+    @GetMapping("/products/cursor")
+    @PreAuthorize("hasRole('SELLER')")
+    public ResponseEntity<com.IndiExport.backend.dto.ProductDto.SellerProductCursorPage> getSellerProductsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String sortBy) {
+        
+        UUID sellerId = getCurrentUserId();
+        return ResponseEntity.ok(
+            productService.getSellerProductsByCursor(sellerId, cursor, size, keyword, status, sortBy));
+    }
+
     /**
      * GET /api/v1/sellers/orders
      * Get seller's orders
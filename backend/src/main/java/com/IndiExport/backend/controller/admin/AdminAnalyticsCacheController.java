@@ -0,0 +1,43 @@
+package com.IndiExport.backend.controller.admin;
+
+import com.IndiExport.backend.dto.admin.DashboardCacheStatsResponse;
+import com.IndiExport.backend.service.analytics.AnalyticsDashboardCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/admin/analytics")
+@RequiredArgsConstructor
+public class AdminAnalyticsCacheController {
+
+    private final AnalyticsDashboardCache analyticsDashboardCache;
+
+    @GetMapping("/cache-stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<DashboardCacheStatsResponse> getCacheStats() {
+        AnalyticsDashboardCache.Stats stats = analyticsDashboardCache.stats();
+        return ResponseEntity.ok(DashboardCacheStatsResponse.builder()
+                .endpoints(stats.endpoints().stream()
+                        .map(endpoint -> DashboardCacheStatsResponse.EndpointStats.builder()
+                                .endpoint(endpoint.endpoint().name())
+                                .hits(endpoint.hits())
+                                .misses(endpoint.misses())
+                                .hitRate(endpoint.hitRate())
+                                .build())
+                        .toList())
+                .evictions(stats.evictions())
+                .invalidations(stats.invalidations())
+                .size(stats.size())
+                .maxEntries(stats.maxEntries())
+                .build());
+    }
+
+    @DeleteMapping("/cache")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> clearCache() {
+        analyticsDashboardCache.invalidate();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,38 @@
+package com.IndiExport.backend.controller.admin;
+
+import com.IndiExport.backend.dto.admin.SearchCacheStatsResponse;
+import com.IndiExport.backend.service.search.ProductSearchResultCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/admin/search")
+@RequiredArgsConstructor
+public class AdminSearchController {
+
+    private final ProductSearchResultCache productSearchResultCache;
+
+    @GetMapping("/cache-stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<SearchCacheStatsResponse> getCacheStats() {
+        ProductSearchResultCache.Stats stats = productSearchResultCache.stats();
+        return ResponseEntity.ok(SearchCacheStatsResponse.builder()
+                .hits(stats.hits())
+                .misses(stats.misses())
+                .hitRate(stats.hitRate())
+                .evictions(stats.evictions())
+                .invalidations(stats.invalidations())
+                .size(stats.size())
+                .maxEntries(stats.maxEntries())
+                .build());
+    }
+
+    @DeleteMapping("/cache")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> clearCache() {
+        productSearchResultCache.invalidate();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,14 +1,21 @@
 package com.IndiExport.backend.controller.analytics;
 
 import com.IndiExport.backend.dto.analytics.*;
+import com.IndiExport.backend.repository.analytics.AnalyticsDays;
 import com.IndiExport.backend.security.JwtAuthenticationFilter;
+import com.IndiExport.backend.service.analytics.AnalyticsExportWriter;
 import com.IndiExport.backend.service.analytics.AnalyticsService;
+import com.IndiExport.backend.service.analytics.ProductViewIngestionService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
@@ -80,14 +87,78 @@ public class AnalyticsController {
         return ResponseEntity.ok(analyticsService.getAdminAnalytics(from, to));
     }
 
+    /**
+     * Download the seller's orders as CSV (default) or NDJSON. Rows are streamed, so the range
+     * may span the full year the other endpoints allow.
+     */
+    @GetMapping("/seller/export")
+    @PreAuthorize("hasRole('SELLER')")
+    public ResponseEntity<StreamingResponseBody> exportSellerOrders(
+            @RequestParam(required = false) String format,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to) {
+
+        if (from == null) from = Instant.now().minus(30, ChronoUnit.DAYS);
+        if (to == null) to = Instant.now();
+
+        AnalyticsExportWriter.Format exportFormat = AnalyticsExportWriter.Format.parse(format);
+        return export("seller-orders", exportFormat, from, to,
+                analyticsService.exportSellerOrders(getCurrentUserId(), exportFormat, from, to));
+    }
+
+    /**
+     * Download every seller's orders as CSV (default) or NDJSON.
+     */
+    @GetMapping("/admin/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportPlatformOrders(
+            @RequestParam(required = false) String format,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to) {
+
+        if (from == null) from = Instant.now().minus(30, ChronoUnit.DAYS);
+        if (to == null) to = Instant.now();
+
+        AnalyticsExportWriter.Format exportFormat = AnalyticsExportWriter.Format.parse(format);
+        return export("platform-orders", exportFormat, from, to,
+                analyticsService.exportPlatformOrders(exportFormat, from, to));
+    }
+
+    private ResponseEntity<StreamingResponseBody> export(String name, AnalyticsExportWriter.Format format,
+                                                         Instant from, Instant to, StreamingResponseBody body) {
+        String filename = "%s-%s-%s.%s".formatted(name, AnalyticsDays.dayOf(from),
+                AnalyticsDays.dayOf(to), format.extension());
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .contentType(MediaType.parseMediaType(format.contentType() + ";charset=UTF-8"))
+                .body(body);
+    }
+
+    /**
+     * Recompute the admin KPI snapshots now instead of waiting for the schedule.
+     */
+    @PostMapping("/admin/snapshot/refresh")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Instant>> refreshAdminSnapshot() {
+        return ResponseEntity.ok(Map.of("snapshotAt", analyticsService.refreshAdminSnapshot()));
+    }
+
+    @GetMapping("/admin/views/ingestion")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ProductViewIngestionService.IngestionStats> getProductViewIngestionStats() {
+        return ResponseEntity.ok(analyticsService.getProductViewIngestionStats());
+    }
+
     /**
      * Track product view. 
      * Open to public. If authenticated, user ID is recorded.
+     * Views are written asynchronously in batches, hence 202.
      */
     @PostMapping("/views/{productId}")
     public ResponseEntity<Void> recordProductView(
             @PathVariable UUID productId,
-            @RequestParam(required = false) String country) {
+            @RequestParam(required = false) String country,
+            HttpServletRequest request) {
         
         UUID userId = null;
         try {
@@ -96,8 +167,19 @@ public class AnalyticsController {
             // User not authenticated, proceed with null userId
         }
 
-        analyticsService.recordProductView(productId, userId, country);
-        return ResponseEntity.ok().build();
+        analyticsService.recordProductView(productId, userId, country, getClientIp(request));
+        return ResponseEntity.accepted().build();
+    }
+
+    /**
+     * Client IP, preferring the first X-Forwarded-For hop behind a reverse proxy
+     */
+    private String getClientIp(HttpServletRequest request) {
+        String xForwardedFor = request.getHeader("X-Forwarded-For");
+        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
+            return xForwardedFor.split(",")[0].trim();
+        }
+        return request.getRemoteAddr();
     }
 
     private UUID getCurrentUserId() {
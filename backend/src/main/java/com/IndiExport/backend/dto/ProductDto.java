@@ -6,6 +6,7 @@ import com.IndiExport.backend.entity.ProductMedia;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
@@ -317,6 +318,131 @@ public class ProductDto {
         public void setConvertedPrice(CurrencyDto.ConvertedPriceInfo convertedPrice) { this.convertedPrice = convertedPrice; }
     }
 
+    public static class ProductCardCursorPage {
+        private List<BuyerProductCardResponse> content;
+        private String nextCursor; // Pass back as ?cursor= to fetch the next page; null on the last page
+        private boolean hasNext;
+
+        public ProductCardCursorPage() {}
+
+        public ProductCardCursorPage(List<BuyerProductCardResponse> content, String nextCursor, boolean hasNext) {
+            this.content = content;
+            this.nextCursor = nextCursor;
+            this.hasNext = hasNext;
+        }
+
+        // Getters and Setters
+        public List<BuyerProductCardResponse> getContent() { return content; }
+        public void setContent(List<BuyerProductCardResponse> content) { this.content = content; }
+        public String getNextCursor() { return nextCursor; }
+        public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+        public boolean isHasNext() { return hasNext; }
+        public void setHasNext(boolean hasNext) { this.hasNext = hasNext; }
+    }
+
+    /**
+     * Row of the seller's own catalogue listing. Selected as a projection, so only these
+     * columns are read; media is attached afterwards for the page's products only.
+     *
+     * Carries every field the seller products page (SellerProductsPage / sellerProducts
+     * ProductCard) reads; description, dimensions, categories, tags and seller are left to
+     * GET /sellers/products/{id}.
+     */
+    public static class SellerProductListItem {
+        private UUID id;
+        private String title;
+        private String brand;
+        private String sku;
+        private long pricePaise;
+        private int minQty;
+        private String unit;
+        private int leadTimeDays;
+        private int stockQuantity;
+        private Product.ProductStatus status;
+        private double averageRating;
+        private int totalReviews;
+        private int totalOrders;
+        private LocalDateTime createdAt;
+        private List<ProductMediaResponse> media = List.of();
+
+        public SellerProductListItem() {}
+
+        // Constructor expression used by the listing query; argument order is the select order
+        public SellerProductListItem(UUID id, String title, String brand, String sku, long pricePaise,
+                                     Integer minQty, String unit, Integer leadTimeDays, Integer stockQuantity,
+                                     Product.ProductStatus status, int averageRatingMilli, Integer totalReviews,
+                                     Integer totalOrders, LocalDateTime createdAt) {
+            this.id = id;
+            this.title = title;
+            this.brand = brand;
+            this.sku = sku;
+            this.pricePaise = pricePaise;
+            this.minQty = minQty != null ? minQty : 0;
+            this.unit = unit;
+            this.leadTimeDays = leadTimeDays != null ? leadTimeDays : 0;
+            this.stockQuantity = stockQuantity != null ? stockQuantity : 0;
+            this.status = status;
+            this.averageRating = averageRatingMilli / 1000.0;
+            this.totalReviews = totalReviews != null ? totalReviews : 0;
+            this.totalOrders = totalOrders != null ? totalOrders : 0;
+            this.createdAt = createdAt;
+        }
+
+        // Getters and Setters
+        public UUID getId() { return id; }
+        public void setId(UUID id) { this.id = id; }
+        public String getTitle() { return title; }
+        public void setTitle(String title) { this.title = title; }
+        public String getBrand() { return brand; }
+        public void setBrand(String brand) { this.brand = brand; }
+        public String getSku() { return sku; }
+        public void setSku(String sku) { this.sku = sku; }
+        public long getPricePaise() { return pricePaise; }
+        public void setPricePaise(long pricePaise) { this.pricePaise = pricePaise; }
+        public int getMinQty() { return minQty; }
+        public void setMinQty(int minQty) { this.minQty = minQty; }
+        public String getUnit() { return unit; }
+        public void setUnit(String unit) { this.unit = unit; }
+        public int getLeadTimeDays() { return leadTimeDays; }
+        public void setLeadTimeDays(int leadTimeDays) { this.leadTimeDays = leadTimeDays; }
+        public int getStockQuantity() { return stockQuantity; }
+        public void setStockQuantity(int stockQuantity) { this.stockQuantity = stockQuantity; }
+        public Product.ProductStatus getStatus() { return status; }
+        public void setStatus(Product.ProductStatus status) { this.status = status; }
+        public double getAverageRating() { return averageRating; }
+        public void setAverageRating(double averageRating) { this.averageRating = averageRating; }
+        public int getTotalReviews() { return totalReviews; }
+        public void setTotalReviews(int totalReviews) { this.totalReviews = totalReviews; }
+        public int getTotalOrders() { return totalOrders; }
+        public void setTotalOrders(int totalOrders) { this.totalOrders = totalOrders; }
+        public LocalDateTime getCreatedAt() { return createdAt; }
+        public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+        public List<ProductMediaResponse> getMedia() { return media; }
+        public void setMedia(List<ProductMediaResponse> media) { this.media = media; }
+    }
+
+    public static class SellerProductCursorPage {
+        private List<SellerProductListItem> content;
+        private String nextCursor; // Pass back as ?cursor= to fetch the next page; null on the last page
+        private boolean hasNext;
+
+        public SellerProductCursorPage() {}
+
+        public SellerProductCursorPage(List<SellerProductListItem> content, String nextCursor, boolean hasNext) {
+            this.content = content;
+            this.nextCursor = nextCursor;
+            this.hasNext = hasNext;
+        }
+
+        // Getters and Setters
+        public List<SellerProductListItem> getContent() { return content; }
+        public void setContent(List<SellerProductListItem> content) { this.content = content; }
+        public String getNextCursor() { return nextCursor; }
+        public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+        public boolean isHasNext() { return hasNext; }
+        public void setHasNext(boolean hasNext) { this.hasNext = hasNext; }
+    }
+
     public static class SellerBasicInfo {
         private UUID id;
         private String companyName;
@@ -353,6 +479,7 @@ public class ProductDto {
 
     public static class ProductFilterRequest {
         private String keyword;
+        private String keywordOperator = "AND"; // AND = all keyword terms must match, OR = any term
         private UUID categoryId;
         private String category; // New: Filter by category name
         private UUID sellerId;
@@ -367,6 +494,7 @@ public class ProductDto {
         private String hsCode;
         private Integer maxLeadTimeDays;
         private String country;
+        private String originCountry;
         private int page = 0;
         private int size = 20;
         private String sortBy = "newest";
@@ -376,6 +504,8 @@ public class ProductDto {
         // Getters and Setters
         public String getKeyword() { return keyword; }
         public void setKeyword(String keyword) { this.keyword = keyword; }
+        public String getKeywordOperator() { return keywordOperator; }
+        public void setKeywordOperator(String keywordOperator) { this.keywordOperator = keywordOperator; }
         public UUID getCategoryId() { return categoryId; }
         public void setCategoryId(UUID categoryId) { this.categoryId = categoryId; }
         public String getCategory() { return category; }
@@ -404,11 +534,88 @@ public class ProductDto {
         public void setMaxLeadTimeDays(Integer maxLeadTimeDays) { this.maxLeadTimeDays = maxLeadTimeDays; }
         public String getCountry() { return country; }
         public void setCountry(String country) { this.country = country; }
+        public String getOriginCountry() { return originCountry; }
+        public void setOriginCountry(String originCountry) { this.originCountry = originCountry; }
         public int getPage() { return page; }
         public void setPage(int page) { this.page = page; }
         public int getSize() { return size; }
         public void setSize(int size) { this.size = size; }
         public String getSortBy() { return sortBy; }
         public void setSortBy(String sortBy) { this.sortBy = sortBy; }
+
+        // Price bounds in paise, falling back to the raw amounts sent by the frontend
+        public Long resolveMinPricePaise() {
+            return minPricePaise != null ? minPricePaise : minPrice != null ? (long) (minPrice * 100) : null;
+        }
+
+        public Long resolveMaxPricePaise() {
+            return maxPricePaise != null ? maxPricePaise : maxPrice != null ? (long) (maxPrice * 100) : null;
+        }
+    }
+
+    public static class ProductFacetResponse {
+        private long total;
+        private List<FacetCount> categories;
+        private List<FacetCount> incoterms;
+        private List<FacetCount> originCountries;
+        private List<FacetCount> priceBuckets;
+        private List<FacetCount> ratingBuckets;
+        private LocalDateTime snapshotAt; // Counts reflect the catalogue as of this time
+
+        public ProductFacetResponse() {}
+
+        public static ProductFacetResponseBuilder builder() {
+            return new ProductFacetResponseBuilder();
+        }
+
+        public static class ProductFacetResponseBuilder {
+            private ProductFacetResponse response = new ProductFacetResponse();
+            public ProductFacetResponseBuilder total(long total) { response.setTotal(total); return this; }
+            public ProductFacetResponseBuilder categories(List<FacetCount> categories) { response.setCategories(categories); return this; }
+            public ProductFacetResponseBuilder incoterms(List<FacetCount> incoterms) { response.setIncoterms(incoterms); return this; }
+            public ProductFacetResponseBuilder originCountries(List<FacetCount> originCountries) { response.setOriginCountries(originCountries); return this; }
+            public ProductFacetResponseBuilder priceBuckets(List<FacetCount> priceBuckets) { response.setPriceBuckets(priceBuckets); return this; }
+            public ProductFacetResponseBuilder ratingBuckets(List<FacetCount> ratingBuckets) { response.setRatingBuckets(ratingBuckets); return this; }
+            public ProductFacetResponseBuilder snapshotAt(LocalDateTime snapshotAt) { response.setSnapshotAt(snapshotAt); return this; }
+            public ProductFacetResponse build() { return response; }
+        }
+
+        // Getters and Setters
+        public long getTotal() { return total; }
+        public void setTotal(long total) { this.total = total; }
+        public List<FacetCount> getCategories() { return categories; }
+        public void setCategories(List<FacetCount> categories) { this.categories = categories; }
+        public List<FacetCount> getIncoterms() { return incoterms; }
+        public void setIncoterms(List<FacetCount> incoterms) { this.incoterms = incoterms; }
+        public List<FacetCount> getOriginCountries() { return originCountries; }
+        public void setOriginCountries(List<FacetCount> originCountries) { this.originCountries = originCountries; }
+        public List<FacetCount> getPriceBuckets() { return priceBuckets; }
+        public void setPriceBuckets(List<FacetCount> priceBuckets) { this.priceBuckets = priceBuckets; }
+        public List<FacetCount> getRatingBuckets() { return ratingBuckets; }
+        public void setRatingBuckets(List<FacetCount> ratingBuckets) { this.ratingBuckets = ratingBuckets; }
+        public LocalDateTime getSnapshotAt() { return snapshotAt; }
+        public void setSnapshotAt(LocalDateTime snapshotAt) { this.snapshotAt = snapshotAt; }
+    }
+
+    public static class FacetCount {
+        private String value; // Filter value to send back (category id, incoterm, country, or bucket bound)
+        private String label;
+        private long count;
+
+        public FacetCount() {}
+
+        public FacetCount(String value, String label, long count) {
+            this.value = value;
+            this.label = label;
+            this.count = count;
+        }
+
+        // Getters and Setters
+        public String getValue() { return value; }
+        public void setValue(String value) { this.value = value; }
+        public String getLabel() { return label; }
+        public void setLabel(String label) { this.label = label; }
+        public long getCount() { return count; }
+        public void setCount(long count) { this.count = count; }
     }
 }
@@ -0,0 +1,25 @@
+package com.IndiExport.backend.dto.admin;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class DashboardCacheStatsResponse {
+    private List<EndpointStats> endpoints;
+    private long evictions;
+    private long invalidations;
+    private int size;
+    private int maxEntries;
+
+    @Data
+    @Builder
+    public static class EndpointStats {
+        private String endpoint;
+        private long hits;
+        private long misses;
+        private double hitRate;
+    }
+}
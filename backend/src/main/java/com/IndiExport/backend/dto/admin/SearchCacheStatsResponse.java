@@ -0,0 +1,16 @@
+package com.IndiExport.backend.dto.admin;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class SearchCacheStatsResponse {
+    private long hits;
+    private long misses;
+    private double hitRate;
+    private long evictions;
+    private long invalidations;
+    private int size;
+    private int maxEntries;
+}
@@ -4,6 +4,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import java.time.Instant;
 import java.util.List;
 
 @Data
@@ -20,4 +21,7 @@ public class AdminDashboardAnalyticsResponse {
     private List<ChartPointResponse> ordersOverTime;
     private List<ChartPointResponse> disputesOverTime;
     private List<CountrySalesResponse> topCountries;
+
+    // When the figures were computed, for responses served from the KPI snapshot; null when live
+    private Instant snapshotAt;
 }
@@ -22,6 +22,10 @@ public class AdvancedSellerAnalyticsResponse {
     private Long totalOrdersFromViews; // Approximation
     private Double globalConversionRate;
 
+    // Estimated distinct viewers (buyers, or guest addresses) and their countries in the range
+    private Long uniqueViewers;
+    private Long uniqueViewerCountries;
+
     // Advanced Metrics
     private PeriodicStatsResponse viewStats;
     private PeriodicStatsResponse inquiryStats;
@@ -30,4 +34,7 @@ public class AdvancedSellerAnalyticsResponse {
     private RfqOpportunityStatsResponse rfqOpportunityStats;
     private List<CountrySalesResponse> topBuyerCountries;
     private List<RecentActivityResponse> recentActivities;
+
+    // Sections that timed out or failed and were returned empty
+    private List<String> degradedSections;
 }
@@ -16,4 +16,5 @@ public class ProductSalesResponse {
     private String title;
     private Long orders;
     private Long revenueINRPaise;
+    private Long uniqueViewers; // Estimated, within the selected range
 }
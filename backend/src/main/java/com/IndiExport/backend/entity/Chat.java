@@ -17,7 +17,8 @@ import java.util.UUID;
         @Index(name = "idx_chats_rfq_id", columnList = "rfq_id"),
         @Index(name = "idx_chats_product_id", columnList = "product_id"),
         @Index(name = "idx_chats_unique_inquiry", columnList = "buyer_id, seller_id, product_id", unique = true),
-        @Index(name = "idx_chats_unique_rfq", columnList = "buyer_id, seller_id, rfq_id", unique = true)
+        @Index(name = "idx_chats_unique_rfq", columnList = "buyer_id, seller_id, rfq_id", unique = true),
+        @Index(name = "idx_chats_created_at", columnList = "created_at")
 })
 @Getter
 @Setter
@@ -18,7 +18,8 @@ import java.util.UUID;
         @Index(name = "idx_disputes_buyer_id", columnList = "buyer_id"),
         @Index(name = "idx_disputes_seller_id", columnList = "seller_id"),
         @Index(name = "idx_disputes_status", columnList = "status"),
-        @Index(name = "idx_disputes_created_at", columnList = "created_at")
+        @Index(name = "idx_disputes_created_at", columnList = "created_at"),
+        @Index(name = "idx_disputes_updated_at", columnList = "updated_at")
 })
 @Data
 @Builder
@@ -0,0 +1,49 @@
+package com.IndiExport.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * One currency's rate from a fetched exchange-rate snapshot. All rows of a snapshot share
+ * fetchedAt; a snapshot is only stored when its rates differ from the previous one, so the
+ * rate of a currency as of an instant is its newest row at or before that instant.
+ *
+ * rateMicros stores the INR → currency rate multiplied by 1_000_000, as in
+ * {@link OrderCurrencySnapshot}.
+ */
+@Entity
+@Table(name = "exchange_rate_snapshots", indexes = {
+        @Index(name = "idx_ers_currency_fetched_at", columnList = "currency, fetched_at"),
+        @Index(name = "idx_ers_fetched_at", columnList = "fetched_at")
+})
+@Data
+@NoArgsConstructor
+public class ExchangeRateSnapshotEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(nullable = false, length = 3)
+    private String currency;
+
+    @Column(nullable = false)
+    private long rateMicros;
+
+    @Column(name = "fetched_at", nullable = false)
+    private Instant fetchedAt;
+
+    @Column(nullable = false, length = 50)
+    private String providerName;
+
+    public ExchangeRateSnapshotEntry(String currency, long rateMicros, Instant fetchedAt, String providerName) {
+        this.currency = currency;
+        this.rateMicros = rateMicros;
+        this.fetchedAt = fetchedAt;
+        this.providerName = providerName;
+    }
+}
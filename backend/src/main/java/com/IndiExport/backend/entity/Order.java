@@ -1,5 +1,6 @@
 package com.IndiExport.backend.entity;
 
+import com.IndiExport.backend.event.OrderChangePublisher;
 import jakarta.persistence.*;
 
 import java.time.LocalDateTime;
@@ -13,6 +14,7 @@ import java.util.UUID;
  * Stores immutable snapshot of order details and buyer information at time of creation.
  */
 @Entity
+@EntityListeners(OrderChangePublisher.class)
 @Table(name = "orders", indexes = {
         @Index(name = "idx_orders_buyer_id", columnList = "buyer_id"),
         @Index(name = "idx_orders_seller_id", columnList = "seller_id"),
@@ -20,7 +22,9 @@ import java.util.UUID;
         @Index(name = "idx_orders_rfq_id", columnList = "rfq_id"),
         @Index(name = "idx_orders_created_at", columnList = "created_at"),
         @Index(name = "idx_orders_seller_created", columnList = "seller_id, created_at"),
-        @Index(name = "idx_orders_buyer_created", columnList = "buyer_id, created_at")
+        @Index(name = "idx_orders_buyer_created", columnList = "buyer_id, created_at"),
+        // Analytics rollup job: finds orders changed since its last run
+        @Index(name = "idx_orders_updated_at", columnList = "updated_at")
 })
 public class Order {
 
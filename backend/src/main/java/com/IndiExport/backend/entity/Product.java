@@ -27,7 +27,14 @@ import java.util.UUID;
         @Index(name = "idx_products_status", columnList = "status"),
         @Index(name = "idx_products_name", columnList = "name"),
         @Index(name = "idx_products_sku", columnList = "sku"),
-        @Index(name = "idx_products_created_at", columnList = "created_at")
+        @Index(name = "idx_products_created_at", columnList = "created_at"),
+        // Keyset pagination: (status, sort column, id) serves "next page after cursor" as a range scan
+        @Index(name = "idx_products_status_created_at", columnList = "status, created_at, id"),
+        @Index(name = "idx_products_status_price", columnList = "status, price_paise, id"),
+        @Index(name = "idx_products_status_rating", columnList = "status, average_rating_milli, id"),
+        @Index(name = "idx_products_status_orders", columnList = "status, total_orders, id"),
+        // Seller catalogue listing: one seller's products, newest first
+        @Index(name = "idx_products_seller_created_at", columnList = "seller_id, created_at, id")
 })
 @org.hibernate.annotations.SQLDelete(sql = "UPDATE products SET status = 'DELETED', deleted_at = CURRENT_TIMESTAMP WHERE id = ?")
 @SQLRestriction("status != 'DELETED'")
@@ -108,7 +115,8 @@ public class Product {
     @Column(columnDefinition = "INT DEFAULT 0")
     private Integer totalReviews = 0;
 
-    @Column(columnDefinition = "INT DEFAULT 0")
+    // NOT NULL: keyset pagination by popularity seeks on it (see ProductSearchCursor)
+    @Column(nullable = false, columnDefinition = "INT DEFAULT 0")
     private Integer totalOrders = 0;
 
     @Column(nullable = false)
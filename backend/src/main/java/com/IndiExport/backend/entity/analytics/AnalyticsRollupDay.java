@@ -0,0 +1,26 @@
+package com.IndiExport.backend.entity.analytics;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One row per day whose analytics rollups are complete. Dashboards only read rollups
+ * for days listed here and compute every other day live.
+ */
+@Entity
+@Table(name = "analytics_rollup_days")
+@Data
+@NoArgsConstructor
+public class AnalyticsRollupDay {
+
+    @Id
+    @Column(name = "rollup_date")
+    private LocalDate rollupDate;
+
+    @Column(name = "rolled_up_at", nullable = false)
+    private LocalDateTime rolledUpAt;
+}
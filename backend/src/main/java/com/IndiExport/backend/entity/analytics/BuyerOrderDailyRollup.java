@@ -0,0 +1,40 @@
+package com.IndiExport.backend.entity.analytics;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Orders per buyer, day and status. Written only by the analytics rollup job.
+ */
+@Entity
+@Table(name = "analytics_buyer_order_daily", indexes = {
+        @Index(name = "idx_analytics_buyer_order_daily_buyer", columnList = "buyer_id, rollup_date"),
+        @Index(name = "idx_analytics_buyer_order_daily_date", columnList = "rollup_date")
+})
+@Data
+@NoArgsConstructor
+public class BuyerOrderDailyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "rollup_date", nullable = false)
+    private LocalDate rollupDate;
+
+    @Column(name = "buyer_id")
+    private UUID buyerId;
+
+    @Column(length = 30)
+    private String status;
+
+    @Column(name = "order_count", nullable = false)
+    private long orderCount;
+
+    @Column(name = "revenue_paise", nullable = false)
+    private long revenuePaise;
+}
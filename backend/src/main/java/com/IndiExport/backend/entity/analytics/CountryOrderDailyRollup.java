@@ -0,0 +1,40 @@
+package com.IndiExport.backend.entity.analytics;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Non-cancelled orders per seller, buyer country and day. Written only by the analytics rollup job.
+ */
+@Entity
+@Table(name = "analytics_country_order_daily", indexes = {
+        @Index(name = "idx_analytics_country_order_daily_seller", columnList = "seller_id, rollup_date"),
+        @Index(name = "idx_analytics_country_order_daily_date", columnList = "rollup_date")
+})
+@Data
+@NoArgsConstructor
+public class CountryOrderDailyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "rollup_date", nullable = false)
+    private LocalDate rollupDate;
+
+    @Column(name = "seller_id")
+    private UUID sellerId;
+
+    @Column(name = "buyer_country", length = 2)
+    private String buyerCountry;
+
+    @Column(name = "order_count", nullable = false)
+    private long orderCount;
+
+    @Column(name = "revenue_paise", nullable = false)
+    private long revenuePaise;
+}
@@ -0,0 +1,32 @@
+package com.IndiExport.backend.entity.analytics;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Disputes per creation day and current status. Written only by the analytics rollup job.
+ */
+@Entity
+@Table(name = "analytics_dispute_daily", indexes = {
+        @Index(name = "idx_analytics_dispute_daily_date", columnList = "rollup_date")
+})
+@Data
+@NoArgsConstructor
+public class DisputeDailyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "rollup_date", nullable = false)
+    private LocalDate rollupDate;
+
+    @Column(length = 30)
+    private String status;
+
+    @Column(name = "dispute_count", nullable = false)
+    private long disputeCount;
+}
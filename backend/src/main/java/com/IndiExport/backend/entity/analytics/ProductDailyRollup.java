@@ -0,0 +1,50 @@
+package com.IndiExport.backend.entity.analytics;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Sales (non-cancelled order lines), views and inquiries per product and day.
+ * Written only by the analytics rollup job.
+ */
+@Entity
+@Table(name = "analytics_product_daily", indexes = {
+        @Index(name = "idx_analytics_product_daily_seller", columnList = "seller_id, rollup_date"),
+        @Index(name = "idx_analytics_product_daily_date", columnList = "rollup_date")
+})
+@Data
+@NoArgsConstructor
+public class ProductDailyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "rollup_date", nullable = false)
+    private LocalDate rollupDate;
+
+    @Column(name = "product_id")
+    private UUID productId;
+
+    @Column(name = "seller_id")
+    private UUID sellerId;
+
+    @Column(name = "product_name")
+    private String productName; // Order line snapshot name, null on days without sales
+
+    @Column(name = "order_lines", nullable = false)
+    private long orderLines;
+
+    @Column(name = "revenue_paise", nullable = false)
+    private long revenuePaise;
+
+    @Column(nullable = false)
+    private long views;
+
+    @Column(nullable = false)
+    private long inquiries;
+}
@@ -0,0 +1,34 @@
+package com.IndiExport.backend.entity.analytics;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Per-product daily view counts of product_views months past retention. Written just before
+ * a month's rows are dropped, so rebuilding an old day's rollups still finds its views.
+ */
+@Entity
+@Table(name = "analytics_product_view_archive",
+        uniqueConstraints = @UniqueConstraint(name = "uk_analytics_product_view_archive",
+                columnNames = {"rollup_date", "product_id"}))
+@Data
+@NoArgsConstructor
+public class ProductViewArchiveDaily {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "rollup_date", nullable = false)
+    private LocalDate rollupDate;
+
+    @Column(name = "product_id", nullable = false)
+    private UUID productId;
+
+    @Column(nullable = false)
+    private long views;
+}
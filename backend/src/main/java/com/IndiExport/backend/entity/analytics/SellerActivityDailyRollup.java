@@ -0,0 +1,37 @@
+package com.IndiExport.backend.entity.analytics;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Product views and inquiry chats per seller and day. Written only by the analytics rollup job.
+ */
+@Entity
+@Table(name = "analytics_seller_activity_daily", indexes = {
+        @Index(name = "idx_analytics_seller_activity_daily_seller", columnList = "seller_id, rollup_date"),
+        @Index(name = "idx_analytics_seller_activity_daily_date", columnList = "rollup_date")
+})
+@Data
+@NoArgsConstructor
+public class SellerActivityDailyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "rollup_date", nullable = false)
+    private LocalDate rollupDate;
+
+    @Column(name = "seller_id")
+    private UUID sellerId;
+
+    @Column(nullable = false)
+    private long views;
+
+    @Column(nullable = false)
+    private long inquiries;
+}
@@ -0,0 +1,41 @@
+package com.IndiExport.backend.entity.analytics;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Orders per seller, day and status. Written only by the analytics rollup job
+ * (see AnalyticsRollupRepository); mapped so the table is created with the schema.
+ */
+@Entity
+@Table(name = "analytics_seller_order_daily", indexes = {
+        @Index(name = "idx_analytics_seller_order_daily_seller", columnList = "seller_id, rollup_date"),
+        @Index(name = "idx_analytics_seller_order_daily_date", columnList = "rollup_date")
+})
+@Data
+@NoArgsConstructor
+public class SellerOrderDailyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "rollup_date", nullable = false)
+    private LocalDate rollupDate;
+
+    @Column(name = "seller_id")
+    private UUID sellerId;
+
+    @Column(length = 30)
+    private String status;
+
+    @Column(name = "order_count", nullable = false)
+    private long orderCount;
+
+    @Column(name = "revenue_paise", nullable = false)
+    private long revenuePaise;
+}
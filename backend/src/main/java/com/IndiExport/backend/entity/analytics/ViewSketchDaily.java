@@ -0,0 +1,48 @@
+package com.IndiExport.backend.entity.analytics;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * HyperLogLog sketches of the distinct viewers and viewer countries of one product or one
+ * seller on one day (see util.HyperLogLog). Written by the product view ingestion pipeline;
+ * any date range is answered by merging its days.
+ */
+@Entity
+@Table(name = "analytics_view_sketch_daily",
+        uniqueConstraints = @UniqueConstraint(name = "uk_analytics_view_sketch_daily",
+                columnNames = {"scope", "scope_id", "sketch_date"}),
+        indexes = @Index(name = "idx_analytics_view_sketch_daily_date", columnList = "sketch_date"))
+@Data
+@NoArgsConstructor
+public class ViewSketchDaily {
+
+    public enum Scope {
+        PRODUCT, SELLER
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Scope scope;
+
+    // Product id or seller profile id, depending on scope
+    @Column(name = "scope_id", nullable = false)
+    private UUID scopeId;
+
+    @Column(name = "sketch_date", nullable = false)
+    private LocalDate sketchDate;
+
+    @Column(name = "viewer_sketch", nullable = false, length = 4096)
+    private byte[] viewerSketch;
+
+    @Column(name = "country_sketch", nullable = false, length = 512)
+    private byte[] countrySketch;
+}
@@ -0,0 +1,37 @@
+package com.IndiExport.backend.event;
+
+import com.IndiExport.backend.entity.Order;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener on {@link Order} that publishes an {@link OrderChangedEvent} for every
+ * write, so status changes from checkout, payments, tracking and RFQ conversion are all
+ * seen without each service publishing its own event. Instantiated by Hibernate through
+ * Spring's bean container, hence the injected publisher.
+ *
+ * Lives beside the event rather than in the analytics service, so the entity depends on no
+ * service. Entity callbacks do not fire for bulk JPQL/SQL writes: code that updates orders
+ * that way must publish {@link OrderChangedEvent} for the affected parties itself.
+ */
+@Component
+public class OrderChangePublisher {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public OrderChangePublisher(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onOrderWritten(Order order) {
+        eventPublisher.publishEvent(new OrderChangedEvent(
+                order.getBuyer() != null ? order.getBuyer().getId() : null,
+                order.getSeller() != null ? order.getSeller().getId() : null));
+    }
+}
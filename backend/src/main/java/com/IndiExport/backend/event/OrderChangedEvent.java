@@ -0,0 +1,10 @@
+package com.IndiExport.backend.event;
+
+import java.util.UUID;
+
+/**
+ * Published whenever an order is created, updated (status, totals) or deleted. Analytics
+ * caches listen for it after the transaction commits and drop both parties' dashboards.
+ */
+public record OrderChangedEvent(UUID buyerProfileId, UUID sellerProfileId) {
+}
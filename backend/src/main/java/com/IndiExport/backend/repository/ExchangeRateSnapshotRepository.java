@@ -0,0 +1,21 @@
+package com.IndiExport.backend.repository;
+
+import com.IndiExport.backend.entity.ExchangeRateSnapshotEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface ExchangeRateSnapshotRepository extends JpaRepository<ExchangeRateSnapshotEntry, UUID> {
+
+    Optional<ExchangeRateSnapshotEntry> findFirstByCurrencyAndFetchedAtLessThanEqualOrderByFetchedAtDesc(
+            String currency, Instant asOf);
+
+    Optional<ExchangeRateSnapshotEntry> findFirstByOrderByFetchedAtDesc();
+
+    List<ExchangeRateSnapshotEntry> findByFetchedAt(Instant fetchedAt);
+}
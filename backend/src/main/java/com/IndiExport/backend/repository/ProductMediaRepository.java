@@ -2,8 +2,11 @@ package com.IndiExport.backend.repository;
 
 import com.IndiExport.backend.entity.ProductMedia;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -11,4 +14,7 @@ import java.util.UUID;
 public interface ProductMediaRepository extends JpaRepository<ProductMedia, UUID> {
     List<ProductMedia> findByProductIdOrderByDisplayOrderAsc(UUID productId);
     void deleteByProductId(UUID productId);
+
+    @Query("SELECT m FROM ProductMedia m WHERE m.product.id IN :productIds ORDER BY m.displayOrder ASC")
+    List<ProductMedia> findByProductIds(@Param("productIds") Collection<UUID> productIds);
 }
@@ -11,7 +11,8 @@ import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, UUID>, JpaSpecificationExecutor<Product> {
+public interface ProductRepository extends JpaRepository<Product, UUID>, JpaSpecificationExecutor<Product>,
+        ProductRepositoryCustom {
 
     List<Product> findBySellerIdAndStatusNot(UUID sellerId, Product.ProductStatus status);
 
@@ -21,4 +22,21 @@ public interface ProductRepository extends JpaRepository<Product, UUID>, JpaSpec
 
     @Query("SELECT p FROM Product p WHERE p.seller.id = :sellerId AND p.status != 'DELETED'")
     List<Product> findAllActiveBySeller(UUID sellerId);
+
+    @Query("SELECT DISTINCT p FROM Product p LEFT JOIN FETCH p.tags WHERE p.status = :status")
+    List<Product> findAllByStatusWithTags(Product.ProductStatus status);
+
+    @Query("SELECT DISTINCT p FROM Product p LEFT JOIN FETCH p.tags LEFT JOIN FETCH p.categories WHERE p.status = :status")
+    List<Product> findAllByStatusWithTagsAndCategories(Product.ProductStatus status);
+
+    // Scalar columns only, for in-memory catalogue snapshots: id, pricePaise, averageRatingMilli,
+    // leadTimeDays, incoterm, originCountry, hsCode, seller id, seller KYC status, createdAt, totalOrders
+    @Query("SELECT p.id, p.pricePaise, p.averageRatingMilli, p.leadTimeDays, p.incoterm, p.originCountry, " +
+            "p.hsCode, s.id, k.verificationStatus, p.createdAt, p.totalOrders " +
+            "FROM Product p JOIN p.seller s LEFT JOIN s.kyc k WHERE p.status = :status")
+    List<Object[]> findAttributeRowsByStatus(Product.ProductStatus status);
+
+    // product id, category id, category name
+    @Query("SELECT p.id, c.id, c.name FROM Product p JOIN p.categories c WHERE p.status = :status")
+    List<Object[]> findCategoryRowsByStatus(Product.ProductStatus status);
 }
@@ -0,0 +1,32 @@
+package com.IndiExport.backend.repository;
+
+import com.IndiExport.backend.dto.ProductDto;
+import com.IndiExport.backend.entity.Product;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Criteria queries on products that Spring Data's derived queries cannot express.
+ */
+public interface ProductRepositoryCustom {
+
+    /**
+     * Select only the ids of the products matching a specification, without loading entities.
+     */
+    List<UUID> findIds(Specification<Product> spec);
+
+    /**
+     * Select one window of matching product ids in sort order, without loading entities
+     * and without a count query. Sort properties must be plain Product attributes.
+     */
+    List<UUID> findIds(Specification<Product> spec, Sort sort, long offset, int limit);
+
+    /**
+     * Select one window of a seller catalogue listing as {@link ProductDto.SellerProductListItem}
+     * projections, filtered and sorted in SQL. Media is not included.
+     */
+    List<ProductDto.SellerProductListItem> findSellerListing(Specification<Product> spec, Sort sort, long offset, int limit);
+}
@@ -0,0 +1,106 @@
+package com.IndiExport.backend.repository;
+
+import com.IndiExport.backend.dto.ProductDto;
+import com.IndiExport.backend.entity.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+public class ProductRepositoryCustomImpl implements ProductRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<UUID> findIds(Specification<Product> spec) {
+        return findIds(spec, Sort.unsorted(), 0, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<UUID> findIds(Specification<Product> spec, Sort sort, long offset, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Product> root = query.from(Product.class);
+
+        // Sort columns are selected alongside the id: specifications may apply DISTINCT,
+        // and PostgreSQL only allows ORDER BY on selected expressions in that case
+        List<Selection<?>> selections = new ArrayList<>();
+        selections.add(root.get("id"));
+        List<Order> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            Path<Object> path = root.get(order.getProperty());
+            if (!"id".equals(order.getProperty())) {
+                selections.add(path);
+            }
+            orders.add(order.isAscending() ? cb.asc(path) : cb.desc(path));
+        }
+        query.multiselect(selections);
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(orders);
+
+        var typedQuery = entityManager.createQuery(query).setFirstResult((int) offset);
+        if (limit != Integer.MAX_VALUE) {
+            typedQuery.setMaxResults(limit);
+        }
+        return typedQuery.getResultList().stream()
+                .map(tuple -> tuple.get(0, UUID.class))
+                .toList();
+    }
+
+    @Override
+    public List<ProductDto.SellerProductListItem> findSellerListing(
+            Specification<Product> spec, Sort sort, long offset, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ProductDto.SellerProductListItem> query = cb.createQuery(ProductDto.SellerProductListItem.class);
+        Root<Product> root = query.from(Product.class);
+
+        query.select(cb.construct(ProductDto.SellerProductListItem.class,
+                root.get("id"),
+                root.get("name"),
+                root.get("brand"),
+                root.get("sku"),
+                root.get("pricePaise"),
+                root.get("minimumOrderQuantity"),
+                root.get("quantityUnit"),
+                root.get("leadTimeDays"),
+                root.get("stockQuantity"),
+                root.get("status"),
+                root.get("averageRatingMilli"),
+                root.get("totalReviews"),
+                root.get("totalOrders"),
+                root.get("createdAt")));
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        List<Order> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            Path<Object> path = root.get(order.getProperty());
+            orders.add(order.isAscending() ? cb.asc(path) : cb.desc(path));
+        }
+        query.orderBy(orders);
+
+        return entityManager.createQuery(query)
+                .setFirstResult((int) offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
@@ -2,11 +2,17 @@ package com.IndiExport.backend.repository;
 
 import com.IndiExport.backend.entity.ProductView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface ProductViewRepository extends JpaRepository<ProductView, UUID> {
-    // Standard CRUD
+
+    long countByProductId(UUID productId);
+
+    @Query("SELECT v.product.id, COUNT(v) FROM ProductView v GROUP BY v.product.id")
+    List<Object[]> countViewsByProduct();
 }
@@ -0,0 +1,121 @@
+package com.IndiExport.backend.repository.analytics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Generated {@code created_date} columns (the day of {@code created_at}) on the tables the
+ * dashboards bucket by day, with composite indexes led by them. Live dashboard queries group
+ * by the column and bound it alongside {@code created_at}, so PostgreSQL can answer them
+ * from the index instead of computing the day of {@code created_at} on every row.
+ *
+ * Hibernate does not map the columns (ddl-auto cannot declare generated columns); they are
+ * added here, PostgreSQL only. Until they exist the queries fall back to the cast.
+ *
+ * A generated expression must be immutable, so it names its zones instead of relying on the
+ * session: orders.created_at is stored-zone wall-clock time ({@link AnalyticsDays#sqlDay}),
+ * disputes.created_at an instant ({@link AnalyticsDays#sqlDayOfInstant}). If the configured
+ * zones change, a column generated for the old ones is dropped and generated again.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AnalyticsDateColumnRepository {
+
+    static final List<String> TABLES = List.of("orders", "disputes");
+
+    // Tables whose created_at is timestamp with time zone
+    private static final List<String> ZONED_TABLES = List.of("disputes");
+
+    private static final Pattern ZONE_LITERAL = Pattern.compile("'([^']*)'");
+
+    private record DateIndex(String name, String table, String columns, String include) {
+    }
+
+    private static final List<DateIndex> INDEXES = List.of(
+            new DateIndex("idx_orders_seller_created_date", "orders", "seller_id, created_date, status", "created_at, total_amount_paise"),
+            new DateIndex("idx_orders_buyer_created_date", "orders", "buyer_id, created_date, status", "created_at, total_amount_paise"),
+            new DateIndex("idx_orders_created_date", "orders", "created_date, status", "created_at, total_amount_paise"),
+            new DateIndex("idx_disputes_created_date", "disputes", "created_date, status", "created_at"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile boolean available;
+
+    /**
+     * Whether every table in {@link #TABLES} has its created_date column.
+     */
+    public boolean isAvailable() {
+        return available;
+    }
+
+    public boolean isPostgres() {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) con ->
+                "PostgreSQL".equals(con.getMetaData().getDatabaseProductName())));
+    }
+
+    /**
+     * Add the missing columns and indexes (PostgreSQL only). Adding a stored column rewrites
+     * the table once; later calls only check the catalog.
+     */
+    public void createDateColumns() {
+        Map<String, String> expressions = findGenerationExpressions();
+        for (String table : TABLES) {
+            String day = ZONED_TABLES.contains(table)
+                    ? AnalyticsDays.sqlDayOfInstant("created_at") : AnalyticsDays.sqlDay("created_at");
+            String existing = expressions.get(table);
+            if (existing != null && !zoneLiterals(existing).equals(zoneLiterals(day))) {
+                // Generated for other zones; its indexes go with it and are recreated below
+                jdbcTemplate.execute("ALTER TABLE " + table + " DROP COLUMN created_date");
+            }
+            jdbcTemplate.execute("ALTER TABLE " + table + " ADD COLUMN IF NOT EXISTS created_date DATE"
+                    + " GENERATED ALWAYS AS (" + day + ") STORED");
+        }
+        for (DateIndex index : INDEXES) {
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS " + index.name() + " ON " + index.table()
+                    + " (" + index.columns() + ") INCLUDE (" + index.include() + ")");
+        }
+        refreshAvailability();
+    }
+
+    /**
+     * The zone names an expression converts through, in order; PostgreSQL rewrites the
+     * expression it stores but keeps these literals.
+     */
+    private static List<String> zoneLiterals(String expression) {
+        List<String> zones = new ArrayList<>();
+        Matcher matcher = ZONE_LITERAL.matcher(expression);
+        while (matcher.find()) {
+            zones.add(matcher.group(1));
+        }
+        return zones;
+    }
+
+    private Map<String, String> findGenerationExpressions() {
+        Map<String, String> expressions = new LinkedHashMap<>();
+        jdbcTemplate.query("""
+            SELECT table_name, generation_expression FROM information_schema.columns
+            WHERE table_schema = current_schema() AND column_name = 'created_date' AND table_name IN (?, ?)
+        """, rs -> {
+            expressions.put(rs.getString("table_name"), String.valueOf(rs.getString("generation_expression")));
+        }, TABLES.toArray());
+        return expressions;
+    }
+
+    public boolean refreshAvailability() {
+        Integer found = jdbcTemplate.queryForObject("""
+            SELECT COUNT(*) FROM information_schema.columns
+            WHERE table_schema = current_schema() AND column_name = 'created_date' AND table_name IN (?, ?)
+        """, Integer.class, TABLES.toArray());
+        available = found != null && found == TABLES.size();
+        return available;
+    }
+}
@@ -0,0 +1,101 @@
+package com.IndiExport.backend.repository.analytics;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * The one place analytics maps instants to the days it buckets by. Two zones are involved,
+ * both set once at startup by {@code config.AnalyticsTimeZoneConfig}:
+ *
+ * <ul>
+ *   <li>{@link #zone()} ({@code analytics.time-zone}): the zone whose calendar days the
+ *       dashboards, rollups and day columns count in. It affects analytics only.</li>
+ *   <li>{@link #storedZone()} ({@code analytics.stored-time-zone}, default the JVM zone): the
+ *       zone of the wall-clock time the application writes into LocalDateTime columns
+ *       (orders.created_at, users.created_at, ...), which are {@code timestamp without time
+ *       zone}. It is also the zone the driver opens sessions in, so it is how LocalDateTime
+ *       bind values are read against Instant ({@code timestamp with time zone}) columns
+ *       (disputes.created_at, chats.created_at, product_views.viewed_at).</li>
+ * </ul>
+ *
+ * Day expressions therefore convert explicitly ({@link #sqlDay(String)},
+ * {@link #sqlDayOfInstant(String)}), and bounds are computed in the analytics zone and bound
+ * in the stored one ({@link #toStored(LocalDateTime)}). Request instants are converted here,
+ * never with ad-hoc conversions or UTC truncation at the call site.
+ */
+public final class AnalyticsDays {
+
+    public static final String DEFAULT_ZONE = "Asia/Kolkata";
+
+    private static volatile ZoneId zone = ZoneId.of(DEFAULT_ZONE);
+    private static volatile ZoneId storedZone = ZoneId.systemDefault();
+
+    private AnalyticsDays() {
+    }
+
+    public static ZoneId zone() {
+        return zone;
+    }
+
+    public static ZoneId storedZone() {
+        return storedZone;
+    }
+
+    public static void useZones(ZoneId configured, ZoneId stored) {
+        zone = configured;
+        storedZone = stored;
+    }
+
+    /**
+     * Day of a {@code timestamp without time zone} column holding stored-zone wall-clock time,
+     * in the analytics zone. Immutable, so usable in generated columns and index expressions.
+     */
+    public static String sqlDay(String timestampColumn) {
+        if (storedZone.normalized().equals(zone.normalized())) {
+            return "CAST(" + timestampColumn + " AS DATE)";
+        }
+        return "CAST((" + timestampColumn + " AT TIME ZONE '" + storedZone.getId()
+                + "' AT TIME ZONE '" + zone.getId() + "') AS DATE)";
+    }
+
+    /**
+     * Day of a {@code timestamp with time zone} column in the analytics zone, independent of
+     * the session zone. Immutable, so usable in generated columns and index expressions.
+     */
+    public static String sqlDayOfInstant(String timestamptzColumn) {
+        return "CAST((" + timestamptzColumn + " AT TIME ZONE '" + zone.getId() + "') AS DATE)";
+    }
+
+    public static LocalDateTime toLocal(Instant instant) {
+        return LocalDateTime.ofInstant(instant, zone());
+    }
+
+    /**
+     * The stored-zone wall-clock time of an instant, to bind against a timestamp column.
+     */
+    public static LocalDateTime toStored(Instant instant) {
+        return LocalDateTime.ofInstant(instant, storedZone);
+    }
+
+    /**
+     * The stored-zone wall-clock time of an analytics-zone one, to bind against a timestamp
+     * column.
+     */
+    public static LocalDateTime toStored(LocalDateTime local) {
+        return local.atZone(zone).withZoneSameInstant(storedZone).toLocalDateTime();
+    }
+
+    public static LocalDate dayOf(Instant instant) {
+        return LocalDate.ofInstant(instant, zone());
+    }
+
+    public static Instant startOf(LocalDate day) {
+        return day.atStartOfDay(zone()).toInstant();
+    }
+
+    public static LocalDateTime startOfToday() {
+        return LocalDate.now(zone()).atStartOfDay();
+    }
+}
@@ -0,0 +1,69 @@
+package com.IndiExport.backend.repository.analytics;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Streams order rows for the analytics exports. Rows are handed to a
+ * {@link RowCallbackHandler} as the driver fetches them, in pages of {@code fetchSize}, so an
+ * export of any length holds one page in memory.
+ *
+ * The PostgreSQL driver only fetches in pages inside a transaction (with autocommit on it
+ * reads the whole result set), so each export runs in its own read-only transaction.
+ */
+@Repository
+public class AnalyticsExportRepository {
+
+    public static final List<String> ORDER_COLUMNS = List.of(
+            "order_number", "created_at", "status", "seller_id", "buyer_country", "shipping_country",
+            "currency_code", "total_amount_paise", "item_count", "total_quantity");
+
+    private static final String ORDERS_SQL = """
+        SELECT o.order_number, o.created_at, o.status, o.seller_id, o.buyer_country, o.shipping_country,
+               o.currency_code, o.total_amount_paise,
+               (SELECT COUNT(*) FROM order_items oi WHERE oi.order_id = o.id) AS item_count,
+               (SELECT COALESCE(SUM(oi.quantity), 0) FROM order_items oi WHERE oi.order_id = o.id) AS total_quantity
+        FROM orders o
+        WHERE o.created_at >= ? AND o.created_at <= ? %s
+        ORDER BY o.created_at, o.id
+    """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public AnalyticsExportRepository(DataSource dataSource, PlatformTransactionManager transactionManager,
+                                     @Value("${analytics.export.fetch-size:1000}") int fetchSize) {
+        // A dedicated template, so the fetch size does not apply to every other query
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Stream the orders created in {@code [from, to]}, oldest first, in {@link #ORDER_COLUMNS}
+     * order.
+     *
+     * @param sellerId the seller whose orders to export, or null for the whole platform
+     */
+    public void streamOrders(UUID sellerId, LocalDateTime from, LocalDateTime to, RowCallbackHandler handler) {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            if (sellerId != null) {
+                jdbcTemplate.query(ORDERS_SQL.formatted("AND o.seller_id = ?"), handler, from, to, sellerId);
+            } else {
+                jdbcTemplate.query(ORDERS_SQL.formatted(""), handler, from, to);
+            }
+        });
+    }
+}
@@ -0,0 +1,150 @@
+package com.IndiExport.backend.repository.analytics;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs the independent sections of a dashboard concurrently on virtual threads.
+ *
+ * A semaphore caps how many analytics queries run at once across all requests, so a burst
+ * of dashboards cannot take every connection in the pool. Each request gets one deadline
+ * shared by all of its sections. A section that has not finished by then, or that fails,
+ * yields its fallback value and is reported in {@link FanOut#degradedSections()}; the other
+ * sections are still returned.
+ *
+ * Each section runs in its own read-only transaction whose timeout is the time left before
+ * the deadline, which JdbcTemplate applies as the query timeout of every statement in it.
+ * A statement still running when its section is abandoned is therefore cancelled by the
+ * database at about the deadline and does not hold its connection past it.
+ */
+@Component
+@Slf4j
+public class AnalyticsQueryExecutor implements DisposableBean {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final PlatformTransactionManager transactionManager;
+    private final Semaphore permits;
+    private final Duration deadline;
+
+    public AnalyticsQueryExecutor(
+            PlatformTransactionManager transactionManager,
+            @Value("${analytics.fanout.max-concurrency:6}") int maxConcurrency,
+            @Value("${analytics.fanout.deadline-ms:5000}") long deadlineMs) {
+        this.transactionManager = transactionManager;
+        this.permits = new Semaphore(maxConcurrency);
+        this.deadline = Duration.ofMillis(deadlineMs);
+    }
+
+    /**
+     * Start a fan-out whose deadline is measured from now.
+     */
+    public FanOut fanOut() {
+        return new FanOut(System.nanoTime() + deadline.toNanos());
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * The sections forked for one request.
+     */
+    public final class FanOut {
+
+        private final long deadlineNanos;
+        private final List<String> degraded = Collections.synchronizedList(new ArrayList<>());
+
+        private FanOut(long deadlineNanos) {
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        /**
+         * Start a section. The returned supplier blocks until the section completes or the
+         * request's deadline passes, whichever is first.
+         *
+         * @param section  name reported when the section degrades
+         * @param fallback value used when the section times out or fails
+         */
+        public <T> Supplier<T> fork(String section, Callable<T> task, T fallback) {
+            Future<T> future = executor.submit(() -> {
+                if (!permits.tryAcquire(remainingNanos(), TimeUnit.NANOSECONDS)) {
+                    throw new TimeoutException("No analytics query slot before the deadline");
+                }
+                try {
+                    return withinDeadline().execute(status -> {
+                        try {
+                            return task.call();
+                        } catch (RuntimeException e) {
+                            throw e;
+                        } catch (Exception e) {
+                            throw new IllegalStateException(e);
+                        }
+                    });
+                } finally {
+                    permits.release();
+                }
+            });
+            return () -> join(section, future, fallback);
+        }
+
+        public List<String> degradedSections() {
+            synchronized (degraded) {
+                return List.copyOf(degraded);
+            }
+        }
+
+        private <T> T join(String section, Future<T> future, T fallback) {
+            try {
+                return future.get(remainingNanos(), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                // Interrupts the virtual thread; a statement already running is cancelled by its
+                // query timeout
+                future.cancel(true);
+                log.warn("Analytics section '{}' missed the {} ms deadline", section, deadline.toMillis());
+            } catch (ExecutionException e) {
+                log.warn("Analytics section '{}' failed: {}", section, e.getCause().toString());
+            } catch (InterruptedException e) {
+                future.cancel(true);
+                Thread.currentThread().interrupt();
+            }
+            degraded.add(section);
+            return fallback;
+        }
+
+        /**
+         * A read-only transaction timing out at the deadline, rounded up to whole seconds as
+         * JDBC query timeouts are.
+         */
+        private TransactionTemplate withinDeadline() {
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            transaction.setReadOnly(true);
+            transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            transaction.setTimeout((int) Math.max(1, TimeUnit.NANOSECONDS.toSeconds(remainingNanos() + 999_999_999L)));
+            return transaction;
+        }
+
+        private long remainingNanos() {
+            return Math.max(0, deadlineNanos - System.nanoTime());
+        }
+    }
+}
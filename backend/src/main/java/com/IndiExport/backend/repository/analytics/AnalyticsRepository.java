@@ -1,64 +1,96 @@
 package com.IndiExport.backend.repository.analytics;
 
 import com.IndiExport.backend.dto.analytics.*;
+import com.IndiExport.backend.entity.analytics.ViewSketchDaily.Scope;
 import lombok.RequiredArgsConstructor;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 
-import java.sql.Timestamp;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
 import java.time.Instant;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.ZoneId;
 import java.util.*;
-
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Dashboard queries. Order, view, inquiry and dispute aggregates read closed days from the
+ * daily rollup tables (see {@link AnalyticsRollupRepository}) and compute only the rest of
+ * the range — today, and a partial first day — live from the raw tables.
+ */
 @Repository
 @RequiredArgsConstructor
 public class AnalyticsRepository {
 
+    // Bounds the recent-views lookup to the newest product_views partitions
+    private static final long RECENT_VIEWS_LOOKBACK_DAYS = 30;
+
     private final JdbcTemplate jdbcTemplate;
+    private final AnalyticsRollupRepository rollupRepository;
+    private final AnalyticsQueryExecutor queryExecutor;
+    private final ViewSketchRepository sketchRepository;
+    private final AnalyticsDateColumnRepository dateColumnRepository;
+
+    /** A derived table (aliased f) and its bind arguments. */
+    private record Facts(String sql, Object[] args) {
+    }
 
     // ==========================================
     // BUYER ANALYTICS
     // ==========================================
     public BuyerDashboardAnalyticsResponse getBuyerAnalytics(UUID buyerId, Instant from, Instant to) {
-        LocalDateTime fromLdt = LocalDateTime.ofInstant(from, ZoneId.systemDefault());
-        LocalDateTime toLdt = LocalDateTime.ofInstant(to, ZoneId.systemDefault());
+        LocalDateTime fromLdt = AnalyticsDays.toLocal(from);
+        LocalDateTime toLdt = AnalyticsDays.toLocal(to);
+
+        Facts orders = facts(window(rollupRepository.findCoverage(), fromLdt, toLdt), """
+            SELECT rollup_date, status, order_count, revenue_paise
+            FROM analytics_buyer_order_daily
+            WHERE buyer_id = ? AND {range}
+        """, """
+            SELECT {day:created_at:created_date} AS rollup_date, status, COUNT(*) AS order_count,
+                   COALESCE(SUM(total_amount_paise), 0) AS revenue_paise
+            FROM orders
+            WHERE buyer_id = ? AND {range:created_at:created_date}
+            GROUP BY {day:created_at:created_date}, status
+        """, buyerId);
 
         // 1. Basic aggregates
         String sql = """
             SELECT 
-                COUNT(*) as total_orders,
-                COUNT(CASE WHEN status IN ('SHIPPED', 'IN_TRANSIT') THEN 1 END) as active_shipments,
-                COUNT(CASE WHEN status IN ('DELIVERED', 'COMPLETED') THEN 1 END) as completed_orders,
-                COALESCE(SUM(total_amount_paise), 0) as total_spending
-            FROM orders
-            WHERE buyer_id = ? 
-            AND created_at BETWEEN ? AND ?
-            AND status != 'CANCELLED'
-        """;
+                COALESCE(SUM(CASE WHEN status != 'CANCELLED' THEN order_count END), 0) as total_orders,
+                COALESCE(SUM(CASE WHEN status IN ('SHIPPED', 'IN_TRANSIT') THEN order_count END), 0) as active_shipments,
+                COALESCE(SUM(CASE WHEN status IN ('DELIVERED', 'COMPLETED') THEN order_count END), 0) as completed_orders,
+                COALESCE(SUM(CASE WHEN status != 'CANCELLED' THEN revenue_paise END), 0) as total_spending
+            FROM %s
+        """.formatted(orders.sql());
 
-        Map<String, Object> stats = jdbcTemplate.queryForMap(sql, buyerId, fromLdt, toLdt);
+        Map<String, Object> stats = jdbcTemplate.queryForMap(sql, orders.args());
 
-        // 2. Orders & Spending Over Time (PostgreSQL)
+        // 2. Orders & Spending Over Time
         String trendSql = """
-            SELECT TO_CHAR(created_at, 'YYYY-MM-DD') as date, 
-                   COUNT(*) as count, 
-                   COALESCE(SUM(total_amount_paise), 0) as amount
-            FROM orders
-            WHERE buyer_id = ? AND created_at BETWEEN ? AND ? AND status != 'CANCELLED'
-            GROUP BY date
-            ORDER BY date ASC
-        """;
+            SELECT rollup_date as date, 
+                   SUM(order_count) as count, 
+                   SUM(revenue_paise) as amount
+            FROM %s
+            WHERE status != 'CANCELLED'
+            GROUP BY rollup_date
+            ORDER BY rollup_date ASC
+        """.formatted(orders.sql());
         
         List<ChartPointResponse> ordersOverTime = new ArrayList<>();
         List<ChartPointResponse> spendingOverTime = new ArrayList<>();
         
         jdbcTemplate.query(trendSql, (rs, rowNum) -> {
-            String date = rs.getString("date");
+            String date = day(rs);
             ordersOverTime.add(new ChartPointResponse(date, rs.getLong("count")));
             spendingOverTime.add(new ChartPointResponse(date, rs.getLong("amount")));
             return null;
-        }, buyerId, fromLdt, toLdt);
+        }, orders.args());
 
         // 3. Last 5 orders
         String lastOrdersSql = """
@@ -94,72 +126,49 @@ public class AnalyticsRepository {
     // SELLER ANALYTICS
     // ==========================================
     public SellerDashboardAnalyticsResponse getSellerAnalytics(UUID sellerId, Instant from, Instant to) {
-        String sql = """
-            SELECT 
-                COUNT(*) as total_sales,
-                COALESCE(SUM(total_amount_paise), 0) as total_revenue,
-                COUNT(CASE WHEN status IN ('PENDING_CONFIRMATION', 'CONFIRMED', 'PAID') THEN 1 END) as pending_orders,
-                COUNT(CASE WHEN status = 'SHIPPED' THEN 1 END) as shipped_orders,
-                COUNT(CASE WHEN status = 'DELIVERED' THEN 1 END) as delivered_orders
-            FROM orders
-            WHERE seller_id = ?
-            AND created_at BETWEEN ? AND ?
-            AND status != 'CANCELLED'
-        """;
-
-        LocalDateTime fromLdt = LocalDateTime.ofInstant(from, ZoneId.systemDefault());
-        LocalDateTime toLdt = LocalDateTime.ofInstant(to, ZoneId.systemDefault());
-
-        Map<String, Object> stats = jdbcTemplate.queryForMap(sql, sellerId, fromLdt, toLdt);
-
-        // Payouts (assuming logic based on order status or separate payout table if it existed)
-        // For now, mapping 'COMPLETED' as released, others as holding
-        String payoutSql = """
-             SELECT 
-                COUNT(CASE WHEN status = 'COMPLETED' THEN 1 END) as released,
-                COUNT(CASE WHEN status IN ('PAID', 'SHIPPED', 'DELIVERED') THEN 1 END) as holding
-             FROM orders
-             WHERE seller_id = ? AND created_at BETWEEN ? AND ?
-        """;
-        Map<String, Object> payoutStats = jdbcTemplate.queryForMap(payoutSql, sellerId, fromLdt, toLdt);
-
-        // 2. Revenue Trend
-        String trendSql = """
-            SELECT TO_CHAR(created_at, 'YYYY-MM-DD') as date, COALESCE(SUM(total_amount_paise), 0) as amount
-            FROM orders
-            WHERE seller_id = ? AND created_at BETWEEN ? AND ? AND status != 'CANCELLED'
-            GROUP BY date
-            ORDER BY date ASC
-        """;
-        List<RevenueTrendDTO> trend = jdbcTemplate.query(trendSql, (rs, rowNum) -> RevenueTrendDTO.builder()
-                .date(rs.getString("date"))
-                .amount(rs.getLong("amount"))
-                .build(),
-                sellerId, fromLdt, toLdt
-        );
+        LocalDateTime fromLdt = AnalyticsDays.toLocal(from);
+        LocalDateTime toLdt = AnalyticsDays.toLocal(to);
+        RollupCoverage coverage = rollupRepository.findCoverage();
+
+        // One pass over the seller's orders; every section is folded from the (day, status) grid
+        List<OrderDayStatus> grid = sellerOrderGrid(sellerId, window(coverage, fromLdt, toLdt));
+
+        long totalSales = 0, totalRevenue = 0, pending = 0, shipped = 0, delivered = 0, released = 0, holding = 0;
+        Map<String, Long> revenueByDay = new LinkedHashMap<>();
+        Map<String, Long> countByStatus = new TreeMap<>();
+        for (OrderDayStatus row : grid) {
+            countByStatus.merge(row.status(), row.orders(), Long::sum);
+            switch (row.status()) {
+                case "CANCELLED" -> { continue; }
+                case "PENDING_CONFIRMATION", "CONFIRMED" -> pending += row.orders();
+                case "PAID" -> { pending += row.orders(); holding += row.orders(); }
+                case "SHIPPED" -> { shipped += row.orders(); holding += row.orders(); }
+                case "DELIVERED" -> { delivered += row.orders(); holding += row.orders(); }
+                // Payouts (assuming logic based on order status or separate payout table if it existed)
+                // For now, mapping 'COMPLETED' as released, others as holding
+                case "COMPLETED" -> released += row.orders();
+                default -> { }
+            }
+            totalSales += row.orders();
+            totalRevenue += row.revenuePaise();
+            revenueByDay.merge(row.date(), row.revenuePaise(), Long::sum);
+        }
 
-        // 3. Orders by Status
-        String statusSql = """
-            SELECT status as name, COUNT(*) as count
-            FROM orders
-            WHERE seller_id = ? AND created_at BETWEEN ? AND ?
-            GROUP BY status
-        """;
-        List<StatusCountDTO> statusCounts = jdbcTemplate.query(statusSql, (rs, rowNum) -> StatusCountDTO.builder()
-                .name(rs.getString("name"))
-                .count(rs.getLong("count"))
-                .build(),
-                sellerId, fromLdt, toLdt
-        );
+        List<RevenueTrendDTO> trend = revenueByDay.entrySet().stream()
+                .map(e -> RevenueTrendDTO.builder().date(e.getKey()).amount(e.getValue()).build())
+                .toList();
+        List<StatusCountDTO> statusCounts = countByStatus.entrySet().stream()
+                .map(e -> StatusCountDTO.builder().name(e.getKey()).count(e.getValue()).build())
+                .toList();
 
         return SellerDashboardAnalyticsResponse.builder()
-                .totalSalesCount(((Number) stats.get("total_sales")).longValue())
-                .totalRevenueINRPaise(((Number) stats.get("total_revenue")).longValue())
-                .pendingOrdersCount(((Number) stats.get("pending_orders")).longValue())
-                .shippedOrdersCount(((Number) stats.get("shipped_orders")).longValue())
-                .deliveredOrdersCount(((Number) stats.get("delivered_orders")).longValue())
-                .payoutHoldingCount(((Number) payoutStats.get("holding")).longValue())
-                .payoutReleasedCount(((Number) payoutStats.get("released")).longValue())
+                .totalSalesCount(totalSales)
+                .totalRevenueINRPaise(totalRevenue)
+                .pendingOrdersCount(pending)
+                .shippedOrdersCount(shipped)
+                .deliveredOrdersCount(delivered)
+                .payoutHoldingCount(holding)
+                .payoutReleasedCount(released)
                 .revenueOverTime(trend)
                 .ordersByStatus(statusCounts)
                 .build();
@@ -169,17 +178,30 @@ public class AnalyticsRepository {
     // ADMIN ANALYTICS
     // ==========================================
     public AdminDashboardAnalyticsResponse getAdminAnalytics(Instant from, Instant to) {
+        LocalDateTime fromLdt = AnalyticsDays.toLocal(from);
+        LocalDateTime toLdt = AnalyticsDays.toLocal(to);
+        RollupWindow window = window(rollupRepository.findCoverage(), fromLdt, toLdt);
+
+        Facts orders = facts(window, """
+            SELECT rollup_date, status, order_count, revenue_paise
+            FROM analytics_seller_order_daily
+            WHERE {range}
+        """, """
+            SELECT {day:created_at:created_date} AS rollup_date, status, COUNT(*) AS order_count,
+                   COALESCE(SUM(total_amount_paise), 0) AS revenue_paise
+            FROM orders
+            WHERE {range:created_at:created_date}
+            GROUP BY {day:created_at:created_date}, status
+        """);
+
         String sql = """
             SELECT 
-                COUNT(*) as total_orders,
-                COALESCE(SUM(total_amount_paise), 0) as gmv
-            FROM orders
-            WHERE created_at BETWEEN ? AND ?
-            AND status != 'CANCELLED'
-        """;
-        LocalDateTime fromLdt = LocalDateTime.ofInstant(from, ZoneId.systemDefault());
-        LocalDateTime toLdt = LocalDateTime.ofInstant(to, ZoneId.systemDefault());
-        Map<String, Object> orderStats = jdbcTemplate.queryForMap(sql, fromLdt, toLdt);
+                COALESCE(SUM(order_count), 0) as total_orders,
+                COALESCE(SUM(revenue_paise), 0) as gmv
+            FROM %s
+            WHERE status != 'CANCELLED'
+        """.formatted(orders.sql());
+        Map<String, Object> orderStats = jdbcTemplate.queryForMap(sql, orders.args());
 
         String userSql = """
              SELECT 
@@ -190,64 +212,80 @@ public class AnalyticsRepository {
              JOIN roles r ON ur.role_id = r.id
              WHERE u.created_at BETWEEN ? AND ?
         """;
-        Map<String, Object> userStats = jdbcTemplate.queryForMap(userSql, fromLdt, toLdt);
+        Map<String, Object> userStats = jdbcTemplate.queryForMap(userSql,
+                AnalyticsDays.toStored(from), AnalyticsDays.toStored(to));
+
+        Facts disputes = facts(window, """
+            SELECT rollup_date, status, dispute_count
+            FROM analytics_dispute_daily
+            WHERE {range}
+        """, """
+            SELECT {day:created_at:created_date:instant} AS rollup_date, status, COUNT(*) AS dispute_count
+            FROM disputes
+            WHERE {range:created_at:created_date}
+            GROUP BY {day:created_at:created_date:instant}, status
+        """);
 
-         String disputeSql = """
-             SELECT COUNT(*) FROM disputes 
-             WHERE created_at BETWEEN ? AND ? AND status = 'OPEN'
-        """;
-        Long disputesOpen = jdbcTemplate.queryForObject(disputeSql, Long.class, fromLdt, toLdt);
-        
-        // ...
-        
-        // Error in TargetContent above, let's fix
+        String disputeSql = """
+             SELECT COALESCE(SUM(dispute_count), 0) FROM %s
+             WHERE status = 'OPEN'
+        """.formatted(disputes.sql());
+        Long disputesOpen = jdbcTemplate.queryForObject(disputeSql, Long.class, disputes.args());
 
         // Top Countries
+        Facts countries = facts(window, """
+            SELECT buyer_country, order_count, revenue_paise
+            FROM analytics_country_order_daily
+            WHERE {range}
+        """, """
+            SELECT buyer_country, COUNT(*) AS order_count, COALESCE(SUM(total_amount_paise), 0) AS revenue_paise
+            FROM orders
+            WHERE status != 'CANCELLED' AND {range:created_at:created_date}
+            GROUP BY buyer_country
+        """);
         String countrySql = """
-             SELECT buyer_country, COUNT(*) as count, COALESCE(SUM(total_amount_paise), 0) as revenue
-             FROM orders
-             WHERE created_at BETWEEN ? AND ? AND status != 'CANCELLED'
+             SELECT buyer_country, SUM(order_count) as count, SUM(revenue_paise) as revenue
+             FROM %s
              GROUP BY buyer_country
              ORDER BY count DESC
              LIMIT 5
-        """;
+        """.formatted(countries.sql());
         
         List<CountrySalesResponse> topCountries = jdbcTemplate.query(countrySql, (rs, rowNum) -> CountrySalesResponse.builder()
                 .country(rs.getString("buyer_country"))
                 .orders(rs.getLong("count"))
                 .revenueINRPaise(rs.getLong("revenue"))
                 .build(),
-                fromLdt, toLdt
+                countries.args()
         );
 
         // Orders Trend
         String orderTrendSql = """
-            SELECT TO_CHAR(created_at, 'YYYY-MM-DD') as date, COUNT(*) as count
-            FROM orders
-            WHERE created_at BETWEEN ? AND ? AND status != 'CANCELLED'
-            GROUP BY date
-            ORDER BY date ASC
-        """;
+            SELECT rollup_date as date, SUM(order_count) as count
+            FROM %s
+            WHERE status != 'CANCELLED'
+            GROUP BY rollup_date
+            ORDER BY rollup_date ASC
+        """.formatted(orders.sql());
         List<ChartPointResponse> ordersOverTime = jdbcTemplate.query(orderTrendSql, (rs, rowNum) -> ChartPointResponse.builder()
-                .period(rs.getString("date"))
+                .period(day(rs))
                 .value(rs.getLong("count"))
                 .build(),
-                fromLdt, toLdt
+                orders.args()
         );
 
         // Disputes Trend
         String disputeTrendSql = """
-            SELECT TO_CHAR(created_at, 'YYYY-MM-DD') as date, COUNT(*) as count
-            FROM disputes
-            WHERE created_at BETWEEN ? AND ?
-            GROUP BY date
-            ORDER BY date ASC
-        """;
+            SELECT rollup_date as date, SUM(dispute_count) as count
+            FROM %s
+            GROUP BY rollup_date
+            ORDER BY rollup_date ASC
+        """.formatted(disputes.sql());
         List<ChartPointResponse> disputesOverTime = jdbcTemplate.query(disputeTrendSql, (rs, rowNum) -> ChartPointResponse.builder()
-                .period(rs.getString("date"))
+                .period(day(rs))
                 .value(rs.getLong("count"))
                 .build(),
-                fromLdt, toLdt
+                disputes.args()
         );
 
         long gmv = ((Number) orderStats.get("gmv")).longValue();
@@ -268,158 +306,270 @@ public class AnalyticsRepository {
     // ADVANCED SELLER ANALYTICS
     // ==========================================
     public AdvancedSellerAnalyticsResponse getAdvancedSellerAnalytics(UUID sellerId, Instant from, Instant to) {
-        LocalDateTime fromLdt = LocalDateTime.ofInstant(from, ZoneId.systemDefault());
-        LocalDateTime toLdt = LocalDateTime.ofInstant(to, ZoneId.systemDefault());
+        LocalDateTime fromLdt = AnalyticsDays.toLocal(from);
+        LocalDateTime toLdt = AnalyticsDays.toLocal(to);
+        RollupCoverage coverage = rollupRepository.findCoverage();
+        RollupWindow window = window(coverage, fromLdt, toLdt);
+
+        LocalDateTime now = LocalDateTime.now(AnalyticsDays.zone());
+        LocalDateTime today = AnalyticsDays.startOfToday();
+        Map<String, RollupWindow> activityWindows = new LinkedHashMap<>();
+        activityWindows.put("range", window);
+        activityWindows.put("total", window(coverage, null, now));
+        activityWindows.put("today", window(coverage, today, now));
+        activityWindows.put("week", window(coverage, now.minusDays(7), now));
+        activityWindows.put("month", window(coverage, now.minusDays(30), now));
+        RollupWindow allTime = activityWindows.get("total");
+
+        // The sections are independent; run them concurrently and keep whatever finishes in time
+        AnalyticsQueryExecutor.FanOut fanOut = queryExecutor.fanOut();
+        Supplier<List<OrderDayStatus>> gridSection =
+                fanOut.fork("orders", () -> sellerOrderGrid(sellerId, window), List.of());
+        Supplier<List<CountrySalesResponse>> countrySection =
+                fanOut.fork("salesByCountry", () -> getSalesByCountry(sellerId, window), List.of());
+        Supplier<List<ProductSalesResponse>> productSection =
+                fanOut.fork("topProducts", () -> withUniqueViewers(getTopProducts(sellerId, window), fromLdt, toLdt), List.of());
+        Supplier<ViewSketchRepository.ViewSketches> uniqueViewerSection = fanOut.fork("uniqueViewers",
+                () -> sketchRepository.mergeRange(Scope.SELLER, sellerId, fromLdt.toLocalDate(), toLdt.toLocalDate()), null);
+        Supplier<Map<String, long[]>> activitySection =
+                fanOut.fork("activity", () -> countActivity(sellerId, activityWindows), Map.of());
+        Supplier<Map<String, List<ProductPerformanceResponse>>> performanceSection =
+                fanOut.fork("productPerformance", () -> getTopProductsByPerformance(sellerId, allTime), Map.of());
+        Supplier<RfqOpportunityStatsResponse> rfqSection =
+                fanOut.fork("rfqOpportunityStats", () -> getRfqOpportunityStats(sellerId), null);
+        Supplier<List<CountrySalesResponse>> buyerCountrySection =
+                fanOut.fork("topBuyerCountries", () -> getTopBuyerCountries(sellerId), List.of());
+        Supplier<List<RecentActivityResponse>> recentSection =
+                fanOut.fork("recentActivities", () -> getRecentActivities(sellerId), List.of());
+
+        // 1. Monthly Revenue Chart, Orders and Avg Order Value — folded from one (day, status) scan
+        long totalOrders = 0, totalRevenue = 0;
+        Map<String, Long> revenueByMonth = new LinkedHashMap<>();
+        for (OrderDayStatus row : gridSection.get()) {
+            if ("CANCELLED".equals(row.status())) {
+                continue;
+            }
+            totalOrders += row.orders();
+            totalRevenue += row.revenuePaise();
+            revenueByMonth.merge(row.date().substring(0, 7), row.revenuePaise(), Long::sum);
+        }
+        List<ChartPointResponse> revenueChart = revenueByMonth.entrySet().stream()
+                .map(e -> ChartPointResponse.builder().period(e.getKey()).value(e.getValue()).build())
+                .toList();
+        long avgOrderValue = totalOrders > 0 ? totalRevenue / totalOrders : 0;
 
-        // 1. Monthly Revenue Chart
-        String chartSql = """
-            SELECT TO_CHAR(created_at, 'YYYY-MM') as period, COALESCE(SUM(total_amount_paise), 0) as revenue
-            FROM orders
-            WHERE seller_id = ? AND created_at BETWEEN ? AND ? AND status != 'CANCELLED'
-            GROUP BY period
-            ORDER BY period ASC
-        """;
+        // 2. Product Views (Conversion)
+        Map<String, long[]> activity = activitySection.get();
+        long totalViews = activityCount(activity, "range", 0);
+        Double conversionRate = totalViews > 0 ? (double) totalOrders / totalViews * 100.0 : 0.0;
 
-        List<ChartPointResponse> revenueChart = jdbcTemplate.query(chartSql, (rs, rowNum) -> ChartPointResponse.builder()
-                .period(rs.getString("period"))
-                .value(rs.getLong("revenue"))
-                .build(),
-                sellerId, fromLdt, toLdt
-        );
+        Map<String, List<ProductPerformanceResponse>> topPerformance = performanceSection.get();
+        ViewSketchRepository.ViewSketches uniqueViewers = uniqueViewerSection.get();
+
+        return AdvancedSellerAnalyticsResponse.builder()
+                .monthlyRevenueChart(revenueChart)
+                .salesByCountry(countrySection.get())
+                .avgOrderValueINRPaise(avgOrderValue)
+                .topProducts(productSection.get())
+                .rfqSuccessRate(0.0) // Will be updated by rfqOpportunityStats if needed
+                .totalProductViews(totalViews)
+                .totalOrdersFromViews(totalOrders)
+                .globalConversionRate(conversionRate)
+                .uniqueViewers(uniqueViewers != null ? uniqueViewers.viewers().estimate() : null)
+                .uniqueViewerCountries(uniqueViewers != null ? uniqueViewers.countries().estimate() : null)
+                // New Metrics
+                .viewStats(periodicStats(activity, 0))
+                .inquiryStats(periodicStats(activity, 1))
+                .topProductsByViews(topPerformance.getOrDefault("VIEWS", List.of()))
+                .topProductsByInquiries(topPerformance.getOrDefault("INQUIRIES", List.of()))
+                .rfqOpportunityStats(rfqSection.get())
+                .topBuyerCountries(buyerCountrySection.get())
+                .recentActivities(recentSection.get())
+                .degradedSections(fanOut.degradedSections())
+                .build();
+    }
 
-        // 2. Sales by Country
+    private List<CountrySalesResponse> getSalesByCountry(UUID sellerId, RollupWindow window) {
+        Facts countries = facts(window, """
+            SELECT buyer_country, order_count, revenue_paise
+            FROM analytics_country_order_daily
+            WHERE seller_id = ? AND {range}
+        """, """
+            SELECT buyer_country, COUNT(*) AS order_count, COALESCE(SUM(total_amount_paise), 0) AS revenue_paise
+            FROM orders
+            WHERE seller_id = ? AND status != 'CANCELLED' AND {range:created_at:created_date}
+            GROUP BY buyer_country
+        """, sellerId);
         String countrySql = """
-             SELECT buyer_country, COUNT(*) as count, COALESCE(SUM(total_amount_paise), 0) as revenue
-             FROM orders
-             WHERE seller_id = ? AND created_at BETWEEN ? AND ? AND status != 'CANCELLED'
+             SELECT buyer_country, SUM(order_count) as count, SUM(revenue_paise) as revenue
+             FROM %s
              GROUP BY buyer_country
              ORDER BY revenue DESC
-        """;
-        List<CountrySalesResponse> salesByCountry = jdbcTemplate.query(countrySql, (rs, rowNum) -> CountrySalesResponse.builder()
+        """.formatted(countries.sql());
+        return jdbcTemplate.query(countrySql, (rs, rowNum) -> CountrySalesResponse.builder()
                 .country(rs.getString("buyer_country"))
                 .orders(rs.getLong("count"))
                 .revenueINRPaise(rs.getLong("revenue"))
                 .build(),
-                sellerId, fromLdt, toLdt
+                countries.args()
         );
+    }
 
-        // 3. Avg Order Value
-        String avgSql = """
-            SELECT COALESCE(AVG(total_amount_paise), 0) 
-            FROM orders
-            WHERE seller_id = ? AND created_at BETWEEN ? AND ? AND status != 'CANCELLED'
-        """;
-        Long avgOrderValue = jdbcTemplate.queryForObject(avgSql, Long.class, sellerId, fromLdt, toLdt);
-
-        // 4. Top Products
+    private List<ProductSalesResponse> getTopProducts(UUID sellerId, RollupWindow window) {
+        Facts productSales = facts(window, """
+            SELECT product_id, product_name, order_lines AS line_count, revenue_paise
+            FROM analytics_product_daily
+            WHERE seller_id = ? AND order_lines > 0 AND {range}
+        """, """
+            SELECT oi.product_id, oi.product_name_snapshot AS product_name, COUNT(*) AS line_count,
+                   COALESCE(SUM(oi.line_total_paise), 0) AS revenue_paise
+            FROM order_items oi
+            JOIN orders o ON o.id = oi.order_id
+            WHERE o.seller_id = ? AND o.status != 'CANCELLED' AND {range:o.created_at:o.created_date}
+            GROUP BY oi.product_id, oi.product_name_snapshot
+        """, sellerId);
         String productsSql = """
-             SELECT oi.product_id, oi.product_name_snapshot, COUNT(*) as count, COALESCE(SUM(oi.line_total_paise), 0) as revenue
-             FROM order_items oi
-             JOIN orders o ON o.id = oi.order_id
-             WHERE o.seller_id = ? AND o.created_at BETWEEN ? AND ? AND o.status != 'CANCELLED'
-             GROUP BY oi.product_id, oi.product_name_snapshot
+             SELECT product_id, MAX(product_name) as product_name, SUM(line_count) as count, SUM(revenue_paise) as revenue
+             FROM %s
+             GROUP BY product_id
              ORDER BY revenue DESC
              LIMIT 5
-        """;
-        List<ProductSalesResponse> topProducts = jdbcTemplate.query(productsSql, (rs, rowNum) -> ProductSalesResponse.builder()
+        """.formatted(productSales.sql());
+        return jdbcTemplate.query(productsSql, (rs, rowNum) -> ProductSalesResponse.builder()
                 .productId(UUID.fromString(rs.getString("product_id")))
-                .title(rs.getString("product_name_snapshot"))
+                .title(rs.getString("product_name"))
                 .orders(rs.getLong("count"))
                 .revenueINRPaise(rs.getLong("revenue"))
                 .build(),
-                sellerId, fromLdt, toLdt
+                productSales.args()
         );
-        
-        // 5. Product Views (Conversion)
-        String viewsSql = "SELECT COUNT(*) FROM product_views pv JOIN products p ON p.id = pv.product_id WHERE p.seller_id = ? AND pv.viewed_at BETWEEN ? AND ?";
-        Long totalViews = jdbcTemplate.queryForObject(viewsSql, Long.class, sellerId, fromLdt, toLdt);
-        
-        String ordersSql = "SELECT COUNT(*) FROM orders WHERE seller_id = ? AND created_at BETWEEN ? AND ? AND status != 'CANCELLED'";
-        Long totalOrders = jdbcTemplate.queryForObject(ordersSql, Long.class, sellerId, fromLdt, toLdt);
-        
-        Double conversionRate = (totalViews != null && totalViews > 0) ? (double) totalOrders / totalViews * 100.0 : 0.0;
-        
-        return AdvancedSellerAnalyticsResponse.builder()
-                .monthlyRevenueChart(revenueChart)
-                .salesByCountry(salesByCountry)
-                .avgOrderValueINRPaise(avgOrderValue != null ? avgOrderValue : 0)
-                .topProducts(topProducts)
-                .rfqSuccessRate(0.0) // Will be updated by rfqOpportunityStats if needed
-                .totalProductViews(totalViews != null ? totalViews : 0)
-                .totalOrdersFromViews(totalOrders)
-                .globalConversionRate(conversionRate)
-                // New Metrics
-                .viewStats(getPeriodicStats(sellerId, "product_views", "viewed_at", true))
-                .inquiryStats(getPeriodicStats(sellerId, "chats", "created_at", false))
-                .topProductsByViews(getTopProductsByPerformance(sellerId, "VIEWS"))
-                .topProductsByInquiries(getTopProductsByPerformance(sellerId, "INQUIRIES"))
-                .rfqOpportunityStats(getRfqOpportunityStats(sellerId))
-                .topBuyerCountries(getTopBuyerCountries(sellerId))
-                .recentActivities(getRecentActivities(sellerId))
-                .build();
     }
 
-    private PeriodicStatsResponse getPeriodicStats(UUID sellerId, String table, String dateColumn, boolean joinProducts) {
-        String sql;
-        
-        if (joinProducts) {
-            sql = "SELECT " +
-                  "COUNT(*) as total, " +
-                  "COUNT(CASE WHEN t." + dateColumn + " >= ? THEN 1 END) as today, " +
-                  "COUNT(CASE WHEN t." + dateColumn + " >= ? THEN 1 END) as week, " +
-                  "COUNT(CASE WHEN t." + dateColumn + " >= ? THEN 1 END) as month " +
-                  "FROM " + table + " t JOIN products p ON p.id = t.product_id WHERE p.seller_id = ?";
-        } else {
-            sql = "SELECT " +
-                  "COUNT(*) as total, " +
-                  "COUNT(CASE WHEN " + dateColumn + " >= ? THEN 1 END) as today, " +
-                  "COUNT(CASE WHEN " + dateColumn + " >= ? THEN 1 END) as week, " +
-                  "COUNT(CASE WHEN " + dateColumn + " >= ? THEN 1 END) as month " +
-                  "FROM " + table + " WHERE seller_id = ? AND chat_type = 'INQUIRY_CHAT'";
+    /**
+     * Sets each product's estimated unique viewers over the days of the range, merged from
+     * the daily sketches.
+     */
+    private List<ProductSalesResponse> withUniqueViewers(List<ProductSalesResponse> products,
+                                                         LocalDateTime from, LocalDateTime to) {
+        Map<UUID, ViewSketchRepository.ViewSketches> sketches = sketchRepository.mergeRange(Scope.PRODUCT,
+                products.stream().map(ProductSalesResponse::getProductId).toList(), from.toLocalDate(), to.toLocalDate());
+        for (ProductSalesResponse product : products) {
+            ViewSketchRepository.ViewSketches sketch = sketches.get(product.getProductId());
+            product.setUniqueViewers(sketch != null ? sketch.viewers().estimate() : 0L);
         }
+        return products;
+    }
 
-        java.sql.Timestamp today = java.sql.Timestamp.from(Instant.now().truncatedTo(java.time.temporal.ChronoUnit.DAYS));
-        java.sql.Timestamp week = java.sql.Timestamp.from(Instant.now().minus(7, java.time.temporal.ChronoUnit.DAYS));
-        java.sql.Timestamp month = java.sql.Timestamp.from(Instant.now().minus(30, java.time.temporal.ChronoUnit.DAYS));
+    /**
+     * @param column 0 for product views, 1 for inquiry chats
+     */
+    private PeriodicStatsResponse periodicStats(Map<String, long[]> activity, int column) {
+        return PeriodicStatsResponse.builder()
+                .total(activityCount(activity, "total", column))
+                .today(activityCount(activity, "today", column))
+                .thisWeek(activityCount(activity, "week", column))
+                .thisMonth(activityCount(activity, "month", column))
+                .build();
+    }
 
-        return jdbcTemplate.queryForObject(sql, (rs, rowNum) -> PeriodicStatsResponse.builder()
-                .total(rs.getLong("total"))
-                .today(rs.getLong("today"))
-                .thisWeek(rs.getLong("week"))
-                .thisMonth(rs.getLong("month"))
-                .build(), today, week, month, sellerId);
+    private static long activityCount(Map<String, long[]> activity, String period, int column) {
+        long[] counts = activity.get(period);
+        return counts != null ? counts[column] : 0;
     }
 
-    private List<ProductPerformanceResponse> getTopProductsByPerformance(UUID sellerId, String type) {
-        String sql;
-        if ("VIEWS".equals(type)) {
-            sql = "SELECT p.id, p.name, COUNT(pv.id) as count FROM products p " +
-                  "JOIN product_views pv ON p.id = pv.product_id " +
-                  "WHERE p.seller_id = ? GROUP BY p.id, p.name ORDER BY count DESC LIMIT 5";
-        } else {
-            sql = "SELECT p.id, p.name, COUNT(c.id) as count FROM products p " +
-                  "JOIN chats c ON p.id = c.product_id AND c.chat_type = 'INQUIRY_CHAT' " +
-                  "WHERE p.seller_id = ? GROUP BY p.id, p.name ORDER BY count DESC LIMIT 5";
-        }
+    /**
+     * Product views and inquiry chats received by a seller in each of the named windows,
+     * as {views, inquiries}. All windows are answered by one UNION ALL statement.
+     */
+    private Map<String, long[]> countActivity(UUID sellerId, Map<String, RollupWindow> windows) {
+        List<String> parts = new ArrayList<>(windows.size());
+        List<Object> args = new ArrayList<>();
+        windows.forEach((name, window) -> {
+            Facts activity = facts(window, """
+                SELECT views, inquiries FROM analytics_seller_activity_daily WHERE seller_id = ? AND {range}
+            """, """
+                SELECT COUNT(*) AS views, 0 AS inquiries FROM product_views pv JOIN products p ON p.id = pv.product_id
+                WHERE p.seller_id = ? AND {range:pv.viewed_at}
+                UNION ALL
+                SELECT 0, COUNT(*) FROM chats
+                WHERE seller_id = ? AND chat_type = 'INQUIRY_CHAT' AND {range:created_at}
+            """, sellerId);
+            parts.add("SELECT '" + name + "' AS period, COALESCE(SUM(views), 0) AS views, "
+                    + "COALESCE(SUM(inquiries), 0) AS inquiries FROM " + activity.sql());
+            args.addAll(List.of(activity.args()));
+        });
+
+        Map<String, long[]> counts = new HashMap<>();
+        jdbcTemplate.query(String.join(" UNION ALL ", parts), rs -> {
+            counts.put(rs.getString("period"), new long[]{rs.getLong("views"), rs.getLong("inquiries")});
+        }, args.toArray());
+        return counts;
+    }
 
-        return jdbcTemplate.query(sql, (rs, rowNum) -> ProductPerformanceResponse.builder()
-                .productId(UUID.fromString(rs.getString("id")))
-                .title(rs.getString("name"))
-                .count(rs.getLong("count"))
-                .build(), sellerId);
+    /**
+     * Top five products by views and by inquiries, keyed "VIEWS" and "INQUIRIES", from one statement.
+     */
+    private Map<String, List<ProductPerformanceResponse>> getTopProductsByPerformance(UUID sellerId, RollupWindow window) {
+        Facts views = facts(window, """
+            SELECT product_id, views AS cnt FROM analytics_product_daily
+            WHERE seller_id = ? AND views > 0 AND {range}
+        """, """
+            SELECT pv.product_id, COUNT(*) AS cnt FROM product_views pv
+            JOIN products p ON p.id = pv.product_id
+            WHERE p.seller_id = ? AND {range:pv.viewed_at}
+            GROUP BY pv.product_id
+        """, sellerId);
+        Facts inquiries = facts(window, """
+            SELECT product_id, inquiries AS cnt FROM analytics_product_daily
+            WHERE seller_id = ? AND inquiries > 0 AND {range}
+        """, """
+            SELECT c.product_id, COUNT(*) AS cnt FROM chats c
+            JOIN products p ON p.id = c.product_id
+            WHERE p.seller_id = ? AND c.chat_type = 'INQUIRY_CHAT' AND {range:c.created_at}
+            GROUP BY c.product_id
+        """, sellerId);
+
+        String sql = """
+            SELECT kind, id, name, count FROM (
+                (SELECT 'VIEWS' as kind, p.id, p.name, SUM(f.cnt) as count FROM %s
+                 JOIN products p ON p.id = f.product_id
+                 GROUP BY p.id, p.name ORDER BY count DESC LIMIT 5)
+                UNION ALL
+                (SELECT 'INQUIRIES' as kind, p.id, p.name, SUM(f.cnt) as count FROM %s
+                 JOIN products p ON p.id = f.product_id
+                 GROUP BY p.id, p.name ORDER BY count DESC LIMIT 5)
+            ) as performance
+            ORDER BY kind, count DESC
+        """.formatted(views.sql(), inquiries.sql());
+
+        List<Object> args = new ArrayList<>(List.of(views.args()));
+        args.addAll(List.of(inquiries.args()));
+
+        Map<String, List<ProductPerformanceResponse>> top = new HashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            top.computeIfAbsent(rs.getString("kind"), k -> new ArrayList<>()).add(ProductPerformanceResponse.builder()
+                    .productId(UUID.fromString(rs.getString("id")))
+                    .title(rs.getString("name"))
+                    .count(rs.getLong("count"))
+                    .build());
+        }, args.toArray());
+        return top;
     }
 
     private RfqOpportunityStatsResponse getRfqOpportunityStats(UUID sellerId) {
-        String matchingSql = "SELECT COUNT(*) FROM rfqs r JOIN seller_export_categories sec ON sec.category_id = r.category_id WHERE sec.seller_id = ?";
-        String actionSql = "SELECT COUNT(*) as responded, COUNT(CASE WHEN status = 'ACCEPTED' THEN 1 END) as won FROM rfq_quotes WHERE seller_id = ?";
-
-        Long matching = jdbcTemplate.queryForObject(matchingSql, Long.class, sellerId);
-        Map<String, Object> actions = jdbcTemplate.queryForMap(actionSql, sellerId);
+        String sql = """
+            SELECT
+                (SELECT COUNT(*) FROM rfqs r JOIN seller_export_categories sec ON sec.category_id = r.category_id
+                 WHERE sec.seller_id = ?) as matching,
+                (SELECT COUNT(*) FROM rfq_quotes WHERE seller_id = ?) as responded,
+                (SELECT COUNT(*) FROM rfq_quotes WHERE seller_id = ? AND status = 'ACCEPTED') as won
+        """;
+        Map<String, Object> stats = jdbcTemplate.queryForMap(sql, sellerId, sellerId, sellerId);
 
         return RfqOpportunityStatsResponse.builder()
-                .matchingRfqs(matching)
-                .respondedRfqs(((Number) actions.get("responded")).longValue())
-                .wonRfqs(((Number) actions.get("won")).longValue())
+                .matchingRfqs(((Number) stats.get("matching")).longValue())
+                .respondedRfqs(((Number) stats.get("responded")).longValue())
+                .wonRfqs(((Number) stats.get("won")).longValue())
                 .build();
     }
 
@@ -440,7 +590,7 @@ public class AnalyticsRepository {
             SELECT type, description, ts FROM (
                 (SELECT 'PRODUCT_VIEW' as type, CONCAT('A buyer viewed your product: ', p.name) as description, pv.viewed_at as ts
                  FROM product_views pv JOIN products p ON p.id = pv.product_id 
-                 WHERE p.seller_id = ? 
+                 WHERE p.seller_id = ? AND pv.viewed_at >= ?
                  ORDER BY pv.viewed_at DESC LIMIT 5)
                 UNION ALL
                 (SELECT 'INQUIRY' as type, CONCAT('New inquiry received for: ', p.name) as description, c.created_at as ts
@@ -461,6 +611,127 @@ public class AnalyticsRepository {
                 .type(rs.getString("type"))
                 .description(rs.getString("description"))
                 .timestamp(rs.getTimestamp("ts").toInstant())
-                .build(), sellerId, sellerId, sellerId);
+                .build(), sellerId, LocalDateTime.now().minusDays(RECENT_VIEWS_LOOKBACK_DAYS), sellerId, sellerId);
+    }
+
+    // ==========================================
+    // ROLLUP + LIVE FACTS
+    // ==========================================
+
+    // {range} in a rollup query; {range:<timestamp column>} in a live query, optionally
+    // {range:<timestamp column>:<generated day column>} to also bound the day column
+    private static final Pattern RANGE = Pattern.compile("\\{range(?::([\\w.]+)(?::([\\w.]+))?)?}");
+    // {day:<timestamp column>:<generated day column>}: the day bucket of a live row, with a
+    // trailing :instant when the column is timestamp with time zone
+    private static final Pattern DAY = Pattern.compile("\\{day:([\\w.]+):([\\w.]+)(:instant)?}");
+
+    /** The condition and bind arguments a range token is replaced with. */
+    private record RangeSql(String predicate, List<Object> args) {
+    }
+
+    /** One row of a seller's orders grouped by creation day and status. */
+    private record OrderDayStatus(String date, String status, long orders, long revenuePaise) {
+    }
+
+    /**
+     * Splits the range into rolled-up days and live remainder; the whole range is computed
+     * live while the rollup job has not yet covered all of its closed days.
+     */
+    private RollupWindow window(RollupCoverage coverage, LocalDateTime from, LocalDateTime to) {
+        RollupWindow window = RollupWindow.of(from, to, LocalDate.now(AnalyticsDays.zone()));
+        if (window.hasRollup() && !coverage.covers(window.rollupFrom(), window.rollupTo())) {
+            return RollupWindow.liveOnly(from, to);
+        }
+        return window;
+    }
+
+    /**
+     * One derived table of rollup rows for the window's closed days UNION ALL the same columns
+     * aggregated live from raw rows for the rest. Each range token marks where the window's
+     * date condition goes and is bound after {@code filterArgs}, so every token must follow
+     * its own copy of the filter placeholders (a live query may UNION several sources).
+     * Live orders and disputes name their generated created_date column in range and day
+     * tokens, which is used once {@link AnalyticsDateColumnRepository} has created it.
+     */
+    private Facts facts(RollupWindow window, String rollupSql, String liveSql, Object... filterArgs) {
+        List<String> parts = new ArrayList<>(2);
+        List<Object> args = new ArrayList<>();
+        if (window.hasRollup()) {
+            parts.add(bindRange(rollupSql, (column, dayColumn) ->
+                    new RangeSql(window.rollupPredicate("rollup_date"), window.rollupArgs()), filterArgs, args));
+        }
+        boolean dayColumns = dateColumnRepository.isAvailable();
+        parts.add(bindRange(bucketDays(liveSql, dayColumns), (column, dayColumn) -> dayColumns && dayColumn != null
+                ? new RangeSql(window.livePredicate(column, dayColumn), storedArgs(window.liveArgs(true)))
+                : new RangeSql(window.livePredicate(column), storedArgs(window.liveArgs())), filterArgs, args));
+        return new Facts("(" + String.join(" UNION ALL ", parts) + ") f", args.toArray());
+    }
+
+    private static String bindRange(String sql, BiFunction<String, String, RangeSql> range,
+                                    Object[] filterArgs, List<Object> args) {
+        Matcher matcher = RANGE.matcher(sql);
+        StringBuilder bound = new StringBuilder();
+        while (matcher.find()) {
+            RangeSql rangeSql = range.apply(matcher.group(1), matcher.group(2));
+            matcher.appendReplacement(bound, Matcher.quoteReplacement(rangeSql.predicate()));
+            args.addAll(List.of(filterArgs));
+            args.addAll(rangeSql.args());
+        }
+        matcher.appendTail(bound);
+        return bound.toString();
+    }
+
+    /**
+     * Replace day tokens with the generated day column when it exists, else the expression it
+     * is generated from.
+     */
+    private static String bucketDays(String sql, boolean dayColumns) {
+        return DAY.matcher(sql).replaceAll(token -> Matcher.quoteReplacement(dayColumns ? token.group(2)
+                : token.group(3) != null ? AnalyticsDays.sqlDayOfInstant(token.group(1)) : AnalyticsDays.sqlDay(token.group(1))));
+    }
+
+    /**
+     * Live bounds are analytics-zone times; the columns are compared in the stored zone.
+     */
+    private static List<Object> storedArgs(List<Object> args) {
+        return args.stream()
+                .map(arg -> arg instanceof LocalDateTime time ? AnalyticsDays.toStored(time) : arg)
+                .toList();
+    }
+
+    private static String day(ResultSet rs) throws SQLException {
+        return rs.getObject("date", LocalDate.class).toString();
+    }
+
+    /**
+     * The seller's order counts and revenue per (day, status) — the single scan of orders every
+     * seller dashboard section is folded from.
+     */
+    private List<OrderDayStatus> sellerOrderGrid(UUID sellerId, RollupWindow window) {
+        Facts orders = facts(window, """
+            SELECT rollup_date, status, order_count, revenue_paise
+            FROM analytics_seller_order_daily
+            WHERE seller_id = ? AND {range}
+        """, """
+            SELECT {day:created_at:created_date} AS rollup_date, status, COUNT(*) AS order_count,
+                   COALESCE(SUM(total_amount_paise), 0) AS revenue_paise
+            FROM orders
+            WHERE seller_id = ? AND {range:created_at:created_date}
+            GROUP BY {day:created_at:created_date}, status
+        """, sellerId);
+
+        String sql = """
+            SELECT rollup_date as date, status,
+                   SUM(order_count) as count, SUM(revenue_paise) as revenue
+            FROM %s
+            GROUP BY rollup_date, status
+            ORDER BY rollup_date ASC
+        """.formatted(orders.sql());
+
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new OrderDayStatus(
+                day(rs),
+                rs.getString("status"),
+                rs.getLong("count"),
+                rs.getLong("revenue")), orders.args());
     }
 }
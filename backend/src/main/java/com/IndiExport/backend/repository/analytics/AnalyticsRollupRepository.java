@@ -0,0 +1,225 @@
+package com.IndiExport.backend.repository.analytics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Maintains the daily analytics rollup tables (entity.analytics). A day is rebuilt as a
+ * whole — its rows deleted and re-aggregated from the raw tables — so rebuilding is
+ * idempotent and a late change to an old order only costs one day's re-aggregation.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AnalyticsRollupRepository {
+
+    private static final List<String> ROLLUP_TABLES = List.of(
+            "analytics_seller_order_daily",
+            "analytics_buyer_order_daily",
+            "analytics_country_order_daily",
+            "analytics_product_daily",
+            "analytics_seller_activity_daily",
+            "analytics_dispute_daily");
+
+    // Views per product for one day: live rows, plus the archived counts of days whose
+    // product_views partition has been retired. Binds (start, end, day).
+    private static final String VIEWS_OF_DAY = """
+        SELECT product_id, COUNT(*) AS views FROM product_views
+        WHERE viewed_at >= ? AND viewed_at < ? GROUP BY product_id
+        UNION ALL
+        SELECT product_id, views FROM analytics_product_view_archive WHERE rollup_date = ?
+    """;
+
+    private static final Duration COVERAGE_TTL = Duration.ofMinutes(1);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private record CachedCoverage(RollupCoverage coverage, Instant loadedAt) {
+    }
+
+    private volatile CachedCoverage coverage;
+
+    /**
+     * Re-aggregate one day into every rollup table and mark it complete.
+     */
+    @Transactional
+    public void rebuildDay(LocalDate day) {
+        // The day is an analytics-zone day; rows are bounded by its stored-zone times
+        LocalDateTime start = AnalyticsDays.toStored(day.atStartOfDay());
+        LocalDateTime end = AnalyticsDays.toStored(day.plusDays(1).atStartOfDay());
+        String orderDay = AnalyticsDays.sqlDay("created_at");
+
+        for (String table : ROLLUP_TABLES) {
+            jdbcTemplate.update("DELETE FROM " + table + " WHERE rollup_date = ?", day);
+        }
+
+        jdbcTemplate.update("""
+            INSERT INTO analytics_seller_order_daily (rollup_date, seller_id, status, order_count, revenue_paise)
+            SELECT %1$s, seller_id, status, COUNT(*), COALESCE(SUM(total_amount_paise), 0)
+            FROM orders
+            WHERE created_at >= ? AND created_at < ?
+            GROUP BY %1$s, seller_id, status
+        """.formatted(orderDay), start, end);
+
+        jdbcTemplate.update("""
+            INSERT INTO analytics_buyer_order_daily (rollup_date, buyer_id, status, order_count, revenue_paise)
+            SELECT %1$s, buyer_id, status, COUNT(*), COALESCE(SUM(total_amount_paise), 0)
+            FROM orders
+            WHERE created_at >= ? AND created_at < ?
+            GROUP BY %1$s, buyer_id, status
+        """.formatted(orderDay), start, end);
+
+        jdbcTemplate.update("""
+            INSERT INTO analytics_country_order_daily (rollup_date, seller_id, buyer_country, order_count, revenue_paise)
+            SELECT %1$s, seller_id, buyer_country, COUNT(*), COALESCE(SUM(total_amount_paise), 0)
+            FROM orders
+            WHERE created_at >= ? AND created_at < ? AND status != 'CANCELLED'
+            GROUP BY %1$s, seller_id, buyer_country
+        """.formatted(orderDay), start, end);
+
+        jdbcTemplate.update("""
+            INSERT INTO analytics_product_daily
+                (rollup_date, product_id, seller_id, product_name, order_lines, revenue_paise, views, inquiries)
+            SELECT rollup_date, product_id, seller_id, MAX(product_name),
+                   SUM(order_lines), SUM(revenue_paise), SUM(views), SUM(inquiries)
+            FROM (
+                SELECT %2$s AS rollup_date, oi.product_id, o.seller_id,
+                       oi.product_name_snapshot AS product_name, COUNT(*) AS order_lines,
+                       COALESCE(SUM(oi.line_total_paise), 0) AS revenue_paise, 0 AS views, 0 AS inquiries
+                FROM order_items oi JOIN orders o ON o.id = oi.order_id
+                WHERE o.created_at >= ? AND o.created_at < ? AND o.status != 'CANCELLED'
+                GROUP BY %2$s, oi.product_id, o.seller_id, oi.product_name_snapshot
+                UNION ALL
+                SELECT CAST(? AS DATE), v.product_id, p.seller_id, NULL, 0, 0, SUM(v.views), 0
+                FROM (%1$s) v JOIN products p ON p.id = v.product_id
+                GROUP BY v.product_id, p.seller_id
+                UNION ALL
+                SELECT %3$s, c.product_id, p.seller_id, NULL, 0, 0, 0, COUNT(*)
+                FROM chats c JOIN products p ON p.id = c.product_id
+                WHERE c.chat_type = 'INQUIRY_CHAT' AND c.created_at >= ? AND c.created_at < ?
+                GROUP BY %3$s, c.product_id, p.seller_id
+            ) t
+            GROUP BY rollup_date, product_id, seller_id
+        """.formatted(VIEWS_OF_DAY, AnalyticsDays.sqlDay("o.created_at"), AnalyticsDays.sqlDayOfInstant("c.created_at")),
+                start, end, day, start, end, day, start, end);
+
+        jdbcTemplate.update("""
+            INSERT INTO analytics_seller_activity_daily (rollup_date, seller_id, views, inquiries)
+            SELECT rollup_date, seller_id, SUM(views), SUM(inquiries)
+            FROM (
+                SELECT CAST(? AS DATE) AS rollup_date, p.seller_id, SUM(v.views) AS views, 0 AS inquiries
+                FROM (%1$s) v JOIN products p ON p.id = v.product_id
+                GROUP BY p.seller_id
+                UNION ALL
+                SELECT %2$s, seller_id, 0, COUNT(*)
+                FROM chats
+                WHERE chat_type = 'INQUIRY_CHAT' AND created_at >= ? AND created_at < ?
+                GROUP BY %2$s, seller_id
+            ) t
+            GROUP BY rollup_date, seller_id
+        """.formatted(VIEWS_OF_DAY, AnalyticsDays.sqlDayOfInstant("created_at")), day, start, end, day, start, end);
+
+        jdbcTemplate.update("""
+            INSERT INTO analytics_dispute_daily (rollup_date, status, dispute_count)
+            SELECT %1$s, status, COUNT(*)
+            FROM disputes
+            WHERE created_at >= ? AND created_at < ?
+            GROUP BY %1$s, status
+        """.formatted(AnalyticsDays.sqlDayOfInstant("created_at")), start, end);
+
+        jdbcTemplate.update("DELETE FROM analytics_rollup_days WHERE rollup_date = ?", day);
+        jdbcTemplate.update("INSERT INTO analytics_rollup_days (rollup_date, rolled_up_at) VALUES (?, ?)",
+                day, LocalDateTime.now());
+        coverage = null;
+    }
+
+    /**
+     * Earliest day with any order, view (live or archived), inquiry or dispute — where backfilling starts.
+     */
+    public Optional<LocalDate> findEarliestActivityDay() {
+        List<LocalDate> minimums = jdbcTemplate.queryForObject("""
+            SELECT
+                (SELECT MIN(created_at) FROM orders),
+                (SELECT MIN(viewed_at) FROM product_views),
+                (SELECT MIN(created_at) FROM chats),
+                (SELECT MIN(created_at) FROM disputes),
+                (SELECT MIN(rollup_date) FROM analytics_product_view_archive)
+        """, (rs, rowNum) -> Arrays.asList(
+                // orders.created_at is stored-zone wall-clock time, the others are instants
+                storedDay(rs.getTimestamp(1)), instantDay(rs.getTimestamp(2)), instantDay(rs.getTimestamp(3)),
+                instantDay(rs.getTimestamp(4)), rs.getDate(5) != null ? rs.getDate(5).toLocalDate() : null));
+        return minimums.stream()
+                .filter(Objects::nonNull)
+                .min(LocalDate::compareTo);
+    }
+
+    private static LocalDate storedDay(Timestamp timestamp) {
+        return timestamp != null
+                ? AnalyticsDays.dayOf(timestamp.toLocalDateTime().atZone(AnalyticsDays.storedZone()).toInstant())
+                : null;
+    }
+
+    private static LocalDate instantDay(Timestamp timestamp) {
+        return timestamp != null ? AnalyticsDays.dayOf(timestamp.toInstant()) : null;
+    }
+
+    public Set<LocalDate> findRolledUpDays(LocalDate from, LocalDate to) {
+        return new HashSet<>(jdbcTemplate.query(
+                "SELECT rollup_date FROM analytics_rollup_days WHERE rollup_date >= ? AND rollup_date <= ?",
+                (rs, rowNum) -> rs.getDate(1).toLocalDate(), from, to));
+    }
+
+    public Optional<LocalDateTime> findLastRolledUpAt() {
+        Timestamp last = jdbcTemplate.queryForObject(
+                "SELECT MAX(rolled_up_at) FROM analytics_rollup_days", Timestamp.class);
+        return Optional.ofNullable(last).map(Timestamp::toLocalDateTime);
+    }
+
+    /**
+     * Days (by creation date) of the orders and disputes updated, and the views and
+     * inquiries recorded, after {@code since}.
+     */
+    public Set<LocalDate> findDaysChangedSince(LocalDateTime since) {
+        return new HashSet<>(jdbcTemplate.query("""
+            SELECT DISTINCT %1$s FROM orders WHERE updated_at > ?
+            UNION
+            SELECT DISTINCT %2$s FROM disputes WHERE updated_at > ?
+            UNION
+            SELECT DISTINCT %3$s FROM product_views WHERE viewed_at > ?
+            UNION
+            SELECT DISTINCT %2$s FROM chats WHERE created_at > ? AND chat_type = 'INQUIRY_CHAT'
+        """.formatted(AnalyticsDays.sqlDay("created_at"), AnalyticsDays.sqlDayOfInstant("created_at"),
+                AnalyticsDays.sqlDayOfInstant("viewed_at")),
+                (rs, rowNum) -> rs.getDate(1).toLocalDate(), since, since, since, since));
+    }
+
+    /**
+     * The days the rollups currently cover. Dashboards consult this on every request, so it
+     * is cached briefly; rebuilding a day drops the cache.
+     */
+    public RollupCoverage findCoverage() {
+        CachedCoverage cached = coverage;
+        if (cached != null && cached.loadedAt().plus(COVERAGE_TTL).isAfter(Instant.now())) {
+            return cached.coverage();
+        }
+        RollupCoverage fresh = new RollupCoverage(
+                findEarliestActivityDay().orElse(null),
+                Set.copyOf(jdbcTemplate.query("SELECT rollup_date FROM analytics_rollup_days",
+                        (rs, rowNum) -> rs.getDate(1).toLocalDate())));
+        coverage = new CachedCoverage(fresh, Instant.now());
+        return fresh;
+    }
+}
@@ -0,0 +1,54 @@
+package com.IndiExport.backend.repository.analytics;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded buffer between the view-tracking endpoint and the batch writer. Offering never
+ * blocks the request thread: when the buffer is full the view is dropped and counted, which
+ * is the back-pressure signal for an endpoint whose data is best-effort.
+ */
+public final class ProductViewBuffer {
+
+    private final ArrayBlockingQueue<ProductViewEvent> queue;
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    public ProductViewBuffer(int capacity) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    /**
+     * @return false if the buffer was full and the view was dropped
+     */
+    public boolean offer(ProductViewEvent event) {
+        if (queue.offer(event)) {
+            accepted.incrementAndGet();
+            return true;
+        }
+        dropped.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Move up to {@code maxEvents} buffered views into {@code batch}.
+     *
+     * @return how many were moved
+     */
+    public int drainTo(List<ProductViewEvent> batch, int maxEvents) {
+        return queue.drainTo(batch, maxEvents);
+    }
+
+    public int size() {
+        return queue.size();
+    }
+
+    public long acceptedCount() {
+        return accepted.get();
+    }
+
+    public long droppedCount() {
+        return dropped.get();
+    }
+}
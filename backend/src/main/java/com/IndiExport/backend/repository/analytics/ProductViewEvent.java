@@ -0,0 +1,15 @@
+package com.IndiExport.backend.repository.analytics;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A product page view waiting to be written to product_views.
+ *
+ * @param buyerId    null for guests
+ * @param country    ISO-2 code, "XX" when unknown
+ * @param viewerHash 64-bit hash identifying the viewer for unique-visitor sketches
+ *                   (the buyer id, or for guests the client address)
+ */
+public record ProductViewEvent(UUID productId, UUID buyerId, String country, Instant viewedAt, long viewerHash) {
+}
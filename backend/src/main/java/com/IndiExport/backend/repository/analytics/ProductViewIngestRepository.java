@@ -0,0 +1,44 @@
+package com.IndiExport.backend.repository.analytics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Writes buffered product views with one JDBC batch per flush. Rows reference products by
+ * id only; a view of a product that does not exist (or was deleted meanwhile) inserts no row
+ * instead of failing the batch on the foreign key.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProductViewIngestRepository {
+
+    private static final String INSERT_SQL = """
+        INSERT INTO product_views (id, product_id, buyer_id, country, viewed_at)
+        SELECT ?, p.id, ?, ?, ? FROM products p WHERE p.id = ?
+    """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * viewed_at is bound as a {@link Timestamp}: the PostgreSQL driver cannot infer a SQL type
+     * for a bare Instant.
+     *
+     * @return number of rows written
+     */
+    public int insertBatch(List<ProductViewEvent> events) {
+        List<Object[]> rows = events.stream()
+                .map(event -> new Object[]{
+                        UUID.randomUUID(), event.buyerId(), event.country(), Timestamp.from(event.viewedAt()),
+                        event.productId()})
+                .toList();
+        return Arrays.stream(jdbcTemplate.batchUpdate(INSERT_SQL, rows))
+                .map(count -> Math.max(count, 0))
+                .sum();
+    }
+}
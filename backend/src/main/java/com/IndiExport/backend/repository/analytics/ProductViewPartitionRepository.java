@@ -0,0 +1,139 @@
+package com.IndiExport.backend.repository.analytics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+
+import static com.IndiExport.backend.repository.analytics.ProductViewPartitions.TABLE;
+import static com.IndiExport.backend.repository.analytics.ProductViewPartitions.partitionName;
+
+/**
+ * DDL and data movement for the monthly partitions of product_views. Declarative
+ * partitioning is PostgreSQL-only; on other databases (H2 in tests) the table stays plain and
+ * retention deletes rows instead of dropping partitions.
+ *
+ * Partition bounds are written as local dates and interpreted in the session time zone, which
+ * the JDBC driver sets to the JVM's. Archived views are counted per analytics day
+ * ({@link AnalyticsDays}), which need not line up with those months: a day straddling two
+ * months is archived in two parts that add up.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProductViewPartitionRepository {
+
+    private static final String DEFAULT_PARTITION = TABLE + "_default";
+    private static final List<String> INDEXED_COLUMNS = List.of("product_id", "viewed_at", "country");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public boolean isPostgres() {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) con ->
+                "PostgreSQL".equals(con.getMetaData().getDatabaseProductName())));
+    }
+
+    /**
+     * Whether product_views is already a partitioned table. PostgreSQL only.
+     */
+    public boolean isPartitioned() {
+        List<String> kinds = jdbcTemplate.queryForList("""
+            SELECT c.relkind::text FROM pg_class c JOIN pg_namespace n ON n.oid = c.relnamespace
+            WHERE c.relname = ? AND n.nspname = current_schema()
+        """, String.class, TABLE);
+        return kinds.contains("p");
+    }
+
+    /**
+     * Replace the plain table Hibernate created with a partitioned one of the same columns,
+     * with a partition per month from the oldest view through {@code lastMonth} plus a default
+     * partition, and copy the rows across. Runs once, in one transaction.
+     */
+    @Transactional
+    public void convertToPartitioned(YearMonth lastMonth) {
+        YearMonth first = findOldestViewMonth().orElse(lastMonth);
+
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " RENAME TO " + TABLE + "_legacy");
+        // Index and constraint names are per schema; free them for the new table
+        for (String column : INDEXED_COLUMNS) {
+            jdbcTemplate.execute("DROP INDEX IF EXISTS idx_" + TABLE + "_" + column);
+        }
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + "_legacy RENAME CONSTRAINT " + TABLE + "_pkey TO " + TABLE + "_legacy_pkey");
+
+        jdbcTemplate.execute("CREATE TABLE " + TABLE + " (LIKE " + TABLE + "_legacy INCLUDING DEFAULTS INCLUDING CONSTRAINTS)"
+                + " PARTITION BY RANGE (viewed_at)");
+        // The partition key must be part of the primary key
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " ADD CONSTRAINT " + TABLE + "_pkey PRIMARY KEY (id, viewed_at)");
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " ADD CONSTRAINT fk_" + TABLE + "_product"
+                + " FOREIGN KEY (product_id) REFERENCES products (id)");
+        for (String column : INDEXED_COLUMNS) {
+            jdbcTemplate.execute("CREATE INDEX idx_" + TABLE + "_" + column + " ON " + TABLE + " (" + column + ")");
+        }
+
+        for (YearMonth month = first; !month.isAfter(lastMonth); month = month.plusMonths(1)) {
+            createPartition(month);
+        }
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + DEFAULT_PARTITION + " PARTITION OF " + TABLE + " DEFAULT");
+
+        jdbcTemplate.execute("INSERT INTO " + TABLE + " SELECT * FROM " + TABLE + "_legacy");
+        jdbcTemplate.execute("DROP TABLE " + TABLE + "_legacy");
+    }
+
+    public void createPartition(YearMonth month) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS %s PARTITION OF %s FOR VALUES FROM ('%s') TO ('%s')"
+                .formatted(partitionName(month), TABLE, month.atDay(1), month.plusMonths(1).atDay(1)));
+    }
+
+    /**
+     * Months that have a partition. PostgreSQL only.
+     */
+    public List<YearMonth> findPartitionMonths() {
+        return jdbcTemplate.queryForList("""
+            SELECT c.relname FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            JOIN pg_class parent ON parent.oid = i.inhparent
+            WHERE parent.relname = ?
+        """, String.class, TABLE).stream()
+                .map(ProductViewPartitions::parsePartitionName)
+                .flatMap(Optional::stream)
+                .toList();
+    }
+
+    public Optional<YearMonth> findOldestViewMonth() {
+        Timestamp oldest = jdbcTemplate.queryForObject("SELECT MIN(viewed_at) FROM " + TABLE, Timestamp.class);
+        return Optional.ofNullable(oldest).map(ts -> YearMonth.from(ts.toLocalDateTime()));
+    }
+
+    /**
+     * Fold a month's views into analytics_product_view_archive, then remove the month from
+     * product_views — dropping its partition when there is one. The views are removed in the
+     * same transaction, so no view is ever added to the archive twice.
+     */
+    @Transactional
+    public void retireMonth(YearMonth month, boolean partitioned) {
+        LocalDateTime start = month.atDay(1).atStartOfDay();
+        LocalDateTime end = month.plusMonths(1).atDay(1).atStartOfDay();
+
+        jdbcTemplate.update("""
+            INSERT INTO analytics_product_view_archive (rollup_date, product_id, views)
+            SELECT %1$s, product_id, COUNT(*)
+            FROM product_views
+            WHERE viewed_at >= ? AND viewed_at < ?
+            GROUP BY %1$s, product_id
+            ON CONFLICT (rollup_date, product_id)
+            DO UPDATE SET views = analytics_product_view_archive.views + EXCLUDED.views
+        """.formatted(AnalyticsDays.sqlDayOfInstant("viewed_at")), start, end);
+
+        if (partitioned) {
+            jdbcTemplate.execute("DROP TABLE IF EXISTS " + partitionName(month));
+        }
+        // Without partitions this is the whole removal; with them it clears strays in the default partition
+        jdbcTemplate.update("DELETE FROM " + TABLE + " WHERE viewed_at >= ? AND viewed_at < ?", start, end);
+    }
+}
@@ -0,0 +1,64 @@
+package com.IndiExport.backend.repository.analytics;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Naming and scheduling rules for the monthly partitions of product_views: one partition
+ * per calendar month, named {@code product_views_yYYYYmMM}, created {@code monthsAhead}
+ * months in advance and retired once the whole month is older than {@code retentionMonths}.
+ */
+public final class ProductViewPartitions {
+
+    static final String TABLE = "product_views";
+
+    private static final Pattern NAME = Pattern.compile(TABLE + "_y(\\d{4})m(\\d{2})");
+
+    private ProductViewPartitions() {
+    }
+
+    public static String partitionName(YearMonth month) {
+        return "%s_y%04dm%02d".formatted(TABLE, month.getYear(), month.getMonthValue());
+    }
+
+    /**
+     * @return the month a partition covers, or empty for other tables (e.g. the default partition)
+     */
+    public static Optional<YearMonth> parsePartitionName(String name) {
+        Matcher matcher = NAME.matcher(name);
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+        return Optional.of(YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2))));
+    }
+
+    /**
+     * Months from {@code first} (or the current month, if later) through the current month
+     * plus {@code monthsAhead}.
+     */
+    public static List<YearMonth> monthsToCreate(YearMonth first, YearMonth current, int monthsAhead) {
+        YearMonth start = first != null && first.isBefore(current) ? first : current;
+        List<YearMonth> months = new ArrayList<>();
+        for (YearMonth month = start; !month.isAfter(current.plusMonths(monthsAhead)); month = month.plusMonths(1)) {
+            months.add(month);
+        }
+        return months;
+    }
+
+    /**
+     * Existing months that fall entirely outside the retention period, oldest first. With
+     * 13 months of retention in March 2026, February 2025 and earlier are retired.
+     */
+    public static List<YearMonth> monthsToRetire(Collection<YearMonth> existing, YearMonth current, int retentionMonths) {
+        YearMonth oldestKept = current.minusMonths(retentionMonths - 1L);
+        return existing.stream()
+                .filter(month -> month.isBefore(oldestKept))
+                .sorted()
+                .toList();
+    }
+}
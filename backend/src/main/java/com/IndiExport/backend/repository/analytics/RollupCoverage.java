@@ -0,0 +1,32 @@
+package com.IndiExport.backend.repository.analytics;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Which closed days the rollup tables hold. Days before the first recorded activity never
+ * get a rollup row and need none.
+ *
+ * @param earliestActivityDay first day with any order, view, inquiry or dispute; null if there is none
+ * @param rolledUpDays        every day marked complete in analytics_rollup_days
+ */
+public record RollupCoverage(LocalDate earliestActivityDay, Set<LocalDate> rolledUpDays) {
+
+    /**
+     * Whether every day in {@code [from, to]} that can hold data has been rolled up.
+     *
+     * @param from first day, or null for "since the earliest activity"
+     */
+    public boolean covers(LocalDate from, LocalDate to) {
+        if (earliestActivityDay == null) {
+            return true; // No data at all, rollups and live agree
+        }
+        LocalDate first = from == null || from.isBefore(earliestActivityDay) ? earliestActivityDay : from;
+        for (LocalDate day = first; !day.isAfter(to); day = day.plusDays(1)) {
+            if (!rolledUpDays.contains(day)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,141 @@
+package com.IndiExport.backend.repository.analytics;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Splits a dashboard time range into the closed whole days that can be read from the
+ * daily rollup tables and the remainder that must be computed live from raw rows:
+ * a partial first day, and everything from the end of the last rolled-up day to {@code to}
+ * (which always includes today).
+ *
+ * Rollup days are {@code [rollupFrom, rollupTo]}; {@code rollupFrom == null} means unbounded.
+ * Live ranges are {@code [from, to)} except the last, which is {@code [from, to]} to match
+ * the inclusive BETWEEN of the original queries.
+ */
+public final class RollupWindow {
+
+    record LiveRange(LocalDateTime from, LocalDateTime to, boolean toInclusive) {
+    }
+
+    private final LocalDate rollupFrom;
+    private final LocalDate rollupTo;
+    private final List<LiveRange> liveRanges;
+
+    private RollupWindow(LocalDate rollupFrom, LocalDate rollupTo, List<LiveRange> liveRanges) {
+        this.rollupFrom = rollupFrom;
+        this.rollupTo = rollupTo;
+        this.liveRanges = liveRanges;
+    }
+
+    /**
+     * @param from  start of the range, or null for "since the beginning"
+     * @param to    end of the range (inclusive)
+     * @param today the current day; it is never read from rollups
+     */
+    public static RollupWindow of(LocalDateTime from, LocalDateTime to, LocalDate today) {
+        LocalDate first = null;
+        if (from != null) {
+            LocalDate fromDay = from.toLocalDate();
+            first = from.equals(fromDay.atStartOfDay()) ? fromDay : fromDay.plusDays(1);
+        }
+        LocalDate lastFullDay = to.toLocalDate().minusDays(1);
+        LocalDate last = lastFullDay.isBefore(today) ? lastFullDay : today.minusDays(1);
+        if (first != null && first.isAfter(last)) {
+            return liveOnly(from, to);
+        }
+
+        List<LiveRange> live = new ArrayList<>(2);
+        if (from != null && from.isBefore(first.atStartOfDay())) {
+            live.add(new LiveRange(from, first.atStartOfDay(), false));
+        }
+        live.add(new LiveRange(last.plusDays(1).atStartOfDay(), to, true));
+        return new RollupWindow(first, last, List.copyOf(live));
+    }
+
+    /**
+     * The whole range computed from raw rows, for when the rollups do not cover it.
+     */
+    public static RollupWindow liveOnly(LocalDateTime from, LocalDateTime to) {
+        return new RollupWindow(null, null, List.of(new LiveRange(from, to, true)));
+    }
+
+    public boolean hasRollup() {
+        return rollupTo != null;
+    }
+
+    public LocalDate rollupFrom() {
+        return rollupFrom;
+    }
+
+    public LocalDate rollupTo() {
+        return rollupTo;
+    }
+
+    List<LiveRange> liveRanges() {
+        return liveRanges;
+    }
+
+    /**
+     * SQL condition selecting the rollup days on a DATE column; binds {@link #rollupArgs()}.
+     */
+    public String rollupPredicate(String dateColumn) {
+        return rollupFrom == null
+                ? dateColumn + " <= ?"
+                : dateColumn + " >= ? AND " + dateColumn + " <= ?";
+    }
+
+    public List<Object> rollupArgs() {
+        return rollupFrom == null ? List.of(rollupTo) : List.of(rollupFrom, rollupTo);
+    }
+
+    /**
+     * SQL condition selecting the live ranges on a timestamp column; binds {@link #liveArgs()}.
+     */
+    public String livePredicate(String timeColumn) {
+        return liveRanges.stream()
+                .map(range -> "(" + (range.from() != null ? timeColumn + " >= ? AND " : "")
+                        + timeColumn + (range.toInclusive() ? " <= ?" : " < ?") + ")")
+                .collect(Collectors.joining(" OR ", "(", ")"));
+    }
+
+    /**
+     * As {@link #livePredicate(String)}, first bounding a DATE column that holds the day of
+     * {@code timeColumn}, so an index on (..., dayColumn, ...) can narrow the scan before the
+     * exact bounds apply. Binds {@link #liveArgs(boolean) liveArgs(true)}.
+     */
+    public String livePredicate(String timeColumn, String dayColumn) {
+        String days = liveRanges.get(0).from() != null
+                ? dayColumn + " >= ? AND " + dayColumn + " <= ?"
+                : dayColumn + " <= ?";
+        return "(" + days + " AND " + livePredicate(timeColumn) + ")";
+    }
+
+    public List<Object> liveArgs() {
+        return liveArgs(false);
+    }
+
+    /**
+     * @param withDayBounds whether the predicate is {@link #livePredicate(String, String)}
+     */
+    public List<Object> liveArgs(boolean withDayBounds) {
+        List<Object> args = new ArrayList<>(liveRanges.size() * 2 + 2);
+        if (withDayBounds) {
+            LocalDateTime first = liveRanges.get(0).from();
+            if (first != null) {
+                args.add(first.toLocalDate());
+            }
+            args.add(liveRanges.get(liveRanges.size() - 1).to().toLocalDate());
+        }
+        for (LiveRange range : liveRanges) {
+            if (range.from() != null) {
+                args.add(range.from());
+            }
+            args.add(range.to());
+        }
+        return args;
+    }
+}
@@ -9,11 +9,13 @@ import com.IndiExport.backend.exception.ResourceNotFoundException;
 import com.IndiExport.backend.repository.AuditLogRepository;
 import com.IndiExport.backend.repository.SellerKycRepository;
 import com.IndiExport.backend.repository.UserRepository;
+import com.IndiExport.backend.service.search.SellerVerificationChangedEvent;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -32,6 +34,7 @@ public class AdminVerificationService {
     private final UserRepository userRepository;
     private final AuditLogRepository auditLogRepository;
     private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     public List<SellerKycDto.AdminSellerKycResponse> getPendingSellers() {
         return sellerKycRepository.findPendingVerifications().stream()
@@ -64,6 +67,7 @@ public class AdminVerificationService {
         kyc.setVerifiedAt(LocalDateTime.now());
         kyc.setVerifiedBy(admin);
         sellerKycRepository.save(kyc);
+        eventPublisher.publishEvent(new SellerVerificationChangedEvent(sellerId, true));
 
         logAudit(admin, "SELLER_KYC", kyc.getId(), AuditLog.AuditAction.UPDATE, 
                 beforeState, kyc.getVerificationStatus().toString(), "Seller verified by admin");
@@ -86,6 +90,7 @@ public class AdminVerificationService {
         kyc.setVerificationStatus(SellerKyc.VerificationStatus.REJECTED);
         kyc.setRejectionReason(request.getReason());
         sellerKycRepository.save(kyc);
+        eventPublisher.publishEvent(new SellerVerificationChangedEvent(sellerId, false));
 
         logAudit(admin, "SELLER_KYC", kyc.getId(), AuditLog.AuditAction.UPDATE, 
                 beforeState, kyc.getVerificationStatus().toString(), "Seller rejected: " + request.getReason());
@@ -1,13 +1,31 @@
 package com.IndiExport.backend.service;
 
+import com.IndiExport.backend.dto.CurrencyDto;
 import com.IndiExport.backend.dto.ProductDto;
 import com.IndiExport.backend.entity.*;
+import com.IndiExport.backend.exception.CurrencyNotSupportedException;
+import com.IndiExport.backend.exception.ExchangeRateUnavailableException;
 import com.IndiExport.backend.repository.ProductRepository;
+import com.IndiExport.backend.service.search.ProductFacetIndex;
+import com.IndiExport.backend.service.search.ProductFacetSnapshot;
+import com.IndiExport.backend.service.search.ProductFilterCriteria;
+import com.IndiExport.backend.service.search.ProductFilterIndex;
+import com.IndiExport.backend.service.search.ProductFullTextSearch;
+import com.IndiExport.backend.service.search.ProductIdPage;
+import com.IndiExport.backend.service.search.ProductSearchCursor;
+import com.IndiExport.backend.service.search.ProductSearchIndex;
+import com.IndiExport.backend.service.search.ProductSearchResultCache;
+import com.IndiExport.backend.service.search.SearchHit;
+import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.Join;
 import jakarta.persistence.criteria.JoinType;
 import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.util.StringUtils;
 import org.springframework.data.domain.Pageable;
@@ -16,8 +34,15 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -26,54 +51,309 @@ import java.util.stream.Collectors;
 public class ProductSearchService {
 
     private final ProductRepository productRepository;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductFacetIndex productFacetIndex;
+    private final ProductFilterIndex productFilterIndex;
+    private final ProductSearchResultCache productSearchResultCache;
+    private final ObjectProvider<ProductFullTextSearch> productFullTextSearch;
     private final com.IndiExport.backend.service.currency.CurrencyService currencyService;
 
+    // "index" = in-memory inverted index, "fulltext" = PostgreSQL tsvector/GIN, "like" = SQL LIKE scan.
+    // index and fulltext fall back to LIKE whenever they cannot answer a query.
+    @Value("${search.keyword-engine:index}")
+    private String keywordEngine;
+
+    // Relevance ranking keeps only this many best matches, and no more keyword matches than this
+    // are sent to SQL as ids; beyond it the LIKE specification answers instead
+    @Value("${search.index.max-candidates:5000}")
+    private int maxCandidates;
+
     @Transactional(readOnly = true)
     public Page<ProductDto.BuyerProductCardResponse> searchProducts(
             ProductDto.ProductFilterRequest filter, String targetCurrency) {
+        Page<ProductDto.BuyerProductCardResponse> page = findProducts(filter).map(this::mapToCardResponse);
+        applyConvertedPrices(page.getContent(), targetCurrency);
+        return page;
+    }
+
+    /**
+     * Keyset-paginated search: each page continues after the cursor of the previous one
+     * instead of skipping OFFSET rows, and no COUNT query is issued.
+     *
+     * @param cursor nextCursor from the previous page, or null for the first page
+     */
+    @Transactional(readOnly = true)
+    public ProductDto.ProductCardCursorPage searchProductsByCursor(
+            ProductDto.ProductFilterRequest filter, String cursor, String targetCurrency) {
+        ProductSearchCursor.SortKey sortKey = ProductSearchCursor.SortKey.from(filter.getSortBy());
+        int size = Math.max(filter.getSize(), 1);
+
+        Specification<Product> spec = createSpecification(filter, true);
+        if (StringUtils.hasText(filter.getKeyword())) {
+            boolean matchAll = !"OR".equalsIgnoreCase(filter.getKeywordOperator());
+            // One hit past the cap is enough to know the ids are too many to bind
+            Optional<List<SearchHit>> hits = findKeywordHits(filter.getKeyword(), matchAll, maxCandidates + 1);
+            if (hits.isPresent() && hits.get().isEmpty()) {
+                return new ProductDto.ProductCardCursorPage(List.of(), null, false);
+            }
+            if (hits.isPresent() && hits.get().size() <= maxCandidates) {
+                spec = createSpecification(filter, false)
+                        .and(idIn(hits.get().stream().map(SearchHit::productId).toList()));
+            }
+            // Otherwise the LIKE specification matches the keyword and the seek stays a range scan
+        }
+        if (StringUtils.hasText(cursor)) {
+            spec = spec.and(ProductSearchCursor.decode(cursor, sortKey).seekAfter());
+        }
+
+        // One extra row tells us whether another page exists
+        List<UUID> ids = productRepository.findIds(spec, sortKey.sort(), 0, size + 1);
+        boolean hasNext = ids.size() > size;
+        List<Product> products = loadCardsInOrder(hasNext ? ids.subList(0, size) : ids);
+
+        String nextCursor = hasNext && !products.isEmpty()
+                ? ProductSearchCursor.after(sortKey, products.get(products.size() - 1)).encode()
+                : null;
+        List<ProductDto.BuyerProductCardResponse> cards = products.stream().map(this::mapToCardResponse).toList();
+        applyConvertedPrices(cards, targetCurrency);
+        return new ProductDto.ProductCardCursorPage(cards, nextCursor, hasNext);
+    }
+
+    /**
+     * Facet counts for the current filter set, answered from the in-memory facet snapshot.
+     * Each facet's counts ignore that facet's own filter, so every alternative value is shown.
+     */
+    @Transactional(readOnly = true)
+    public ProductDto.ProductFacetResponse getFacets(ProductDto.ProductFilterRequest filter) {
+        ProductFacetSnapshot snapshot = productFacetIndex.current();
+
+        Collection<UUID> keywordMatches = null;
+        if (StringUtils.hasText(filter.getKeyword())) {
+            boolean matchAll = !"OR".equalsIgnoreCase(filter.getKeywordOperator());
+            keywordMatches = findKeywordHits(filter.getKeyword(), matchAll, Integer.MAX_VALUE)
+                    .map(hits -> hits.stream().map(SearchHit::productId).toList())
+                    .orElseGet(() -> productRepository.findIds((root, query, cb) -> {
+                        query.distinct(true);
+                        return keywordLike(root, cb, filter.getKeyword());
+                    }));
+        }
+
+        ProductFacetSnapshot.Facets facets = snapshot.facets(ProductFilterCriteria.from(filter, keywordMatches));
+
+        List<ProductDto.FacetCount> categories = facets.categories().entrySet().stream()
+                .map(e -> new ProductDto.FacetCount(e.getKey().toString(), snapshot.categoryName(e.getKey()), e.getValue()))
+                .sorted(Comparator.comparingLong(ProductDto.FacetCount::getCount).reversed())
+                .toList();
+        List<ProductDto.FacetCount> incoterms = facets.incoterms().entrySet().stream()
+                .map(e -> new ProductDto.FacetCount(e.getKey().name(), e.getKey().name(), e.getValue()))
+                .toList();
+        List<ProductDto.FacetCount> originCountries = facets.originCountries().entrySet().stream()
+                .map(e -> new ProductDto.FacetCount(e.getKey(), e.getKey(), e.getValue()))
+                .toList();
+
+        List<ProductDto.FacetCount> priceBuckets = new ArrayList<>();
+        long[] floors = ProductFacetSnapshot.priceBucketFloorsPaise();
+        for (int b = 0; b < floors.length; b++) {
+            boolean last = b == floors.length - 1;
+            // value is "minPaise-maxPaise" (max omitted on the open-ended bucket) for minPricePaise/maxPricePaise
+            String value = last ? floors[b] + "-" : floors[b] + "-" + (floors[b + 1] - 1);
+            String label = last
+                    ? "₹" + floors[b] / 100 + "+"
+                    : "₹" + floors[b] / 100 + " - ₹" + floors[b + 1] / 100;
+            priceBuckets.add(new ProductDto.FacetCount(value, label, facets.priceBuckets()[b]));
+        }
+
+        List<ProductDto.FacetCount> ratingBuckets = new ArrayList<>();
+        int[] ratingFloors = ProductFacetSnapshot.ratingBucketFloors();
+        for (int b = 0; b < ratingFloors.length; b++) {
+            ratingBuckets.add(new ProductDto.FacetCount(
+                    String.valueOf(ratingFloors[b]), ratingFloors[b] + "★ & up", facets.ratingBuckets()[b]));
+        }
+
+        return ProductDto.ProductFacetResponse.builder()
+                .total(facets.total())
+                .categories(categories)
+                .incoterms(incoterms)
+                .originCountries(originCountries)
+                .priceBuckets(priceBuckets)
+                .ratingBuckets(ratingBuckets)
+                .snapshotAt(LocalDateTime.ofInstant(snapshot.builtAt(), ZoneId.systemDefault()))
+                .build();
+    }
+
+    /**
+     * Enrich a page of cards with converted prices, looking the exchange rate up once for
+     * the whole page rather than once per card.
+     */
+    private void applyConvertedPrices(List<ProductDto.BuyerProductCardResponse> cards, String targetCurrency) {
+        if (targetCurrency == null || targetCurrency.isBlank() || cards.isEmpty()) {
+            return;
+        }
+        long[] amountsPaise = cards.stream().mapToLong(ProductDto.BuyerProductCardResponse::getPricePaise).toArray();
+        try {
+            CurrencyDto.ConvertedPriceInfo[] converted = currencyService.convertAllFromINR(amountsPaise, targetCurrency);
+            for (int i = 0; i < converted.length; i++) {
+                cards.get(i).setConvertedPrice(converted[i]);
+            }
+        } catch (ExchangeRateUnavailableException | CurrencyNotSupportedException e) {
+            // No rate for the requested currency, skip enrichment
+        }
+    }
+
+    private Page<Product> findProducts(ProductDto.ProductFilterRequest filter) {
         Pageable pageable = createPageable(filter);
-        Specification<Product> spec = createSpecification(filter);
-
-        return productRepository.findAll(spec, pageable)
-                .map(product -> {
-                    ProductDto.BuyerProductCardResponse card = mapToCardResponse(product);
-                    // Enrich with converted price if currency is specified
-                    if (targetCurrency != null && !targetCurrency.isBlank()) {
-                        try {
-                            card.setConvertedPrice(currencyService.convertFromINR(
-                                    product.getPricePaise(), targetCurrency));
-                        } catch (Exception e) {
-                            // Price conversion failed, skip enrichment
-                        }
-                    }
-                    return card;
-                });
-    }
-
-    private Specification<Product> createSpecification(ProductDto.ProductFilterRequest filter) {
-        return (root, query, cb) -> {
-            // Fix N+1: Fetch media and seller eagerly for the card mapping
-            if (Long.class != query.getResultType()) { // Only fetch if not a count query
-                root.fetch("media", JoinType.LEFT);
-                root.fetch("seller", JoinType.INNER).fetch("kyc", JoinType.LEFT);
+        ProductIdPage page = productSearchResultCache.get(filter, () -> findProductIds(filter, pageable));
+        return new PageImpl<>(loadCardsInOrder(page.ids()), pageable, page.total());
+    }
+
+    private ProductIdPage findProductIds(ProductDto.ProductFilterRequest filter, Pageable pageable) {
+        List<SearchHit> hits = null;
+        if (StringUtils.hasText(filter.getKeyword())) {
+            boolean matchAll = !"OR".equalsIgnoreCase(filter.getKeywordOperator());
+            Optional<List<SearchHit>> found = findKeywordHits(filter.getKeyword(), matchAll,
+                    "relevance".equals(filter.getSortBy()) ? maxCandidates : Integer.MAX_VALUE);
+            if (found.isEmpty()) {
+                // LIKE keyword matching only exists in SQL
+                return findPage(createSpecification(filter, true), pageable);
             }
+            hits = found.get();
+        }
+
+        // Structured filters and sorting in memory; SQL only loads the cards of the final page
+        Optional<ProductIdPage> indexed = productFilterIndex.search(
+                ProductFilterCriteria.from(filter, hits == null ? null : hits.stream().map(SearchHit::productId).toList()),
+                "relevance".equals(filter.getSortBy()) && hits != null
+                        ? null
+                        : ProductSearchCursor.SortKey.find(filter.getSortBy()).orElse(ProductSearchCursor.SortKey.NEWEST),
+                pageable.getOffset(),
+                pageable.getPageSize());
+        if (indexed.isPresent()) {
+            return indexed.get();
+        }
+        if (hits != null && hits.size() > maxCandidates) {
+            // Too many ids to bind in SQL; LIKE matching needs none
+            return findPage(createSpecification(filter, true), pageable);
+        }
+
+        return hits != null
+                ? findRankedProducts(filter, hits, pageable)
+                : findPage(createSpecification(filter, true), pageable);
+    }
+
+    /**
+     * Phase 1 of the two-phase page load: filters, sort and LIMIT/OFFSET in SQL, returning
+     * only ids. Phase 2 ({@link #loadCardsInOrder}) fetches media, seller and KYC for those
+     * ids, so fetch joins never meet pagination and Hibernate cannot fall back to paging in
+     * memory (HHH000104).
+     */
+    private ProductIdPage findPage(Specification<Product> spec, Pageable pageable) {
+        // id as a final tie-breaker keeps page boundaries stable between requests
+        Sort sort = pageable.getSort().and(Sort.by(Sort.Direction.ASC, "id"));
+        List<UUID> ids = productRepository.findIds(spec, sort, pageable.getOffset(), pageable.getPageSize());
+        // Count is skipped when the page shows it is the last one
+        boolean lastPage = ids.size() < pageable.getPageSize() && (pageable.getOffset() == 0 || !ids.isEmpty());
+        long total = lastPage ? pageable.getOffset() + ids.size() : productRepository.count(spec);
+        return new ProductIdPage(ids, total);
+    }
+
+    /**
+     * @param limit the most hits to return, best first; {@code Integer.MAX_VALUE} when they
+     *              are only filtered in memory, where every match counts
+     */
+    private Optional<List<SearchHit>> findKeywordHits(String keyword, boolean matchAll, int limit) {
+        switch (keywordEngine.toLowerCase()) {
+            case "index":
+                return productSearchIndex.search(keyword, matchAll, limit);
+            case "fulltext":
+                ProductFullTextSearch fullTextSearch = productFullTextSearch.getIfAvailable();
+                return fullTextSearch != null
+                        ? fullTextSearch.search(keyword, matchAll, limit)
+                        : Optional.empty();
+            default:
+                return Optional.empty();
+        }
+    }
+
+    /**
+     * Keyword matches come from a search engine (index or full-text) as ranked ids; SQL only
+     * applies the structured filters to those candidate ids and loads a single page of rows.
+     */
+    private ProductIdPage findRankedProducts(
+            ProductDto.ProductFilterRequest filter, List<SearchHit> hits, Pageable pageable) {
+        if (hits.isEmpty()) {
+            return new ProductIdPage(List.of(), 0);
+        }
+
+        Map<UUID, Integer> rank = new HashMap<>();
+        for (int i = 0; i < hits.size(); i++) {
+            rank.put(hits.get(i).productId(), i);
+        }
+        Specification<Product> spec = createSpecification(filter, false).and(idIn(rank.keySet()));
+
+        if (!"relevance".equals(filter.getSortBy())) {
+            return findPage(spec, pageable);
+        }
+
+        // Relevance order only exists in memory: filter ids in SQL, rank and slice here
+        List<UUID> matching = new ArrayList<>(productRepository.findIds(spec));
+        matching.sort(Comparator.comparing(rank::get));
+        int from = (int) Math.min(pageable.getOffset(), matching.size());
+        List<UUID> pageIds = matching.subList(from, Math.min(from + pageable.getPageSize(), matching.size()));
+        return new ProductIdPage(List.copyOf(pageIds), matching.size());
+    }
+
+    /**
+     * Load products with the associations the card needs, in the given id order.
+     */
+    private List<Product> loadCardsInOrder(List<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<UUID, Integer> position = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            position.put(ids.get(i), i);
+        }
+        List<Product> products = new ArrayList<>(productRepository.findAll(withCardAssociations(ids)));
+        products.sort(Comparator.comparing(product -> position.get(product.getId())));
+        return products;
+    }
 
+    private Specification<Product> idIn(Collection<UUID> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+
+    private Specification<Product> withCardAssociations(Collection<UUID> ids) {
+        return (root, query, cb) -> {
+            root.fetch("media", JoinType.LEFT);
+            root.fetch("seller", JoinType.INNER).fetch("kyc", JoinType.LEFT);
+            query.distinct(true);
+            return root.get("id").in(ids);
+        };
+    }
+
+    private Predicate keywordLike(Root<Product> root, CriteriaBuilder cb, String keyword) {
+        String pattern = "%" + keyword.toLowerCase() + "%";
+        Join<Product, Tag> tagsJoin = root.join("tags", JoinType.LEFT);
+
+        Predicate namePred = cb.like(cb.lower(root.get("name")), pattern);
+        Predicate descPred = cb.like(cb.lower(root.get("description")), pattern);
+        Predicate brandPred = cb.like(cb.lower(root.get("brand")), pattern);
+        Predicate tagPred = cb.like(cb.lower(tagsJoin.get("name")), pattern);
+
+        return cb.or(namePred, descPred, brandPred, tagPred);
+    }
+
+    private Specification<Product> createSpecification(ProductDto.ProductFilterRequest filter, boolean keywordInSql) {
+        // Filters only: card associations are fetched separately, per page (see findPage)
+        return (root, query, cb) -> {
             List<Predicate> predicates = new ArrayList<>();
 
             // 1. Only ACTIVE products (Soft-delete is now handled by @Where)
             predicates.add(cb.equal(root.get("status"), Product.ProductStatus.ACTIVE));
 
-            // 2. Keyword search (name, description, brand, tags)
-            if (StringUtils.hasText(filter.getKeyword())) {
-                String pattern = "%" + filter.getKeyword().toLowerCase() + "%";
-                Join<Product, Tag> tagsJoin = root.join("tags", JoinType.LEFT);
-
-                Predicate namePred = cb.like(cb.lower(root.get("name")), pattern);
-                Predicate descPred = cb.like(cb.lower(root.get("description")), pattern);
-                Predicate brandPred = cb.like(cb.lower(root.get("brand")), pattern);
-                Predicate tagPred = cb.like(cb.lower(tagsJoin.get("name")), pattern);
-
-                predicates.add(cb.or(namePred, descPred, brandPred, tagPred));
+            // 2. Keyword search (name, description, brand, tags) unless already resolved by the index
+            if (keywordInSql && StringUtils.hasText(filter.getKeyword())) {
+                predicates.add(keywordLike(root, cb, filter.getKeyword()));
             }
 
             // 3. Category filter (ID or Name)
@@ -86,18 +366,12 @@ public class ProductSearchService {
             }
 
             // 4. Price range (Support both Paise and raw amount)
-            Long minPaise = filter.getMinPricePaise();
-            if (minPaise == null && filter.getMinPrice() != null) {
-                minPaise = (long) (filter.getMinPrice() * 100);
-            }
+            Long minPaise = filter.resolveMinPricePaise();
             if (minPaise != null) {
                 predicates.add(cb.greaterThanOrEqualTo(root.get("pricePaise"), minPaise));
             }
 
-            Long maxPaise = filter.getMaxPricePaise();
-            if (maxPaise == null && filter.getMaxPrice() != null) {
-                maxPaise = (long) (filter.getMaxPrice() * 100);
-            }
+            Long maxPaise = filter.resolveMaxPricePaise();
             if (maxPaise != null) {
                 predicates.add(cb.lessThanOrEqualTo(root.get("pricePaise"), maxPaise));
             }
@@ -135,6 +409,11 @@ public class ProductSearchService {
                 predicates.add(cb.equal(root.get("seller").get("id"), filter.getSellerId()));
             }
 
+            // 11. Origin country
+            if (StringUtils.hasText(filter.getOriginCountry())) {
+                predicates.add(cb.equal(cb.upper(root.get("originCountry")), filter.getOriginCountry().trim().toUpperCase()));
+            }
+
             // Ensure distinct results due to joins
             query.distinct(true);
             return cb.and(predicates.toArray(new Predicate[0]));
@@ -153,11 +432,14 @@ public class ProductSearchService {
                     sort = Sort.by(Sort.Direction.DESC, "pricePaise");
                     break;
                 case "rating":
-                    sort = Sort.by(Sort.Direction.DESC, "averageRating");
+                    sort = Sort.by(Sort.Direction.DESC, "averageRatingMilli");
                     break;
                 case "popularity":
                     sort = Sort.by(Sort.Direction.DESC, "totalOrders");
                     break;
+                case "relevance":
+                    // Ranked by findRankedProducts; newest-first when no search engine answers
+                    break;
             }
         }
 
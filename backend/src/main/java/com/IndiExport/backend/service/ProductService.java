@@ -4,22 +4,36 @@ import com.IndiExport.backend.dto.ProductDto;
 import com.IndiExport.backend.dto.CategoryDto;
 import com.IndiExport.backend.entity.Category;
 import com.IndiExport.backend.entity.Product;
+import com.IndiExport.backend.entity.ProductMedia;
 import com.IndiExport.backend.entity.SellerProfile;
 import com.IndiExport.backend.entity.Tag;
 import com.IndiExport.backend.entity.User;
 import com.IndiExport.backend.exception.ResourceNotFoundException;
 import com.IndiExport.backend.exception.ProductExceptions;
 import com.IndiExport.backend.repository.CategoryRepository;
+import com.IndiExport.backend.repository.ProductMediaRepository;
 import com.IndiExport.backend.repository.ProductRepository;
 import com.IndiExport.backend.repository.SellerProfileRepository;
 import com.IndiExport.backend.repository.TagRepository;
 import com.IndiExport.backend.repository.UserRepository;
+import com.IndiExport.backend.service.search.ProductChangedEvent;
+import com.IndiExport.backend.service.search.ProductSearchCursor;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -33,7 +47,9 @@ public class ProductService {
     private final TagRepository tagRepository;
     private final SellerPlanService sellerPlanService;
     private final UserRepository userRepository;
+    private final ProductMediaRepository productMediaRepository;
     private final com.IndiExport.backend.service.currency.CurrencyService currencyService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public ProductService(ProductRepository productRepository,
             SellerProfileRepository sellerProfileRepository,
@@ -41,14 +57,18 @@ public class ProductService {
             TagRepository tagRepository,
             SellerPlanService sellerPlanService,
             UserRepository userRepository,
-            com.IndiExport.backend.service.currency.CurrencyService currencyService) {
+            ProductMediaRepository productMediaRepository,
+            com.IndiExport.backend.service.currency.CurrencyService currencyService,
+            ApplicationEventPublisher eventPublisher) {
         this.productRepository = productRepository;
         this.sellerProfileRepository = sellerProfileRepository;
         this.categoryRepository = categoryRepository;
         this.tagRepository = tagRepository;
         this.sellerPlanService = sellerPlanService;
         this.userRepository = userRepository;
+        this.productMediaRepository = productMediaRepository;
         this.currencyService = currencyService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -91,6 +111,7 @@ public class ProductService {
         mapCategoriesAndTags(product, request.getCategoryIds(), request.getTagNames());
 
         Product savedProduct = productRepository.save(product);
+        eventPublisher.publishEvent(new ProductChangedEvent(savedProduct.getId()));
         return mapToResponse(savedProduct);
     }
 
@@ -151,6 +172,7 @@ public class ProductService {
         }
 
         Product updatedProduct = productRepository.save(product);
+        eventPublisher.publishEvent(new ProductChangedEvent(updatedProduct.getId()));
         return mapToResponse(updatedProduct);
     }
 
@@ -165,59 +187,100 @@ public class ProductService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * One page of the seller's catalogue (everything except DELETED), filtered, sorted and
+     * paginated in SQL. Only the listed columns are selected, plus media for the page's rows.
+     *
+     * @param statusStr a ProductStatus name, or null/"ALL" for every non-deleted status
+     * @param sortBy    newest (default), priceAsc, priceDesc, rating or popularity
+     */
     @Transactional(readOnly = true)
-    public org.springframework.data.domain.Page<ProductDto.ProductResponse> getSellerProducts(
-            UUID userId, int page, int size, String keyword, String statusStr) {
+    public Page<ProductDto.SellerProductListItem> getSellerProducts(
+            UUID userId, int page, int size, String keyword, String statusStr, String sortBy) {
+        SellerProfile seller = sellerProfileRepository.findByUserIdAndDeletedAtIsNull(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("SellerProfile", userId.toString()));
+
+        ProductSearchCursor.SortKey sortKey = ProductSearchCursor.SortKey.from(sortBy);
+        Specification<Product> spec = sellerListingSpecification(seller.getId(), keyword, statusStr);
+        Pageable pageable = PageRequest.of(page, size);
 
-        System.out.println("DEBUG: getSellerProducts called for userId: " + userId);
+        List<ProductDto.SellerProductListItem> items = productRepository.findSellerListing(
+                spec, sortKey.sort(), pageable.getOffset(), pageable.getPageSize());
+        attachMedia(items);
 
+        // The count query is skipped when this page already shows where the listing ends
+        return PageableExecutionUtils.getPage(items, pageable, () -> productRepository.count(spec));
+    }
+
+    /**
+     * Keyset-paginated variant of {@link #getSellerProducts(UUID, int, int, String, String, String)}:
+     * continues after the cursor of the previous page, with no OFFSET and no COUNT.
+     *
+     * @param cursor nextCursor from the previous page, or null for the first page
+     */
+    @Transactional(readOnly = true)
+    public ProductDto.SellerProductCursorPage getSellerProductsByCursor(
+            UUID userId, String cursor, int size, String keyword, String statusStr, String sortBy) {
         SellerProfile seller = sellerProfileRepository.findByUserIdAndDeletedAtIsNull(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("SellerProfile", userId.toString()));
-        System.out.println("DEBUG: Resolved sellerId: " + seller.getId());
 
-        // Fetch ALL active products (or all non-deleted)
-        // Using derived query method which is safer
-        List<Product> allProducts = productRepository.findBySellerIdAndStatusNot(seller.getId(),
-                Product.ProductStatus.DELETED);
-        System.out.println("DEBUG: Found " + allProducts.size() + " products in DB for seller.");
-
-        // Filter by status in memory
-        if (statusStr != null && !statusStr.isBlank() && !"ALL".equalsIgnoreCase(statusStr)) {
-            try {
-                Product.ProductStatus status = Product.ProductStatus.valueOf(statusStr);
-                allProducts = allProducts.stream()
-                        .filter(p -> p.getStatus() == status)
-                        .collect(Collectors.toList());
-            } catch (IllegalArgumentException e) {
-                // Ignore
-            }
+        ProductSearchCursor.SortKey sortKey = ProductSearchCursor.SortKey.from(sortBy);
+        int pageSize = Math.max(size, 1);
+        Specification<Product> spec = sellerListingSpecification(seller.getId(), keyword, statusStr);
+        if (StringUtils.hasText(cursor)) {
+            spec = spec.and(ProductSearchCursor.decode(cursor, sortKey).seekAfter());
         }
 
-        // Filter by keyword in memory
-        if (keyword != null && !keyword.isBlank()) {
-            String lowerKw = keyword.toLowerCase();
-            allProducts = allProducts.stream()
-                    .filter(p -> p.getName().toLowerCase().contains(lowerKw) ||
-                            (p.getBrand() != null && p.getBrand().toLowerCase().contains(lowerKw)))
-                    .collect(Collectors.toList());
+        // One extra row tells us whether another page exists
+        List<ProductDto.SellerProductListItem> items = productRepository.findSellerListing(
+                spec, sortKey.sort(), 0, pageSize + 1);
+        boolean hasNext = items.size() > pageSize;
+        if (hasNext) {
+            items = items.subList(0, pageSize);
         }
+        attachMedia(items);
 
-        // Sort by CreatedAt Desc
-        allProducts.sort((p1, p2) -> p2.getCreatedAt().compareTo(p1.getCreatedAt()));
+        String nextCursor = hasNext
+                ? ProductSearchCursor.after(sortKey, items.get(items.size() - 1)).encode()
+                : null;
+        return new ProductDto.SellerProductCursorPage(items, nextCursor, hasNext);
+    }
 
-        // Paginate
-        int start = Math.min((int) org.springframework.data.domain.PageRequest.of(page, size).getOffset(),
-                allProducts.size());
-        int end = Math.min((start + size), allProducts.size());
+    private Specification<Product> sellerListingSpecification(UUID sellerId, String keyword, String statusStr) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.equal(root.get("seller").get("id"), sellerId));
+            predicates.add(cb.notEqual(root.get("status"), Product.ProductStatus.DELETED));
+
+            if (statusStr != null && !statusStr.isBlank() && !"ALL".equalsIgnoreCase(statusStr)) {
+                try {
+                    predicates.add(cb.equal(root.get("status"), Product.ProductStatus.valueOf(statusStr)));
+                } catch (IllegalArgumentException e) {
+                    // Unknown status: list every status, as before
+                }
+            }
 
-        List<ProductDto.ProductResponse> userPageContent = allProducts.subList(start, end).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+            if (StringUtils.hasText(keyword)) {
+                String pattern = "%" + keyword.toLowerCase() + "%";
+                predicates.add(cb.or(
+                        cb.like(cb.lower(root.get("name")), pattern),
+                        cb.like(cb.lower(root.get("brand")), pattern)));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
 
-        return new org.springframework.data.domain.PageImpl<>(
-                userPageContent,
-                org.springframework.data.domain.PageRequest.of(page, size),
-                allProducts.size());
+    private void attachMedia(List<ProductDto.SellerProductListItem> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+        Map<UUID, List<ProductDto.ProductMediaResponse>> mediaByProduct = productMediaRepository
+                .findByProductIds(items.stream().map(ProductDto.SellerProductListItem::getId).toList())
+                .stream()
+                .collect(Collectors.groupingBy(m -> m.getProduct().getId(),
+                        Collectors.mapping(this::mapToMediaResponse, Collectors.toList())));
+        items.forEach(item -> item.setMedia(mediaByProduct.getOrDefault(item.getId(), List.of())));
     }
 
     @Transactional(readOnly = true)
@@ -256,6 +319,7 @@ public class ProductService {
         product.setStatus(Product.ProductStatus.DELETED);
         product.setDeletedAt(LocalDateTime.now());
         productRepository.save(product);
+        eventPublisher.publishEvent(new ProductChangedEvent(productId));
     }
 
     private void mapCategoriesAndTags(Product product, Set<UUID> categoryIds, Set<String> tagNames) {
@@ -308,14 +372,7 @@ public class ProductService {
         response.setTags(product.getTags().stream().map(Tag::getName).collect(Collectors.toList()));
 
         response.setMedia(product.getMedia() != null ? product.getMedia().stream()
-                .map(m -> {
-                    ProductDto.ProductMediaResponse pmr = new ProductDto.ProductMediaResponse();
-                    pmr.setId(m.getId());
-                    pmr.setUrl(m.getMediaUrl());
-                    pmr.setType(m.getMediaType());
-                    pmr.setDisplayOrder(m.getDisplayOrder());
-                    return pmr;
-                })
+                .map(this::mapToMediaResponse)
                 .collect(Collectors.toList()) : List.of());
 
         response.setAverageRating(product.getAverageRatingMilli() / 1000.0);
@@ -330,4 +387,13 @@ public class ProductService {
 
         return response;
     }
+
+    private ProductDto.ProductMediaResponse mapToMediaResponse(ProductMedia m) {
+        ProductDto.ProductMediaResponse pmr = new ProductDto.ProductMediaResponse();
+        pmr.setId(m.getId());
+        pmr.setUrl(m.getMediaUrl());
+        pmr.setType(m.getMediaType());
+        pmr.setDisplayOrder(m.getDisplayOrder());
+        return pmr;
+    }
 }
@@ -1,6 +1,7 @@
 package com.IndiExport.backend.service;
 
 import com.IndiExport.backend.repository.ProductSuggestionsRepository;
+import com.IndiExport.backend.service.search.ProductSuggestionIndex;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
@@ -15,12 +16,15 @@ import java.util.List;
 public class ProductSuggestionsService {
 
     private final ProductSuggestionsRepository productSuggestionsRepository;
+    private final ProductSuggestionIndex productSuggestionIndex;
 
     @Transactional(readOnly = true)
     public List<String> getSuggestions(String keyword) {
         if (!StringUtils.hasText(keyword)) {
             return new ArrayList<>();
         }
-        return productSuggestionsRepository.findSuggestions(keyword, PageRequest.of(0, 10));
+        // Served from memory; the LIKE query only covers the window before the index is built
+        return productSuggestionIndex.suggest(keyword)
+                .orElseGet(() -> productSuggestionsRepository.findSuggestions(keyword, PageRequest.of(0, 10)));
     }
 }
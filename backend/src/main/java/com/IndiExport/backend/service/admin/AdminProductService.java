@@ -5,7 +5,9 @@ import com.IndiExport.backend.dto.admin.UpdateProductStatusRequest;
 import com.IndiExport.backend.entity.Product;
 import com.IndiExport.backend.exception.ResourceNotFoundException;
 import com.IndiExport.backend.repository.ProductRepository;
+import com.IndiExport.backend.service.search.ProductChangedEvent;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -18,6 +20,7 @@ import java.util.UUID;
 public class AdminProductService {
 
     private final ProductRepository productRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public Page<AdminProductResponse> getAllProducts(Pageable pageable) {
@@ -31,7 +34,9 @@ public class AdminProductService {
 
         product.setStatus(request.getStatus());
         // In a real app, we'd store the rejection reason in a separate audit log or notification
-        return mapToAdminResponse(productRepository.save(product));
+        Product saved = productRepository.save(product);
+        eventPublisher.publishEvent(new ProductChangedEvent(saved.getId()));
+        return mapToAdminResponse(saved);
     }
 
     private AdminProductResponse mapToAdminResponse(Product product) {
@@ -0,0 +1,104 @@
+package com.IndiExport.backend.service.analytics;
+
+import com.IndiExport.backend.dto.analytics.AdminDashboardAnalyticsResponse;
+import com.IndiExport.backend.repository.analytics.AnalyticsDays;
+import com.IndiExport.backend.repository.analytics.AnalyticsRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Precomputes the admin dashboard for the standard "last N days" ranges on a schedule and
+ * serves them from memory. Each snapshot covers {@code [start of (today - N), refresh time]}
+ * and carries its refresh time in {@code snapshotAt}.
+ *
+ * A request is answered from a snapshot when it ends at or after the refresh time and starts
+ * within {@link #START_SLACK} of the snapshot's start — the slack absorbs the browser computing
+ * "start of day" in its own time zone. Other ranges, and every range while the snapshots are
+ * older than three refresh intervals, are computed live.
+ */
+@Service
+@Slf4j
+public class AdminKpiSnapshotService {
+
+    private final AnalyticsRepository analyticsRepository;
+    private final boolean enabled;
+    private final List<Integer> periodDays;
+    private final Duration maxAge;
+
+    // Less than the 24 h between the starts of neighbouring day-aligned ranges
+    static final Duration START_SLACK = Duration.ofHours(14);
+
+    private record Snapshot(Instant from, AdminDashboardAnalyticsResponse response) {
+    }
+
+    private record Snapshots(List<Snapshot> periods, Instant takenAt) {
+    }
+
+    private volatile Snapshots snapshots;
+
+    public AdminKpiSnapshotService(
+            AnalyticsRepository analyticsRepository,
+            @Value("${analytics.admin-snapshot.enabled:true}") boolean enabled,
+            @Value("${analytics.admin-snapshot.period-days:7,30,90}") List<Integer> periodDays,
+            @Value("${analytics.admin-snapshot.interval-ms:300000}") long intervalMs) {
+        this.analyticsRepository = analyticsRepository;
+        this.enabled = enabled;
+        this.periodDays = List.copyOf(periodDays);
+        this.maxAge = Duration.ofMillis(intervalMs * 3);
+    }
+
+    @Scheduled(fixedDelayString = "${analytics.admin-snapshot.interval-ms:300000}",
+            initialDelayString = "${analytics.admin-snapshot.initial-delay-ms:20000}")
+    public void scheduledRefresh() {
+        if (enabled) {
+            refresh();
+        }
+    }
+
+    /**
+     * Recompute every snapshot now.
+     *
+     * @return the refresh time
+     */
+    public synchronized Instant refresh() {
+        long start = System.currentTimeMillis();
+        Instant now = Instant.now();
+        LocalDate today = AnalyticsDays.dayOf(now);
+
+        List<Snapshot> periods = new ArrayList<>(periodDays.size());
+        for (int days : periodDays) {
+            Instant from = AnalyticsDays.startOf(today.minusDays(days));
+            AdminDashboardAnalyticsResponse response = analyticsRepository.getAdminAnalytics(from, now);
+            response.setSnapshotAt(now);
+            periods.add(new Snapshot(from, response));
+        }
+        snapshots = new Snapshots(List.copyOf(periods), now);
+
+        log.info("Admin KPI snapshots refreshed for {} period(s) in {} ms", periods.size(), System.currentTimeMillis() - start);
+        return now;
+    }
+
+    /**
+     * The snapshot that answers {@code [from, to]}, if there is a fresh one.
+     */
+    public Optional<AdminDashboardAnalyticsResponse> find(Instant from, Instant to) {
+        Snapshots current = snapshots;
+        if (!enabled || current == null || to.isBefore(current.takenAt())
+                || current.takenAt().plus(maxAge).isBefore(Instant.now())) {
+            return Optional.empty();
+        }
+        return current.periods().stream()
+                .filter(snapshot -> Duration.between(snapshot.from(), from).abs().compareTo(START_SLACK) <= 0)
+                .map(Snapshot::response)
+                .findFirst();
+    }
+}
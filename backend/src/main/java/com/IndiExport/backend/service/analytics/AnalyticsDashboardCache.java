@@ -0,0 +1,165 @@
+package com.IndiExport.backend.service.analytics;
+
+import com.IndiExport.backend.event.OrderChangedEvent;
+import com.IndiExport.backend.repository.analytics.AnalyticsDays;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Short-lived LRU cache of buyer and seller dashboard responses, keyed by profile, day-aligned
+ * range and display currency. Ranges are widened to whole days in the analytics time zone ({@link AnalyticsDays}), so
+ * reloading a dashboard during the day hits the same entry; callers compute misses over the
+ * widened range ({@link DayRange}).
+ *
+ * Entries expire after the TTL (today's views and inquiries keep arriving), and an
+ * {@link OrderChangedEvent} drops the buyer's and seller's entries at once.
+ */
+@Component
+public class AnalyticsDashboardCache {
+
+    public enum Endpoint {
+        BUYER, SELLER, ADVANCED_SELLER
+    }
+
+    /** A range widened to {@code [start of fromDay, end of toDay]}. */
+    public record DayRange(LocalDate fromDay, LocalDate toDay) {
+
+        public static DayRange of(Instant from, Instant to) {
+            return new DayRange(AnalyticsDays.dayOf(from), AnalyticsDays.dayOf(to));
+        }
+
+        public Instant from() {
+            return AnalyticsDays.startOf(fromDay);
+        }
+
+        public Instant to() {
+            return AnalyticsDays.startOf(toDay.plusDays(1)).minusNanos(1);
+        }
+    }
+
+    /** Hit/miss counters of one endpoint. */
+    public record EndpointStats(Endpoint endpoint, long hits, long misses) {
+        public double hitRate() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0 : (double) hits / lookups;
+        }
+    }
+
+    /** Per-endpoint counters and occupancy, for the admin stats endpoint. */
+    public record Stats(List<EndpointStats> endpoints, long evictions, long invalidations, int size, int maxEntries) {
+    }
+
+    record Key(Endpoint endpoint, UUID profileId, DayRange range, String currency) {
+    }
+
+    private record Entry(Object response, long expiresAtNanos) {
+    }
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final Map<Key, Entry> entries;
+    private final Map<Endpoint, long[]> counters = new EnumMap<>(Endpoint.class);
+
+    // Bumped on every invalidation so a response computed before it is not stored after it
+    private long generation;
+    private long evictions;
+    private long invalidations;
+
+    public AnalyticsDashboardCache(
+            @Value("${analytics.dashboard-cache.max-entries:5000}") int maxEntries,
+            @Value("${analytics.dashboard-cache.ttl-ms:60000}") long ttlMs) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttlMs * 1_000_000;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if (size() > AnalyticsDashboardCache.this.maxEntries) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+        for (Endpoint endpoint : Endpoint.values()) {
+            counters.put(endpoint, new long[2]); // {hits, misses}
+        }
+    }
+
+    /**
+     * Cached response, or the loader's result (stored unless invalidated meanwhile). The
+     * loader runs outside the cache lock, so concurrent misses for one key may both load.
+     */
+    public <T> T get(Endpoint endpoint, UUID profileId, DayRange range, String currency, Supplier<T> loader) {
+        return get(endpoint, profileId, range, currency, loader, response -> true);
+    }
+
+    /**
+     * As {@link #get(Endpoint, UUID, DayRange, String, Supplier)}, storing the loaded response
+     * only if {@code storable} accepts it (e.g. not a partially degraded dashboard).
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(Endpoint endpoint, UUID profileId, DayRange range, String currency, Supplier<T> loader,
+                     Predicate<? super T> storable) {
+        if (maxEntries <= 0) {
+            return loader.get();
+        }
+
+        Key key = new Key(endpoint, profileId, range, currency);
+        long loadGeneration;
+        synchronized (this) {
+            Entry cached = entries.get(key);
+            if (cached != null && cached.expiresAtNanos() - System.nanoTime() > 0) {
+                counters.get(endpoint)[0]++;
+                return (T) cached.response();
+            }
+            counters.get(endpoint)[1]++;
+            loadGeneration = generation;
+        }
+
+        T response = loader.get();
+        synchronized (this) {
+            if (generation == loadGeneration && storable.test(response)) {
+                entries.put(key, new Entry(response, System.nanoTime() + ttlNanos));
+            }
+        }
+        return response;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrderChanged(OrderChangedEvent event) {
+        invalidateProfiles(event.buyerProfileId(), event.sellerProfileId());
+    }
+
+    public synchronized void invalidateProfiles(UUID... profileIds) {
+        List<UUID> ids = Arrays.asList(profileIds);
+        generation++;
+        invalidations++;
+        entries.keySet().removeIf(key -> ids.contains(key.profileId()));
+    }
+
+    public synchronized void invalidate() {
+        generation++;
+        invalidations++;
+        entries.clear();
+    }
+
+    public synchronized Stats stats() {
+        List<EndpointStats> endpoints = counters.entrySet().stream()
+                .map(e -> new EndpointStats(e.getKey(), e.getValue()[0], e.getValue()[1]))
+                .toList();
+        return new Stats(endpoints, evictions, invalidations, entries.size(), maxEntries);
+    }
+}
@@ -0,0 +1,43 @@
+package com.IndiExport.backend.service.analytics;
+
+import com.IndiExport.backend.repository.analytics.AnalyticsDateColumnRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * Adds the generated created_date columns and their indexes once Hibernate has created the
+ * tables (see {@link AnalyticsDateColumnRepository}). Failure is not fatal: the dashboard
+ * queries keep bucketing with the expression the columns are generated from.
+ */
+@Service
+@Slf4j
+public class AnalyticsDateColumnService {
+
+    private final AnalyticsDateColumnRepository dateColumnRepository;
+    private final boolean enabled;
+
+    public AnalyticsDateColumnService(
+            AnalyticsDateColumnRepository dateColumnRepository,
+            @Value("${analytics.date-columns.enabled:true}") boolean enabled) {
+        this.dateColumnRepository = dateColumnRepository;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createDateColumns() {
+        if (!enabled || !dateColumnRepository.isPostgres()) {
+            return;
+        }
+        try {
+            if (!dateColumnRepository.refreshAvailability()) {
+                log.info("Adding generated created_date columns for analytics day bucketing");
+            }
+            dateColumnRepository.createDateColumns();
+        } catch (RuntimeException e) {
+            log.error("Could not create analytics created_date columns: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.IndiExport.backend.service.analytics;
+
+import com.IndiExport.backend.repository.analytics.AnalyticsDays;
+import com.IndiExport.backend.repository.analytics.AnalyticsExportRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Builds the order exports as response bodies that write each row to the servlet output
+ * stream as it is read from the database. Nothing is queried until the body runs on the MVC
+ * async executor, so access and range checks happen before it is returned.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AnalyticsExportService {
+
+    // Flush to the client every this many rows, so a long export shows progress
+    private static final int FLUSH_EVERY_ROWS = 5000;
+
+    private final AnalyticsExportRepository exportRepository;
+
+    /**
+     * @param sellerId the seller whose orders to export, or null for the whole platform
+     */
+    public StreamingResponseBody orders(UUID sellerId, AnalyticsExportWriter.Format format, Instant from, Instant to) {
+        // orders.created_at holds stored-zone wall-clock time
+        LocalDateTime fromLdt = AnalyticsDays.toStored(from);
+        LocalDateTime toLdt = AnalyticsDays.toStored(to);
+
+        return outputStream -> {
+            BufferedWriter out = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            AnalyticsExportWriter writer = AnalyticsExportWriter.create(format, out, AnalyticsExportRepository.ORDER_COLUMNS);
+            Object[] row = new Object[AnalyticsExportRepository.ORDER_COLUMNS.size()];
+            long[] written = {0};
+            try {
+                exportRepository.streamOrders(sellerId, fromLdt, toLdt, rs -> {
+                    Timestamp createdAt = rs.getTimestamp("created_at");
+                    row[0] = rs.getString("order_number");
+                    row[1] = createdAt != null ? createdAt.toLocalDateTime() : null;
+                    row[2] = rs.getString("status");
+                    row[3] = rs.getObject("seller_id", UUID.class);
+                    row[4] = rs.getString("buyer_country");
+                    row[5] = rs.getString("shipping_country");
+                    row[6] = rs.getString("currency_code");
+                    row[7] = rs.getLong("total_amount_paise");
+                    row[8] = rs.getLong("item_count");
+                    row[9] = rs.getLong("total_quantity");
+                    try {
+                        writer.writeRow(row);
+                        if (++written[0] % FLUSH_EVERY_ROWS == 0) {
+                            writer.flush();
+                        }
+                    } catch (IOException e) {
+                        // Client went away; abort the query rather than reading the rest
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                log.debug("Order export aborted after {} rows: {}", written[0], e.getCause().getMessage());
+                throw e.getCause();
+            }
+            writer.flush();
+            log.debug("Order export for {} wrote {} rows", sellerId != null ? sellerId : "platform", written[0]);
+        };
+    }
+}
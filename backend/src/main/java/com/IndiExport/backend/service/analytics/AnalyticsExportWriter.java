@@ -0,0 +1,163 @@
+package com.IndiExport.backend.service.analytics;
+
+import com.IndiExport.backend.exception.ValidationException;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Writes export rows one at a time to a character stream, so an export never holds more than
+ * the current row. Values are strings, numbers, temporals (written in ISO-8601) or null.
+ */
+public abstract class AnalyticsExportWriter {
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String contentType() {
+            return contentType;
+        }
+
+        public String extension() {
+            return extension;
+        }
+
+        public static Format parse(String value) {
+            if (value == null || value.isBlank()) {
+                return CSV;
+            }
+            try {
+                return Format.valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new ValidationException("format", "must be one of csv, ndjson");
+            }
+        }
+    }
+
+    protected final Writer out;
+    protected final List<String> columns;
+
+    protected AnalyticsExportWriter(Writer out, List<String> columns) {
+        this.out = out;
+        this.columns = List.copyOf(columns);
+    }
+
+    public static AnalyticsExportWriter create(Format format, Writer out, List<String> columns) throws IOException {
+        AnalyticsExportWriter writer = format == Format.NDJSON ? new Ndjson(out, columns) : new Csv(out, columns);
+        writer.start();
+        return writer;
+    }
+
+    protected void start() throws IOException {
+    }
+
+    /**
+     * @param values one per column, in column order
+     */
+    public abstract void writeRow(Object[] values) throws IOException;
+
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    static final class Csv extends AnalyticsExportWriter {
+
+        Csv(Writer out, List<String> columns) {
+            super(out, columns);
+        }
+
+        @Override
+        protected void start() throws IOException {
+            writeRow(columns.toArray());
+        }
+
+        @Override
+        public void writeRow(Object[] values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                if (values[i] != null) {
+                    out.write(escape(values[i]));
+                }
+            }
+            out.write("\r\n");
+        }
+
+        private static String escape(Object value) {
+            if (value instanceof Number) {
+                return value.toString();
+            }
+            String text = value.toString();
+            // Text starting with a formula character would be evaluated when opened in a spreadsheet
+            if (!text.isEmpty() && "=+-@\t\r".indexOf(text.charAt(0)) >= 0) {
+                text = "'" + text;
+            }
+            if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+                return '"' + text.replace("\"", "\"\"") + '"';
+            }
+            return text;
+        }
+    }
+
+    static final class Ndjson extends AnalyticsExportWriter {
+
+        Ndjson(Writer out, List<String> columns) {
+            super(out, columns);
+        }
+
+        @Override
+        public void writeRow(Object[] values) throws IOException {
+            out.write('{');
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                writeString(columns.get(i));
+                out.write(':');
+                Object value = values[i];
+                if (value == null) {
+                    out.write("null");
+                } else if (value instanceof Number || value instanceof Boolean) {
+                    out.write(value.toString());
+                } else {
+                    writeString(value.toString());
+                }
+            }
+            out.write("}\n");
+        }
+
+        private void writeString(String text) throws IOException {
+            out.write('"');
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                switch (c) {
+                    case '"' -> out.write("\\\"");
+                    case '\\' -> out.write("\\\\");
+                    case '\n' -> out.write("\\n");
+                    case '\r' -> out.write("\\r");
+                    case '\t' -> out.write("\\t");
+                    default -> {
+                        if (c < 0x20) {
+                            out.write(String.format("\\u%04x", (int) c));
+                        } else {
+                            out.write(c);
+                        }
+                    }
+                }
+            }
+            out.write('"');
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.IndiExport.backend.service.analytics;
+
+import com.IndiExport.backend.repository.analytics.AnalyticsDays;
+import com.IndiExport.backend.repository.analytics.AnalyticsRollupRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * Keeps the daily analytics rollups current. Each run rebuilds:
+ * <ul>
+ *   <li>every closed day (before today) that has no rollup yet — the backfill on first
+ *       start, then each day as it closes;</li>
+ *   <li>every closed day whose orders or disputes were updated, or that received late
+ *       views or inquiries, since the previous run.</li>
+ * </ul>
+ * Today is never rolled up; dashboards compute it live.
+ */
+@Service
+@Slf4j
+public class AnalyticsRollupService {
+
+    // Re-scan a little before the last run to catch transactions that committed after it
+    // with an earlier updated_at
+    private static final long WATERMARK_OVERLAP_MINUTES = 2;
+
+    private final AnalyticsRollupRepository rollupRepository;
+    private final boolean enabled;
+
+    private LocalDateTime watermark;
+
+    public AnalyticsRollupService(
+            AnalyticsRollupRepository rollupRepository,
+            @Value("${analytics.rollup.enabled:true}") boolean enabled) {
+        this.rollupRepository = rollupRepository;
+        this.enabled = enabled;
+    }
+
+    @Scheduled(fixedDelayString = "${analytics.rollup.interval-ms:300000}",
+            initialDelayString = "${analytics.rollup.initial-delay-ms:10000}")
+    public synchronized void refresh() {
+        if (!enabled) {
+            return;
+        }
+        // The watermark is compared with stored times, the days are analytics days
+        LocalDateTime startedAt = LocalDateTime.now();
+        LocalDate today = LocalDate.now(AnalyticsDays.zone());
+        LocalDate yesterday = today.minusDays(1);
+
+        SortedSet<LocalDate> days = new TreeSet<>();
+
+        Optional<LocalDate> earliest = rollupRepository.findEarliestActivityDay();
+        if (earliest.isPresent() && !earliest.get().isAfter(yesterday)) {
+            Set<LocalDate> rolledUp = rollupRepository.findRolledUpDays(earliest.get(), yesterday);
+            for (LocalDate day = earliest.get(); !day.isAfter(yesterday); day = day.plusDays(1)) {
+                if (!rolledUp.contains(day)) {
+                    days.add(day);
+                }
+            }
+        }
+
+        if (watermark == null) {
+            watermark = rollupRepository.findLastRolledUpAt().orElse(null);
+        }
+        if (watermark != null) {
+            rollupRepository.findDaysChangedSince(watermark.minusMinutes(WATERMARK_OVERLAP_MINUTES)).stream()
+                    .filter(day -> day.isBefore(today))
+                    .forEach(days::add);
+        }
+
+        if (days.isEmpty()) {
+            watermark = startedAt;
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        for (LocalDate day : days) {
+            rollupRepository.rebuildDay(day);
+        }
+        watermark = startedAt;
+        log.info("Analytics rollups rebuilt for {} day(s) [{} .. {}] in {} ms",
+                days.size(), days.first(), days.last(), System.currentTimeMillis() - start);
+    }
+}
@@ -3,25 +3,23 @@ package com.IndiExport.backend.service.analytics;
 import com.IndiExport.backend.service.currency.CurrencyConversionService;
 
 import com.IndiExport.backend.dto.analytics.*;
-import com.IndiExport.backend.entity.Product;
-import com.IndiExport.backend.entity.ProductView;
 import com.IndiExport.backend.entity.SellerPlan;
 import com.IndiExport.backend.entity.SellerProfile;
 import com.IndiExport.backend.exception.AnalyticsAccessDeniedException;
 import com.IndiExport.backend.exception.InvalidDateRangeException;
 import com.IndiExport.backend.exception.ResourceNotFoundException;
 import com.IndiExport.backend.repository.BuyerProfileRepository;
-import com.IndiExport.backend.repository.ProductRepository;
-import com.IndiExport.backend.repository.ProductViewRepository;
 import com.IndiExport.backend.repository.SellerProfileRepository;
 import com.IndiExport.backend.repository.analytics.AnalyticsRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.List;
 import java.util.UUID;
 
 @Service
@@ -32,8 +30,10 @@ public class AnalyticsService {
     private final AnalyticsRepository analyticsRepository;
     private final SellerProfileRepository sellerProfileRepository;
     private final BuyerProfileRepository buyerProfileRepository;
-    private final ProductViewRepository productViewRepository;
-    private final ProductRepository productRepository;
+    private final ProductViewIngestionService productViewIngestionService;
+    private final AdminKpiSnapshotService adminKpiSnapshotService;
+    private final AnalyticsDashboardCache dashboardCache;
+    private final AnalyticsExportService exportService;
     private final CurrencyConversionService currencyService;
 
     // Maximum allowed date range for standard queries (e.g., 1 year)
@@ -46,32 +46,59 @@ public class AnalyticsService {
         var buyerProfile = buyerProfileRepository.findByUserId(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Buyer profile not found"));
         
-        BuyerDashboardAnalyticsResponse response = analyticsRepository.getBuyerAnalytics(buyerProfile.getId(), from, to);
         String prefCurrency = buyerProfile.getPreferredCurrency() != null ? buyerProfile.getPreferredCurrency() : "INR";
-        response.setPreferredCurrency(prefCurrency);
+        AnalyticsDashboardCache.DayRange range = AnalyticsDashboardCache.DayRange.of(from, to);
 
-        if (!"INR".equals(prefCurrency)) {
-            if (response.getTotalSpending() != null && response.getTotalSpending() > 0) {
-                long converted = currencyService.convertFromINR(response.getTotalSpending(), prefCurrency).convertedAmountMinor();
-                response.setTotalSpending(converted);
+        return dashboardCache.get(AnalyticsDashboardCache.Endpoint.BUYER, buyerProfile.getId(), range, prefCurrency, () -> {
+            BuyerDashboardAnalyticsResponse response =
+                    analyticsRepository.getBuyerAnalytics(buyerProfile.getId(), range.from(), range.to());
+            response.setPreferredCurrency(prefCurrency);
+
+            if (!"INR".equals(prefCurrency)) {
+                convertSpending(response, prefCurrency);
             }
-            if (response.getSpendingOverTime() != null) {
-                response.getSpendingOverTime().forEach(point -> {
-                    if (point.getValue() != null && point.getValue() > 0) {
-                        point.setValue(currencyService.convertFromINR(point.getValue(), prefCurrency).convertedAmountMinor());
-                    }
-                });
+            return response;
+        });
+    }
+
+    /**
+     * Converts every INR amount on the buyer dashboard (total, chart points, recent orders) in
+     * one batch, so the exchange rate is resolved once per response instead of once per value.
+     */
+    private void convertSpending(BuyerDashboardAnalyticsResponse response, String currency) {
+        List<ChartPointResponse> points = response.getSpendingOverTime() != null ? response.getSpendingOverTime() : List.of();
+        List<AnalyticsOrderSummaryDTO> orders = response.getLastOrders() != null ? response.getLastOrders() : List.of();
+
+        // Layout: [total, points..., orders...]; nulls go in as 0 and are left untouched
+        long[] amounts = new long[1 + points.size() + orders.size()];
+        amounts[0] = orZero(response.getTotalSpending());
+        for (int i = 0; i < points.size(); i++) {
+            amounts[1 + i] = orZero(points.get(i).getValue());
+        }
+        for (int i = 0; i < orders.size(); i++) {
+            amounts[1 + points.size() + i] = orZero(orders.get(i).getTotal());
+        }
+
+        long[] converted = currencyService.convertFromINR(amounts, currency).convertedAmountsMinor();
+
+        if (amounts[0] > 0) {
+            response.setTotalSpending(converted[0]);
+        }
+        for (int i = 0; i < points.size(); i++) {
+            if (amounts[1 + i] > 0) {
+                points.get(i).setValue(converted[1 + i]);
             }
-            if (response.getLastOrders() != null) {
-                response.getLastOrders().forEach(order -> {
-                    if (order.getTotal() != null && order.getTotal() > 0) {
-                        order.setTotal(currencyService.convertFromINR(order.getTotal(), prefCurrency).convertedAmountMinor());
-                    }
-                });
+        }
+        for (int i = 0; i < orders.size(); i++) {
+            int slot = 1 + points.size() + i;
+            if (amounts[slot] > 0) {
+                orders.get(i).setTotal(converted[slot]);
             }
         }
-        
-        return response;
+    }
+
+    private static long orZero(Long value) {
+        return value != null ? value : 0L;
     }
 
     @Transactional(readOnly = true)
@@ -81,14 +108,17 @@ public class AnalyticsService {
         var sellerProfile = sellerProfileRepository.findByUserId(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Seller profile not found"));
         
-        return analyticsRepository.getSellerAnalytics(sellerProfile.getId(), from, to);
+        AnalyticsDashboardCache.DayRange range = AnalyticsDashboardCache.DayRange.of(from, to);
+        return dashboardCache.get(AnalyticsDashboardCache.Endpoint.SELLER, sellerProfile.getId(), range, "INR",
+                () -> analyticsRepository.getSellerAnalytics(sellerProfile.getId(), range.from(), range.to()));
     }
 
     @Transactional(readOnly = true)
     public AdminDashboardAnalyticsResponse getAdminAnalytics(Instant from, Instant to) {
         validateDateRange(from, to);
         // Admin has global view, no profile check needed
-        return analyticsRepository.getAdminAnalytics(from, to);
+        return adminKpiSnapshotService.find(from, to)
+                .orElseGet(() -> analyticsRepository.getAdminAnalytics(from, to));
     }
 
     @Transactional(readOnly = true)
@@ -104,22 +134,44 @@ public class AnalyticsService {
             throw new AnalyticsAccessDeniedException("This feature requires an ADVANCED_SELLER plan.");
         }
         
-        return analyticsRepository.getAdvancedSellerAnalytics(sellerProfile.getId(), from, to);
+        AnalyticsDashboardCache.DayRange range = AnalyticsDashboardCache.DayRange.of(from, to);
+        return dashboardCache.get(AnalyticsDashboardCache.Endpoint.ADVANCED_SELLER, sellerProfile.getId(), range, "INR",
+                () -> analyticsRepository.getAdvancedSellerAnalytics(sellerProfile.getId(), range.from(), range.to()),
+                response -> response.getDegradedSections() == null || response.getDegradedSections().isEmpty());
     }
     
-    @Transactional
-    public void recordProductView(UUID productId, UUID buyerId, String country) {
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new ResourceNotFoundException("Product not found"));
-                
-        ProductView view = ProductView.builder()
-                .product(product)
-                .buyerId(buyerId) // Nullable
-                .country(country != null ? country : "XX")
-                .viewedAt(Instant.now())
-                .build();
-                
-        productViewRepository.save(view);
+    /**
+     * The seller's orders in {@code [from, to]} as a streamed export. The seller profile is
+     * resolved here, before the response starts.
+     */
+    @Transactional(readOnly = true)
+    public StreamingResponseBody exportSellerOrders(UUID userId, AnalyticsExportWriter.Format format, Instant from, Instant to) {
+        validateDateRange(from, to);
+
+        var sellerProfile = sellerProfileRepository.findByUserId(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Seller profile not found"));
+        return exportService.orders(sellerProfile.getId(), format, from, to);
+    }
+
+    public StreamingResponseBody exportPlatformOrders(AnalyticsExportWriter.Format format, Instant from, Instant to) {
+        validateDateRange(from, to);
+        return exportService.orders(null, format, from, to);
+    }
+
+    /**
+     * Queue a product view for the batched writer. Unknown product ids are discarded when the
+     * batch is written rather than looked up here.
+     */
+    public void recordProductView(UUID productId, UUID buyerId, String country, String clientAddress) {
+        productViewIngestionService.enqueue(productId, buyerId, country, clientAddress);
+    }
+
+    public Instant refreshAdminSnapshot() {
+        return adminKpiSnapshotService.refresh();
+    }
+
+    public ProductViewIngestionService.IngestionStats getProductViewIngestionStats() {
+        return productViewIngestionService.getStats();
     }
 
     private void validateDateRange(Instant from, Instant to) {
@@ -0,0 +1,105 @@
+package com.IndiExport.backend.service.analytics;
+
+import com.IndiExport.backend.repository.analytics.ProductViewBuffer;
+import com.IndiExport.backend.repository.analytics.ProductViewEvent;
+import com.IndiExport.backend.repository.analytics.ProductViewIngestRepository;
+import com.IndiExport.backend.repository.analytics.ViewSketchRepository;
+import com.IndiExport.backend.util.HyperLogLog;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records product page views off the request path. The endpoint only enqueues into a
+ * bounded {@link ProductViewBuffer}; a scheduled writer drains it and inserts the views in
+ * JDBC batches, folding each batch into the daily unique-viewer sketches as well. Views that
+ * arrive while the buffer is full are dropped and counted.
+ */
+@Service
+@Slf4j
+public class ProductViewIngestionService {
+
+    private final ProductViewIngestRepository ingestRepository;
+    private final ViewSketchRepository sketchRepository;
+    private final ProductViewBuffer buffer;
+    private final int batchSize;
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    private long droppedAtLastFlush;
+
+    public ProductViewIngestionService(
+            ProductViewIngestRepository ingestRepository,
+            ViewSketchRepository sketchRepository,
+            @Value("${analytics.views.buffer-capacity:50000}") int bufferCapacity,
+            @Value("${analytics.views.batch-size:500}") int batchSize) {
+        this.ingestRepository = ingestRepository;
+        this.sketchRepository = sketchRepository;
+        this.buffer = new ProductViewBuffer(bufferCapacity);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Queue a view for the next flush; never blocks.
+     *
+     * @param clientAddress identifies guests for unique-viewer counts; only its hash is kept
+     * @return false if the view was dropped because the buffer is full
+     */
+    public boolean enqueue(UUID productId, UUID buyerId, String country, String clientAddress) {
+        long viewerHash = buyerId != null
+                ? HyperLogLog.hash(buyerId)
+                : HyperLogLog.hash("guest:" + (clientAddress != null ? clientAddress : ""));
+        return buffer.offer(new ProductViewEvent(
+                productId, buyerId, country != null ? country : "XX", Instant.now(), viewerHash));
+    }
+
+    @Scheduled(fixedDelayString = "${analytics.views.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        List<ProductViewEvent> batch = new ArrayList<>(batchSize);
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            try {
+                written.addAndGet(ingestRepository.insertBatch(batch));
+            } catch (RuntimeException e) {
+                failed.addAndGet(batch.size());
+                log.error("Failed to write {} product views: {}", batch.size(), e.getMessage());
+            }
+            try {
+                sketchRepository.addViews(batch);
+            } catch (RuntimeException e) {
+                log.error("Failed to update unique-viewer sketches for {} product views: {}", batch.size(), e.getMessage());
+            }
+            batch.clear();
+        }
+
+        long dropped = buffer.droppedCount();
+        if (dropped > droppedAtLastFlush) {
+            log.warn("Product view buffer full: dropped {} views since last flush ({} total)",
+                    dropped - droppedAtLastFlush, dropped);
+            droppedAtLastFlush = dropped;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    public IngestionStats getStats() {
+        return new IngestionStats(buffer.acceptedCount(), buffer.droppedCount(), written.get(), failed.get(), buffer.size());
+    }
+
+    /**
+     * Counters since startup. Accepted views that are not yet written, failed or pending were
+     * skipped because their product no longer exists.
+     */
+    public record IngestionStats(long accepted, long dropped, long written, long failed, int pending) {
+    }
+}
@@ -0,0 +1,88 @@
+package com.IndiExport.backend.service.analytics;
+
+import com.IndiExport.backend.repository.analytics.ProductViewPartitionRepository;
+import com.IndiExport.backend.repository.analytics.ProductViewPartitions;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Keeps product_views partitioned by month and bounded in size. Each run:
+ * <ul>
+ *   <li>converts the table to monthly range partitions on first start (PostgreSQL only);</li>
+ *   <li>creates the partitions for the coming months ahead of time;</li>
+ *   <li>retires months past retention: their per-product daily view counts go to
+ *       analytics_product_view_archive, which the rollup rebuild reads, and the month is
+ *       dropped.</li>
+ * </ul>
+ */
+@Service
+@Slf4j
+public class ProductViewPartitionService {
+
+    private final ProductViewPartitionRepository partitionRepository;
+    private final boolean enabled;
+    private final int monthsAhead;
+    private final int retentionMonths;
+
+    public ProductViewPartitionService(
+            ProductViewPartitionRepository partitionRepository,
+            @Value("${analytics.views.partitioning.enabled:true}") boolean enabled,
+            @Value("${analytics.views.partitioning.months-ahead:3}") int monthsAhead,
+            @Value("${analytics.views.retention-months:13}") int retentionMonths) {
+        this.partitionRepository = partitionRepository;
+        this.enabled = enabled;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+    }
+
+    @Scheduled(fixedDelayString = "${analytics.views.partitioning.interval-ms:21600000}",
+            initialDelayString = "${analytics.views.partitioning.initial-delay-ms:15000}")
+    public synchronized void maintain() {
+        if (!enabled) {
+            return;
+        }
+        YearMonth current = YearMonth.now();
+        boolean partitioned = false;
+
+        if (partitionRepository.isPostgres()) {
+            try {
+                if (!partitionRepository.isPartitioned()) {
+                    log.info("Converting product_views to monthly partitions");
+                    partitionRepository.convertToPartitioned(current.plusMonths(monthsAhead));
+                }
+                partitioned = true;
+                for (YearMonth month : ProductViewPartitions.monthsToCreate(null, current, monthsAhead)) {
+                    partitionRepository.createPartition(month);
+                }
+            } catch (RuntimeException e) {
+                // e.g. rows for a new month already sitting in the default partition
+                log.error("product_views partition maintenance failed: {}", e.getMessage());
+            }
+        }
+
+        Set<YearMonth> existing = new TreeSet<>();
+        if (partitioned) {
+            existing.addAll(partitionRepository.findPartitionMonths());
+        }
+        partitionRepository.findOldestViewMonth().ifPresent(oldest -> {
+            for (YearMonth month = oldest; month.isBefore(current); month = month.plusMonths(1)) {
+                existing.add(month);
+            }
+        });
+
+        List<YearMonth> retired = ProductViewPartitions.monthsToRetire(existing, current, retentionMonths);
+        for (YearMonth month : retired) {
+            partitionRepository.retireMonth(month, partitioned);
+        }
+        if (!retired.isEmpty()) {
+            log.info("Archived and dropped product_views for {} month(s): {}", retired.size(), retired);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.IndiExport.backend.service.currency;
+
+import java.math.BigInteger;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * INR conversion factors of one {@link ExchangeRateSnapshot}, precomputed when the snapshot
+ * is built (once per rate refresh) into flat arrays, so converting an amount allocates
+ * nothing: no upper-casing, no set or map lookup, no multiplier
+ * loop, no result object.
+ *
+ * A currency code maps to its slot through a dense 26^3 index of the code's letters (either
+ * case). Per slot the table holds:
+ * <pre>
+ *   toMinorFactor   = rateMicros * targetMultiplier    (INR paise → target minor, over 10^8)
+ *   toPaiseDivisor  = targetMultiplier * rateMicros    (target minor → INR paise, 10^8 over it)
+ * </pre>
+ * which is the combined formula documented on {@link CurrencyConversionService}, evaluated in
+ * exact integer arithmetic with half-up rounding. Products that overflow a long fall back to
+ * BigInteger, which only amounts beyond any real order reach.
+ */
+public final class ConversionTable {
+
+    /** inrMultiplier (100) * 1_000_000 micros */
+    static final long SCALE = 100_000_000L;
+
+    private static final int LETTERS = 26;
+
+    private final short[] slotByCode = new short[LETTERS * LETTERS * LETTERS];
+    private final String[] codes;
+    private final long[] rateMicros;
+    private final long[] multipliers;
+    private final long[] factors;
+    private final Instant fetchedAt;
+    private final String providerName;
+
+    ConversionTable(Map<String, Long> ratesMicros, Instant fetchedAt, String providerName) {
+        this.fetchedAt = fetchedAt;
+        this.providerName = providerName;
+        Arrays.fill(slotByCode, (short) -1);
+
+        codes = ratesMicros.keySet().stream().sorted().toArray(String[]::new);
+        rateMicros = new long[codes.length];
+        multipliers = new long[codes.length];
+        factors = new long[codes.length];
+        for (int slot = 0; slot < codes.length; slot++) {
+            String code = codes[slot];
+            int index = indexOf(code);
+            if (index < 0) {
+                throw new IllegalArgumentException("Not an ISO 4217 code: " + code);
+            }
+            slotByCode[index] = (short) slot;
+            rateMicros[slot] = ratesMicros.get(code);
+            multipliers[slot] = CurrencyMetadata.getMinorUnitMultiplier(code);
+            factors[slot] = Math.multiplyExact(rateMicros[slot], multipliers[slot]);
+        }
+    }
+
+    static ConversionTable of(Map<String, Long> ratesMicros, Instant fetchedAt, String providerName) {
+        return new ConversionTable(ratesMicros, fetchedAt, providerName);
+    }
+
+    /**
+     * The slot of a currency code in either case, or -1 if the table has no rate for it.
+     */
+    public int slotOf(String currencyCode) {
+        int index = currencyCode != null ? indexOf(currencyCode) : -1;
+        return index < 0 ? -1 : slotByCode[index];
+    }
+
+    public String code(int slot) {
+        return codes[slot];
+    }
+
+    public long rateMicros(int slot) {
+        return rateMicros[slot];
+    }
+
+    public Instant fetchedAt() {
+        return fetchedAt;
+    }
+
+    public String providerName() {
+        return providerName;
+    }
+
+    /**
+     * INR paise → minor units of the slot's currency, rounded half-up.
+     */
+    public long toMinor(int slot, long amountPaise) {
+        return scaleAndRound(amountPaise, factors[slot], SCALE);
+    }
+
+    /**
+     * Converts {@code amountsPaise} into {@code out} (same length); amounts that are zero or
+     * negative are copied unchanged.
+     */
+    public void toMinor(int slot, long[] amountsPaise, long[] out) {
+        long factor = factors[slot];
+        for (int i = 0; i < amountsPaise.length; i++) {
+            long amount = amountsPaise[i];
+            out[i] = amount > 0 ? scaleAndRound(amount, factor, SCALE) : amount;
+        }
+    }
+
+    /**
+     * Minor units of the slot's currency → INR paise, rounded half-up.
+     */
+    public long toPaise(int slot, long amountMinor) {
+        return scaleAndRound(amountMinor, SCALE, factors[slot]);
+    }
+
+    /**
+     * {@code round(amount * numerator / denominator)} for non-negative operands, exactly.
+     */
+    static long scaleAndRound(long amount, long numerator, long denominator) {
+        long high = Math.multiplyHigh(amount, numerator);
+        long product = amount * numerator;
+        long half = denominator >>> 1;
+        if (high == 0 && product >= 0 && product <= Long.MAX_VALUE - half) {
+            return (product + half) / denominator;
+        }
+        return BigInteger.valueOf(amount).multiply(BigInteger.valueOf(numerator))
+                .add(BigInteger.valueOf(half))
+                .divide(BigInteger.valueOf(denominator))
+                .longValueExact();
+    }
+
+    private static int indexOf(String code) {
+        if (code.length() != 3) {
+            return -1;
+        }
+        int index = 0;
+        for (int i = 0; i < 3; i++) {
+            int letter = (code.charAt(i) | 0x20) - 'a';
+            if (letter < 0 || letter >= LETTERS) {
+                return -1;
+            }
+            index = index * LETTERS + letter;
+        }
+        return index;
+    }
+}
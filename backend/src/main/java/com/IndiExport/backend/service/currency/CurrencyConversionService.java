@@ -1,5 +1,6 @@
 package com.IndiExport.backend.service.currency;
 
+import com.IndiExport.backend.exception.ExchangeRateUnavailableException;
 import com.IndiExport.backend.exception.InvalidMoneyAmountException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -29,7 +30,9 @@ import java.time.Instant;
  * (inrMultiplier * 1_000_000)
  * = (amountPaise * rateMicros * targetMultiplier) / 100_000_000
  *
- * We use Math.round on intermediate double to handle any remainder correctly.
+ * The product is evaluated exactly in long arithmetic (BigInteger if it would overflow) and
+ * rounded half-up. Live conversions read the per-snapshot {@link ConversionTable}, where
+ * rateMicros * targetMultiplier is precomputed per currency.
  */
 @Service
 public class CurrencyConversionService {
@@ -66,20 +69,13 @@ public class CurrencyConversionService {
                     "identity");
         }
 
-        ExchangeRateCacheService.CachedRate cached = cacheService.getRate(currency);
-        long rateMicros = cached.rateMicros();
-        long targetMultiplier = CurrencyMetadata.getMinorUnitMultiplier(currency);
-        long inrMultiplier = CurrencyMetadata.getMinorUnitMultiplier("INR"); // 100
+        ConversionTable table = cacheService.getConversionTable(currency);
+        int slot = slotOf(table, currency);
+        long rateMicros = table.rateMicros(slot);
+        long convertedMinor = table.toMinor(slot, amountPaise);
 
-        // Integer math: (amountPaise * rateMicros * targetMultiplier) / (inrMultiplier
-        // * 1_000_000)
-        // Use double for intermediate to avoid long overflow for very large amounts
-        double numerator = (double) amountPaise * rateMicros * targetMultiplier;
-        double denominator = (double) inrMultiplier * 1_000_000L;
-        long convertedMinor = Math.round(numerator / denominator);
-
-        log.debug("Converted {} INR paise → {} {} minor | rate micros: {} | target multiplier: {}",
-                amountPaise, convertedMinor, currency, rateMicros, targetMultiplier);
+        log.debug("Converted {} INR paise → {} {} minor | rate micros: {}",
+                amountPaise, convertedMinor, currency, rateMicros);
 
         return new ConversionResult(
                 amountPaise,
@@ -87,10 +83,109 @@ public class CurrencyConversionService {
                 convertedMinor,
                 currency,
                 rateMicros,
+                table.fetchedAt(),
+                table.providerName());
+    }
+
+    /**
+     * Convert an INR paise amount to the target currency's minor units without building a
+     * result, for hot loops that only need the number. Rounds
+     * exactly like {@link #convertFromINR(long, String)}.
+     *
+     * @param amountPaise    amount in INR paise; zero or negative amounts are returned unchanged
+     * @param targetCurrency ISO 4217 code in either case (e.g. "USD", "jpy")
+     * @return amount in the target currency's minor units
+     */
+    public long convertFromINRMinor(long amountPaise, String targetCurrency) {
+        if ("INR".equalsIgnoreCase(targetCurrency) || amountPaise <= 0) {
+            return amountPaise;
+        }
+        ConversionTable table = cacheService.getConversionTable(targetCurrency);
+        int slot = table.slotOf(targetCurrency);
+        if (slot < 0) {
+            // Unsupported code, or a supported one the provider left out: the slow path explains which
+            slot = slotOf(table, CurrencyMetadata.validateAndNormalize(targetCurrency));
+        }
+        return table.toMinor(slot, amountPaise);
+    }
+
+    /**
+     * Convert an INR paise amount at the rate that was current at {@code asOf}, from the
+     * stored rate history — never calls the provider. For re-deriving amounts of past orders.
+     *
+     * @param amountPaise    amount in INR paise (must be positive)
+     * @param targetCurrency ISO 4217 code (e.g. "USD", "JPY")
+     * @param asOf           the instant whose rate to use
+     * @return ConversionResult with the historical rate and its fetch time
+     */
+    public ConversionResult convertFromINRAsOf(long amountPaise, String targetCurrency, Instant asOf) {
+        if (amountPaise <= 0) {
+            throw new InvalidMoneyAmountException(amountPaise);
+        }
+
+        String currency = CurrencyMetadata.validateAndNormalize(targetCurrency);
+        if ("INR".equals(currency)) {
+            return new ConversionResult(amountPaise, "INR", amountPaise, "INR", 1_000_000L, asOf, "identity");
+        }
+
+        ExchangeRateCacheService.CachedRate cached = cacheService.getRateAsOf(currency, asOf);
+        long factor = Math.multiplyExact(cached.rateMicros(), CurrencyMetadata.getMinorUnitMultiplier(currency));
+        long convertedMinor = ConversionTable.scaleAndRound(amountPaise, factor, ConversionTable.SCALE);
+
+        return new ConversionResult(
+                amountPaise,
+                "INR",
+                convertedMinor,
+                currency,
+                cached.rateMicros(),
                 cached.fetchedAt(),
                 cached.providerName());
     }
 
+    /**
+     * Convert many INR paise amounts to one target currency. The currency is validated and
+     * its conversion factor looked up once; the amounts are then converted in a plain loop
+     * with the same rounding as {@link #convertFromINR(long, String)}.
+     *
+     * Amounts that are zero or negative are passed through unchanged instead of failing the
+     * whole batch; callers that need to reject them should check before converting.
+     *
+     * @param amountsPaise   amounts in INR paise
+     * @param targetCurrency ISO 4217 code (e.g. "USD", "JPY")
+     * @return converted amounts in the same order, plus the rate they were converted at
+     */
+    public BatchConversionResult convertFromINR(long[] amountsPaise, String targetCurrency) {
+        String currency = CurrencyMetadata.validateAndNormalize(targetCurrency);
+
+        if ("INR".equals(currency)) {
+            return new BatchConversionResult(amountsPaise.clone(), "INR", 1_000_000L, Instant.now(), "identity");
+        }
+
+        ConversionTable table = cacheService.getConversionTable(currency);
+        int slot = slotOf(table, currency);
+        long rateMicros = table.rateMicros(slot);
+
+        long[] convertedMinor = new long[amountsPaise.length];
+        table.toMinor(slot, amountsPaise, convertedMinor);
+
+        log.debug("Converted {} INR paise amounts → {} | rate micros: {}",
+                amountsPaise.length, currency, rateMicros);
+
+        return new BatchConversionResult(convertedMinor, currency, rateMicros, table.fetchedAt(), table.providerName());
+    }
+
+    /**
+     * The table slot of a validated, upper-case currency; a supported currency the provider
+     * returned no rate for is unavailable, as in {@link ExchangeRateCacheService#getRate(String)}.
+     */
+    private static int slotOf(ConversionTable table, String currency) {
+        int slot = table.slotOf(currency);
+        if (slot < 0) {
+            throw new ExchangeRateUnavailableException(currency);
+        }
+        return slot;
+    }
+
     /**
      * Convert an amount from a target currency's minor units back to INR paise.
      *
@@ -116,18 +211,15 @@ public class CurrencyConversionService {
                     "identity");
         }
 
-        ExchangeRateCacheService.CachedRate cached = cacheService.getRate(currency);
-        long rateMicros = cached.rateMicros();
-        long targetMultiplier = CurrencyMetadata.getMinorUnitMultiplier(currency);
+        ConversionTable table = cacheService.getConversionTable(currency);
+        int slot = slotOf(table, currency);
+        long rateMicros = table.rateMicros(slot);
 
-        // Integer math: (amountMinor * 100 * 1_000_000) / (targetMultiplier *
-        // rateMicros)
-        double numerator = (double) amountMinor * 100_000_000L;
-        double denominator = (double) targetMultiplier * rateMicros;
-        long inrPaise = Math.round(numerator / denominator);
+        // (amountMinor * 100 * 1_000_000) / (targetMultiplier * rateMicros)
+        long inrPaise = table.toPaise(slot, amountMinor);
 
-        log.debug("Converted {} {} minor → {} INR paise | rate micros: {} | target multiplier: {}",
-                amountMinor, currency, inrPaise, rateMicros, targetMultiplier);
+        log.debug("Converted {} {} minor → {} INR paise | rate micros: {}",
+                amountMinor, currency, inrPaise, rateMicros);
 
         return new ConversionResult(
                 amountMinor,
@@ -135,8 +227,8 @@ public class CurrencyConversionService {
                 inrPaise,
                 "INR",
                 rateMicros,
-                cached.fetchedAt(),
-                cached.providerName());
+                table.fetchedAt(),
+                table.providerName());
     }
 
     /**
@@ -151,4 +243,15 @@ public class CurrencyConversionService {
             Instant rateTimestamp,
             String providerName) {
     }
+
+    /**
+     * Result of a batch conversion: one converted amount per input amount, all at one rate.
+     */
+    public record BatchConversionResult(
+            long[] convertedAmountsMinor,
+            String targetCurrency,
+            long exchangeRateMicros,
+            Instant rateTimestamp,
+            String providerName) {
+    }
 }
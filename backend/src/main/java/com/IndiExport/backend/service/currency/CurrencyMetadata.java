@@ -72,6 +72,13 @@ public final class CurrencyMetadata {
         return multiplier;
     }
 
+    /**
+     * Currencies convertible from INR, excluding INR itself.
+     */
+    public static Set<String> supportedCurrencies() {
+        return SUPPORTED_CURRENCIES;
+    }
+
     /**
      * Check if a currency is supported for conversion from INR.
      */
@@ -28,6 +28,30 @@ public class CurrencyService {
                 .build();
     }
 
+    /**
+     * Convert a list of INR paise amounts (e.g. one page of prices) to the target currency
+     * with a single rate lookup.
+     *
+     * @return converted prices in input order; null where the amount is not positive
+     */
+    public CurrencyDto.ConvertedPriceInfo[] convertAllFromINR(long[] amountsPaise, String targetCurrency) {
+        CurrencyConversionService.BatchConversionResult result = conversionService.convertFromINR(amountsPaise,
+                targetCurrency);
+
+        CurrencyDto.ConvertedPriceInfo[] prices = new CurrencyDto.ConvertedPriceInfo[amountsPaise.length];
+        for (int i = 0; i < amountsPaise.length; i++) {
+            if (amountsPaise[i] > 0) {
+                prices[i] = CurrencyDto.ConvertedPriceInfo.builder()
+                        .convertedPriceMinor(result.convertedAmountsMinor()[i])
+                        .currency(result.targetCurrency())
+                        .exchangeRateMicros(result.exchangeRateMicros())
+                        .rateTimestamp(result.rateTimestamp())
+                        .build();
+            }
+        }
+        return prices;
+    }
+
     /**
      * Convert target currency minor units to INR paise.
      */
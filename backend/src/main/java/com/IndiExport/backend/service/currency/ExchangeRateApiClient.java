@@ -9,12 +9,15 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClient;
 import org.springframework.web.client.RestClientException;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Client for the ExchangeRate-API (https://www.exchangerate-api.com).
  * Specifically uses the free/open v4 endpoint for INR base rates.
  */
 @Component
-public class ExchangeRateApiClient {
+public class ExchangeRateApiClient implements ExchangeRateProvider {
 
     private static final Logger log = LoggerFactory.getLogger(ExchangeRateApiClient.class);
     private static final String PROVIDER_NAME = "exchangerate-api.com";
@@ -29,15 +32,9 @@ public class ExchangeRateApiClient {
         this.baseUrl = baseUrl;
     }
 
-    /**
-     * Fetch the latest exchange rate for INR → targetCurrency.
-     *
-     * @param targetCurrency ISO 4217 currency code (e.g. "USD", "EUR")
-     * @return the exchange rate as a double
-     * @throws ExternalApiException if the API call fails
-     */
-    public double fetchRate(String targetCurrency) {
-        log.info("Fetching exchange rate from {} for INR → {}", PROVIDER_NAME, targetCurrency);
+    @Override
+    public Map<String, Double> fetchRates() {
+        log.info("Fetching INR exchange rates from {}", PROVIDER_NAME);
 
         try {
             JsonNode response = restClient.get()
@@ -45,28 +42,36 @@ public class ExchangeRateApiClient {
                     .retrieve()
                     .body(JsonNode.class);
 
-            if (response == null || !response.has("rates")) {
-                throw new ExternalApiException(PROVIDER_NAME,
-                        "Invalid response format: missing 'rates' field");
-            }
-
-            JsonNode rates = response.get("rates");
-            if (!rates.has(targetCurrency)) {
-                throw new ExternalApiException(PROVIDER_NAME,
-                        "Currency '" + targetCurrency + "' not found in response");
-            }
-
-            double rate = rates.get(targetCurrency).asDouble();
-            log.info("Fetched rate: 1 INR = {} {}", rate, targetCurrency);
-            return rate;
+            Map<String, Double> rates = readRates(response, PROVIDER_NAME);
+            log.info("Fetched {} rates from {}", rates.size(), PROVIDER_NAME);
+            return rates;
 
         } catch (RestClientException e) {
-            log.error("Failed to fetch exchange rate from {}: {}", PROVIDER_NAME, e.getMessage());
+            log.error("Failed to fetch exchange rates from {}: {}", PROVIDER_NAME, e.getMessage());
             throw new ExternalApiException(PROVIDER_NAME, e);
         }
     }
 
+    @Override
     public String getProviderName() {
         return PROVIDER_NAME;
     }
+
+    /**
+     * The {@code rates} object of a response, as returned by this API, Frankfurter and the
+     * fixture files.
+     *
+     * @throws ExternalApiException if the response has no {@code rates} field
+     */
+    static Map<String, Double> readRates(JsonNode response, String providerName) {
+        if (response == null || !response.has("rates")) {
+            throw new ExternalApiException(providerName,
+                    "Invalid response format: missing 'rates' field");
+        }
+
+        Map<String, Double> rates = new HashMap<>();
+        response.get("rates").fields().forEachRemaining(entry ->
+                rates.put(entry.getKey(), entry.getValue().asDouble()));
+        return rates;
+    }
 }
@@ -1,102 +1,245 @@
 package com.IndiExport.backend.service.currency;
 
 import com.IndiExport.backend.exception.ExchangeRateUnavailableException;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Thread-safe in-memory cache for exchange rates.
  *
  * Design:
- * - ConcurrentHashMap for O(1) reads
- * - Per-currency ReentrantLock to prevent thundering herd on cache miss
- * (only ONE thread fetches while others wait on the same currency lock)
+ * - One immutable {@link ExchangeRateSnapshot} of every supported currency, from a single
+ * provider fetch, published through a volatile reference (reads take no lock); the provider
+ * is the first healthy one in failover order ({@link ExchangeRateSource})
+ * - One refresh lock: a cold start or TTL expiry costs one HTTP round trip for all currencies
+ * - Refresh-ahead: a scheduled job renews the snapshot once it is {@code ahead-ratio} of the
+ * TTL old, retrying failures with jittered exponential backoff, so requests read from memory
+ * and never wait on the provider once a snapshot exists — an expired one is still served
+ * while the job keeps retrying
+ * - Without the job, the first request after expiry refreshes; while a stale snapshot exists
+ * the others keep reading it instead of queueing behind the fetch
+ * - Only a cold start with no snapshot fetches on the request path, and not while backing off
  * - TTL-based expiration (default 12 hours)
- * - Falls back to stale cached rate if external API fails and cache exists
+ * - Falls back to the stale snapshot if the external API fails
+ * - Every new snapshot is persisted ({@link ExchangeRateHistoryService}); at startup the newest
+ * stored one is loaded, so a restart during a provider outage still serves (stale) rates
  */
 @Service
 public class ExchangeRateCacheService {
 
     private static final Logger log = LoggerFactory.getLogger(ExchangeRateCacheService.class);
 
-    private final ExchangeRateApiClient exchangeRateClient;
+    private final ExchangeRateSource rateSource;
+    private final ExchangeRateHistoryService historyService;
     private final long ttlMinutes;
+    private final boolean refreshAhead;
+    private final Duration refreshAfter;
 
-    private final ConcurrentHashMap<String, CachedRate> cache = new ConcurrentHashMap<>();
-    private final ConcurrentHashMap<String, ReentrantLock> locks = new ConcurrentHashMap<>();
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private final RefreshBackoff backoff;
+    private volatile ExchangeRateSnapshot snapshot;
 
     public ExchangeRateCacheService(
-            ExchangeRateApiClient exchangeRateClient,
-            @Value("${currency.cache.ttl-minutes:1440}") long ttlMinutes) {
-        this.exchangeRateClient = exchangeRateClient;
+            ExchangeRateSource rateSource,
+            ExchangeRateHistoryService historyService,
+            @Value("${currency.cache.ttl-minutes:1440}") long ttlMinutes,
+            @Value("${currency.refresh.enabled:true}") boolean refreshAhead,
+            @Value("${currency.refresh.ahead-ratio:0.75}") double aheadRatio,
+            @Value("${currency.refresh.backoff-initial-ms:30000}") long backoffInitialMs,
+            @Value("${currency.refresh.backoff-max-ms:1800000}") long backoffMaxMs) {
+        this.rateSource = rateSource;
+        this.historyService = historyService;
         this.ttlMinutes = ttlMinutes;
+        this.refreshAhead = refreshAhead;
+        this.refreshAfter = Duration.ofMillis((long) (ttlMinutes * 60_000 * aheadRatio));
+        this.backoff = new RefreshBackoff(backoffInitialMs, backoffMaxMs, () -> ThreadLocalRandom.current().nextDouble());
     }
 
     /**
      * Get the exchange rate (as micros) for INR → targetCurrency.
-     * Returns cached value if fresh, otherwise fetches and caches.
+     * Returns the cached value if fresh, otherwise refreshes the whole snapshot.
      *
      * @return CachedRate with rateMicros, fetchedAt, and providerName
      */
     public CachedRate getRate(String targetCurrency) {
         String key = targetCurrency.toUpperCase();
+        return rateFrom(currentSnapshot(key), key);
+    }
+
+    /**
+     * The conversion table of the snapshot {@link #getRate(String)} would read from, for
+     * allocation-free conversions.
+     *
+     * @param targetCurrency the currency about to be converted, named in errors
+     */
+    public ConversionTable getConversionTable(String targetCurrency) {
+        ExchangeRateSnapshot current = snapshot;
+        if (current != null && !isExpired(current)) {
+            return current.conversionTable();
+        }
+        return currentSnapshot(targetCurrency).conversionTable();
+    }
 
-        // Fast path: return cached value if still fresh
-        CachedRate cached = cache.get(key);
-        if (cached != null && !isExpired(cached)) {
-            log.debug("Cache hit for {}: rateMicros={}", key, cached.rateMicros());
-            return cached;
+    private ExchangeRateSnapshot currentSnapshot(String key) {
+        // Fast path: fresh snapshot
+        ExchangeRateSnapshot current = snapshot;
+        if (current != null && !isExpired(current)) {
+            return current;
         }
 
-        // Slow path: acquire per-currency lock and fetch
-        ReentrantLock lock = locks.computeIfAbsent(key, k -> new ReentrantLock());
-        lock.lock();
+        // Stale snapshot: the refresh-ahead job renews it, or someone else is refreshing
+        if (current != null && (refreshAhead || !refreshLock.tryLock())) {
+            log.debug("Rates expired, serving stale rate for {} until the next refresh", key);
+            return current;
+        }
+        if (current == null) {
+            refreshLock.lock();
+        }
         try {
             // Double-check: another thread may have refreshed while we waited
-            cached = cache.get(key);
-            if (cached != null && !isExpired(cached)) {
-                log.debug("Cache hit after lock for {}: rateMicros={}", key, cached.rateMicros());
-                return cached;
+            current = snapshot;
+            if (current != null && !isExpired(current)) {
+                return current;
+            }
+            if (!backoff.canAttempt(System.currentTimeMillis())) {
+                // Recent failures: don't call the provider again until the backoff elapses
+                if (current != null) {
+                    return current;
+                }
+                throw new ExchangeRateUnavailableException(key);
             }
-
-            // Fetch fresh rate
             try {
-                double rawRate = exchangeRateClient.fetchRate(key);
-                long rateMicros = Math.round(rawRate * 1_000_000L);
-                CachedRate fresh = new CachedRate(
-                        rateMicros,
-                        Instant.now(),
-                        exchangeRateClient.getProviderName());
-                cache.put(key, fresh);
-                log.info("Cached fresh rate for {}: rateMicros={}", key, rateMicros);
-                return fresh;
-
+                return refresh();
             } catch (Exception fetchError) {
-                // Fallback: return stale cached rate if available
-                if (cached != null) {
-                    log.warn("API fetch failed for {}, using stale cache (age: {} minutes): {}",
-                            key,
-                            ChronoUnit.MINUTES.between(cached.fetchedAt(), Instant.now()),
+                backoff.onFailure(System.currentTimeMillis());
+                // Fallback: return stale snapshot if available
+                if (current != null) {
+                    log.warn("API fetch failed, using stale rates (age: {} minutes): {}",
+                            ChronoUnit.MINUTES.between(current.fetchedAt(), Instant.now()),
                             fetchError.getMessage());
-                    return cached;
+                    return current;
                 }
                 // No cache at all — propagate error
                 throw new ExchangeRateUnavailableException(key, fetchError);
             }
         } finally {
-            lock.unlock();
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Start from the newest stored snapshot. It is usually past its TTL, so it is served as
+     * stale until the first refresh succeeds.
+     */
+    @PostConstruct
+    public void warmStart() {
+        refreshLock.lock();
+        try {
+            if (snapshot == null) {
+                historyService.findLatest().ifPresent(stored -> {
+                    snapshot = stored;
+                    log.info("Loaded stored exchange rates for {} currencies fetched at {}",
+                            stored.ratesMicros().size(), stored.fetchedAt());
+                });
+            }
+        } catch (Exception e) {
+            log.warn("Could not load stored exchange rates: {}", e.getMessage());
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * The rate that was current at {@code asOf}, without calling the provider: the served
+     * snapshot if it was fetched by then, otherwise the stored history.
+     *
+     * @throws ExchangeRateUnavailableException if no rate is known for that time
+     */
+    public CachedRate getRateAsOf(String targetCurrency, Instant asOf) {
+        String key = targetCurrency.toUpperCase();
+        ExchangeRateSnapshot current = snapshot;
+        if (current != null && !asOf.isBefore(current.fetchedAt()) && current.rateMicros(key) != null) {
+            return rateFrom(current, key);
+        }
+        return historyService.findRateAsOf(key, asOf)
+                .orElseThrow(() -> new ExchangeRateUnavailableException(key));
+    }
+
+    /**
+     * Renew the snapshot before it expires. Runs every check interval; only fetches when the
+     * snapshot is {@code ahead-ratio} of the TTL old (or missing) and no backoff is pending.
+     */
+    @Scheduled(initialDelayString = "${currency.refresh.initial-delay-ms:0}",
+            fixedDelayString = "${currency.refresh.check-interval-ms:60000}")
+    public void refreshAhead() {
+        if (!refreshAhead) {
+            return;
+        }
+        ExchangeRateSnapshot current = snapshot;
+        if (current != null && !current.isOlderThan(Instant.now().minus(refreshAfter))) {
+            return;
+        }
+        if (!refreshLock.tryLock()) {
+            return;
+        }
+        try {
+            if (!backoff.canAttempt(System.currentTimeMillis()) || snapshot != current) {
+                return;
+            }
+            refresh();
+        } catch (Exception e) {
+            long delay = backoff.onFailure(System.currentTimeMillis());
+            log.warn("Exchange rate refresh failed ({} in a row), retrying in {} s: {}",
+                    backoff.failures(), delay / 1000, e.getMessage());
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * The snapshot currently served, or null before the first successful fetch.
+     */
+    public ExchangeRateSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Fetch all rates and publish them as the new snapshot.
+     */
+    private ExchangeRateSnapshot refresh() {
+        ExchangeRateSource.FetchedRates fetched = rateSource.fetch();
+        ExchangeRateSnapshot fresh = ExchangeRateSnapshot.of(fetched.rates(), Instant.now(), fetched.providerName());
+        snapshot = fresh;
+        backoff.onSuccess();
+        log.info("Cached fresh rates for {} currencies from {}", fresh.ratesMicros().size(), fresh.providerName());
+        try {
+            historyService.record(fresh);
+        } catch (Exception e) {
+            log.warn("Could not store exchange rate snapshot: {}", e.getMessage());
+        }
+        return fresh;
+    }
+
+    private static CachedRate rateFrom(ExchangeRateSnapshot snapshot, String currency) {
+        Long rateMicros = snapshot.rateMicros(currency);
+        if (rateMicros == null) {
+            throw new ExchangeRateUnavailableException(currency);
         }
+        return new CachedRate(rateMicros, snapshot.fetchedAt(), snapshot.providerName());
     }
 
-    private boolean isExpired(CachedRate rate) {
-        return Instant.now().isAfter(rate.fetchedAt().plus(ttlMinutes, ChronoUnit.MINUTES));
+    private boolean isExpired(ExchangeRateSnapshot rates) {
+        return rates.isOlderThan(Instant.now().minus(ttlMinutes, ChronoUnit.MINUTES));
     }
 
     /**
@@ -0,0 +1,78 @@
+package com.IndiExport.backend.service.currency;
+
+import com.IndiExport.backend.entity.ExchangeRateSnapshotEntry;
+import com.IndiExport.backend.repository.ExchangeRateSnapshotRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Persists fetched exchange-rate snapshots to exchange_rate_snapshots, so the cache can start
+ * warm after a restart and past rates can be looked up without calling the provider.
+ */
+@Service
+public class ExchangeRateHistoryService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExchangeRateHistoryService.class);
+
+    private final ExchangeRateSnapshotRepository snapshotRepository;
+
+    // Rates of the newest stored snapshot; a refresh with the same rates is not stored again
+    private volatile Map<String, Long> lastStoredRates;
+
+    public ExchangeRateHistoryService(ExchangeRateSnapshotRepository snapshotRepository) {
+        this.snapshotRepository = snapshotRepository;
+    }
+
+    /**
+     * Store a snapshot, unless its rates equal the newest stored ones (providers publish far
+     * less often than the cache refreshes).
+     */
+    @Transactional
+    public void record(ExchangeRateSnapshot snapshot) {
+        if (snapshot.ratesMicros().equals(lastStoredRates)) {
+            return;
+        }
+        // Stored at the database's precision, so findByFetchedAt matches it on warm start
+        Instant fetchedAt = snapshot.fetchedAt().truncatedTo(ChronoUnit.MICROS);
+        List<ExchangeRateSnapshotEntry> entries = snapshot.ratesMicros().entrySet().stream()
+                .map(e -> new ExchangeRateSnapshotEntry(e.getKey(), e.getValue(), fetchedAt, snapshot.providerName()))
+                .toList();
+        snapshotRepository.saveAll(entries);
+        lastStoredRates = snapshot.ratesMicros();
+        log.info("Stored exchange rate snapshot of {} currencies fetched at {}", entries.size(), fetchedAt);
+    }
+
+    /**
+     * The newest stored snapshot, for warming the cache at startup.
+     */
+    @Transactional(readOnly = true)
+    public Optional<ExchangeRateSnapshot> findLatest() {
+        return snapshotRepository.findFirstByOrderByFetchedAtDesc().map(newest -> {
+            List<ExchangeRateSnapshotEntry> entries = snapshotRepository.findByFetchedAt(newest.getFetchedAt());
+            Map<String, Long> rates = entries.stream().collect(Collectors.toMap(
+                    ExchangeRateSnapshotEntry::getCurrency, ExchangeRateSnapshotEntry::getRateMicros, (a, b) -> a));
+            ExchangeRateSnapshot snapshot = new ExchangeRateSnapshot(rates, newest.getFetchedAt(), newest.getProviderName());
+            lastStoredRates = snapshot.ratesMicros();
+            return snapshot;
+        });
+    }
+
+    /**
+     * The rate that was current at {@code asOf}: the newest stored rate fetched at or before it.
+     */
+    @Transactional(readOnly = true)
+    public Optional<ExchangeRateCacheService.CachedRate> findRateAsOf(String currency, Instant asOf) {
+        return snapshotRepository.findFirstByCurrencyAndFetchedAtLessThanEqualOrderByFetchedAtDesc(currency, asOf)
+                .map(entry -> new ExchangeRateCacheService.CachedRate(
+                        entry.getRateMicros(), entry.getFetchedAt(), entry.getProviderName()));
+    }
+}
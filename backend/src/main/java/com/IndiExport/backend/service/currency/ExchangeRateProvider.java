@@ -0,0 +1,25 @@
+package com.IndiExport.backend.service.currency;
+
+import com.IndiExport.backend.exception.ExternalApiException;
+
+import java.util.Map;
+
+/**
+ * A source of INR → X exchange rates. Every provider bean is available to
+ * {@link ExchangeRateSource}, which asks them in the order of {@code currency.provider.order}.
+ */
+public interface ExchangeRateProvider {
+
+    /**
+     * Name used in {@code currency.provider.order} and stored with the rates it returned.
+     */
+    String getProviderName();
+
+    /**
+     * Fetch every INR → X rate the provider publishes, in one request.
+     *
+     * @return rates keyed by ISO 4217 code (e.g. "USD" → 0.01195)
+     * @throws ExternalApiException if the provider cannot be reached or answers badly
+     */
+    Map<String, Double> fetchRates();
+}
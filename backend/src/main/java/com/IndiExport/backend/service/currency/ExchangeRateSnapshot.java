@@ -0,0 +1,57 @@
+package com.IndiExport.backend.service.currency;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable INR → X rates of every supported currency, taken from one provider response,
+ * with their precomputed {@link ConversionTable}. The cache publishes a snapshot as a whole,
+ * so all rates a reader sees come from one fetch.
+ */
+public record ExchangeRateSnapshot(
+        Map<String, Long> ratesMicros, // currency → rate * 1_000_000
+        Instant fetchedAt,
+        String providerName,
+        ConversionTable conversionTable) {
+
+    public ExchangeRateSnapshot {
+        ratesMicros = Map.copyOf(ratesMicros);
+        if (conversionTable == null) {
+            conversionTable = ConversionTable.of(ratesMicros, fetchedAt, providerName);
+        }
+    }
+
+    public ExchangeRateSnapshot(Map<String, Long> ratesMicros, Instant fetchedAt, String providerName) {
+        this(ratesMicros, fetchedAt, providerName, null);
+    }
+
+    /**
+     * Keep the supported currencies of a provider response, as micros. Rates that round to
+     * zero micros are dropped rather than converting every amount to nothing.
+     */
+    public static ExchangeRateSnapshot of(Map<String, Double> rates, Instant fetchedAt, String providerName) {
+        Map<String, Long> micros = new HashMap<>();
+        for (String currency : CurrencyMetadata.supportedCurrencies()) {
+            Double rate = rates.get(currency);
+            if (rate != null) {
+                long rateMicros = Math.round(rate * 1_000_000L);
+                if (rateMicros > 0) {
+                    micros.put(currency, rateMicros);
+                }
+            }
+        }
+        return new ExchangeRateSnapshot(micros, fetchedAt, providerName);
+    }
+
+    /**
+     * @return the rate in micros, or null if the provider did not publish one
+     */
+    public Long rateMicros(String currency) {
+        return ratesMicros.get(currency);
+    }
+
+    public boolean isOlderThan(Instant cutoff) {
+        return fetchedAt.isBefore(cutoff);
+    }
+}
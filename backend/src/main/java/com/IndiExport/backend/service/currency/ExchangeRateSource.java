@@ -0,0 +1,161 @@
+package com.IndiExport.backend.service.currency;
+
+import com.IndiExport.backend.exception.ExternalApiException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Fetches rates from the {@link ExchangeRateProvider}s named in {@code currency.provider.order},
+ * failing over to the next one when a provider errors or returns nothing.
+ *
+ * With {@code currency.provider.hedge-after-ms} set, providers are asked in pairs: if the first
+ * has not answered within that budget, the second is asked as well and the first good answer
+ * wins, so a slow provider delays a refresh by at most the budget. A provider that fails
+ * within the budget is failed over to straight away. The losing request is not interrupted;
+ * it finishes within the RestClient timeouts and its answer is dropped.
+ */
+@Component
+public class ExchangeRateSource implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ExchangeRateSource.class);
+
+    /** Rates and the provider that returned them. */
+    public record FetchedRates(Map<String, Double> rates, String providerName) {
+    }
+
+    private final List<ExchangeRateProvider> providers;
+    private final long hedgeAfterMs;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public ExchangeRateSource(
+            List<ExchangeRateProvider> available,
+            @Value("${currency.provider.order:exchangerate-api.com}") String[] order,
+            @Value("${currency.provider.hedge-after-ms:0}") long hedgeAfterMs) {
+        Map<String, ExchangeRateProvider> byName = available.stream()
+                .collect(Collectors.toMap(ExchangeRateProvider::getProviderName, Function.identity()));
+        this.providers = new ArrayList<>();
+        for (String name : order) {
+            ExchangeRateProvider provider = byName.get(name.trim());
+            if (provider == null) {
+                throw new IllegalStateException("Unknown exchange rate provider '" + name.trim()
+                        + "' in currency.provider.order; known: " + byName.keySet());
+            }
+            providers.add(provider);
+        }
+        if (providers.isEmpty()) {
+            throw new IllegalStateException("currency.provider.order names no exchange rate provider");
+        }
+        this.hedgeAfterMs = hedgeAfterMs;
+        log.info("Exchange rate providers: {}{}", providerNames(),
+                hedgeAfterMs > 0 ? " (hedged after " + hedgeAfterMs + " ms)" : "");
+    }
+
+    /**
+     * Rates from the first provider, in order, that answers with any.
+     *
+     * @throws ExternalApiException if every provider failed
+     */
+    public FetchedRates fetch() {
+        RuntimeException lastFailure = null;
+        int next = 0;
+        while (next < providers.size()) {
+            ExchangeRateProvider primary = providers.get(next);
+            ExchangeRateProvider secondary = hedgeAfterMs > 0 && next + 1 < providers.size()
+                    ? providers.get(next + 1) : null;
+            try {
+                return secondary == null ? fetchFrom(primary) : fetchHedged(primary, secondary);
+            } catch (RuntimeException e) {
+                log.warn("Exchange rate provider {} failed: {}",
+                        secondary == null ? primary.getProviderName()
+                                : primary.getProviderName() + " and " + secondary.getProviderName(),
+                        e.getMessage());
+                lastFailure = e;
+            }
+            next += secondary == null ? 1 : 2;
+        }
+        throw new ExternalApiException(providerNames(), "every provider failed, last: " + lastFailure.getMessage());
+    }
+
+    /**
+     * Provider names in failover order.
+     */
+    public String providerNames() {
+        return providers.stream().map(ExchangeRateProvider::getProviderName).collect(Collectors.joining(", "));
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private FetchedRates fetchHedged(ExchangeRateProvider primary, ExchangeRateProvider secondary) {
+        CompletableFuture<FetchedRates> first = CompletableFuture.supplyAsync(() -> fetchFrom(primary), executor);
+        try {
+            return first.get(hedgeAfterMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.info("{} has not answered within {} ms, also asking {}",
+                    primary.getProviderName(), hedgeAfterMs, secondary.getProviderName());
+        } catch (ExecutionException e) {
+            log.warn("Exchange rate provider {} failed: {}", primary.getProviderName(), e.getCause().getMessage());
+            return fetchFrom(secondary);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExternalApiException(primary.getProviderName(), e);
+        }
+
+        CompletableFuture<FetchedRates> second = CompletableFuture.supplyAsync(() -> fetchFrom(secondary), executor);
+        try {
+            return firstSuccess(first, second).get();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : new CompletionException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExternalApiException(primary.getProviderName(), e);
+        }
+    }
+
+    /**
+     * Completes with the first of the two results that succeeds, or with the last failure.
+     */
+    private static CompletableFuture<FetchedRates> firstSuccess(CompletableFuture<FetchedRates> a,
+                                                                 CompletableFuture<FetchedRates> b) {
+        CompletableFuture<FetchedRates> winner = new CompletableFuture<>();
+        AtomicInteger pending = new AtomicInteger(2);
+        BiConsumer<FetchedRates, Throwable> onDone = (rates, error) -> {
+            if (error == null) {
+                winner.complete(rates);
+            } else if (pending.decrementAndGet() == 0) {
+                winner.completeExceptionally(error instanceof CompletionException ? error.getCause() : error);
+            }
+        };
+        a.whenComplete(onDone);
+        b.whenComplete(onDone);
+        return winner;
+    }
+
+    private static FetchedRates fetchFrom(ExchangeRateProvider provider) {
+        Map<String, Double> rates = provider.fetchRates();
+        if (rates == null || rates.isEmpty()) {
+            throw new ExternalApiException(provider.getProviderName(), "no rates returned");
+        }
+        return new FetchedRates(rates, provider.getProviderName());
+    }
+}
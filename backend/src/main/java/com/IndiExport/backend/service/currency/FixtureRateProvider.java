@@ -0,0 +1,58 @@
+package com.IndiExport.backend.service.currency;
+
+import com.IndiExport.backend.exception.ExternalApiException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+
+/**
+ * Reads rates from a local JSON file in the providers' format ({@code {"rates": {"USD":
+ * 0.01195, ...}}}), for tests and offline development. The file is read on every fetch, so
+ * it can be edited while the application runs.
+ *
+ * The location is a Spring resource, e.g. {@code classpath:currency/inr-rates.json} or
+ * {@code file:/srv/rates.json}; without one the provider always fails, so listing it in
+ * {@code currency.provider.order} by mistake only costs a failover.
+ */
+@Component
+public class FixtureRateProvider implements ExchangeRateProvider {
+
+    private static final String PROVIDER_NAME = "fixture";
+
+    private final ResourceLoader resourceLoader;
+    private final ObjectMapper objectMapper;
+    private final String location;
+
+    public FixtureRateProvider(
+            ResourceLoader resourceLoader,
+            ObjectMapper objectMapper,
+            @Value("${currency.provider.fixture-location:}") String location) {
+        this.resourceLoader = resourceLoader;
+        this.objectMapper = objectMapper;
+        this.location = location;
+    }
+
+    @Override
+    public Map<String, Double> fetchRates() {
+        if (location.isBlank()) {
+            throw new ExternalApiException(PROVIDER_NAME, "currency.provider.fixture-location is not set");
+        }
+        Resource resource = resourceLoader.getResource(location);
+        try (InputStream in = resource.getInputStream()) {
+            return ExchangeRateApiClient.readRates(objectMapper.readTree(in), PROVIDER_NAME);
+        } catch (IOException e) {
+            throw new ExternalApiException(PROVIDER_NAME, e);
+        }
+    }
+
+    @Override
+    public String getProviderName() {
+        return PROVIDER_NAME;
+    }
+}
@@ -0,0 +1,59 @@
+package com.IndiExport.backend.service.currency;
+
+import com.IndiExport.backend.exception.ExternalApiException;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.util.Map;
+
+/**
+ * Client for Frankfurter (https://frankfurter.dev), which republishes the European Central
+ * Bank's daily reference rates: exactly the currencies {@link CurrencyMetadata} supports,
+ * updated once per working day, with no API key.
+ */
+@Component
+public class FrankfurterRateProvider implements ExchangeRateProvider {
+
+    private static final Logger log = LoggerFactory.getLogger(FrankfurterRateProvider.class);
+    private static final String PROVIDER_NAME = "frankfurter.dev";
+
+    private final RestClient restClient;
+    private final String baseUrl;
+
+    public FrankfurterRateProvider(
+            RestClient restClient,
+            @Value("${currency.provider.base-url:https://api.frankfurter.dev/v1}") String baseUrl) {
+        this.restClient = restClient;
+        this.baseUrl = baseUrl;
+    }
+
+    @Override
+    public Map<String, Double> fetchRates() {
+        log.info("Fetching INR exchange rates from {}", PROVIDER_NAME);
+
+        try {
+            JsonNode response = restClient.get()
+                    .uri(baseUrl + "/latest?base=INR")
+                    .retrieve()
+                    .body(JsonNode.class);
+
+            Map<String, Double> rates = ExchangeRateApiClient.readRates(response, PROVIDER_NAME);
+            log.info("Fetched {} rates from {}", rates.size(), PROVIDER_NAME);
+            return rates;
+
+        } catch (RestClientException e) {
+            log.error("Failed to fetch exchange rates from {}: {}", PROVIDER_NAME, e.getMessage());
+            throw new ExternalApiException(PROVIDER_NAME, e);
+        }
+    }
+
+    @Override
+    public String getProviderName() {
+        return PROVIDER_NAME;
+    }
+}
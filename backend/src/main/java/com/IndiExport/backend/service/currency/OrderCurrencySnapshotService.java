@@ -2,6 +2,7 @@ package com.IndiExport.backend.service.currency;
 
 import com.IndiExport.backend.entity.Order;
 import com.IndiExport.backend.entity.OrderCurrencySnapshot;
+import com.IndiExport.backend.exception.ExchangeRateUnavailableException;
 import com.IndiExport.backend.exception.ResourceNotFoundException;
 import com.IndiExport.backend.repository.OrderCurrencySnapshotRepository;
 import com.IndiExport.backend.repository.OrderRepository;
@@ -11,6 +12,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -76,6 +79,44 @@ public class OrderCurrencySnapshotService {
         return saved;
     }
 
+    /**
+     * Lock the rate an order should have been given at checkout, for orders that have no
+     * snapshot: converts its total at the stored rate as of its creation time, without calling
+     * the exchange-rate provider.
+     *
+     * @return the created (or already existing) snapshot
+     * @throws ExchangeRateUnavailableException if no rate was stored by then (the caller's
+     *         transaction is left intact)
+     */
+    @Transactional(noRollbackFor = ExchangeRateUnavailableException.class)
+    public OrderCurrencySnapshot lockHistoricalRateForOrder(Order order) {
+        Optional<OrderCurrencySnapshot> existing = snapshotRepository.findByOrderId(order.getId());
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+
+        Instant orderedAt = order.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant();
+        CurrencyConversionService.ConversionResult result =
+                conversionService.convertFromINRAsOf(order.getTotalAmountPaise(), order.getCurrencyCode(), orderedAt);
+
+        OrderCurrencySnapshot snapshot = new OrderCurrencySnapshot();
+        snapshot.setOrder(order);
+        snapshot.setBaseCurrency("INR");
+        snapshot.setBuyerCurrency(result.targetCurrency());
+        snapshot.setExchangeRateMicros(result.exchangeRateMicros());
+        snapshot.setRateTimestamp(result.rateTimestamp());
+        snapshot.setProviderName(result.providerName());
+        snapshot.setBaseTotalPaise(order.getTotalAmountPaise());
+        snapshot.setConvertedTotalMinor(result.convertedAmountMinor());
+        snapshot.setCreatedAt(Instant.now());
+
+        OrderCurrencySnapshot saved = snapshotRepository.save(snapshot);
+        order.setCurrencySnapshot(saved);
+        log.info("Locked historical currency rate for order {} as of {}: rate micros {} fetched at {}",
+                order.getId(), orderedAt, result.exchangeRateMicros(), result.rateTimestamp());
+        return saved;
+    }
+
     /**
      * Retrieve the currency snapshot for an order.
      */
@@ -0,0 +1,53 @@
+package com.IndiExport.backend.service.currency;
+
+import java.util.function.DoubleSupplier;
+
+/**
+ * Exponential backoff with jitter between failed rate refreshes. After the n-th consecutive
+ * failure the next attempt waits {@code min(max, initial * 2^(n-1))}, of which the upper half
+ * is randomised, so several instances retrying against the same provider spread out.
+ *
+ * Not thread-safe; callers hold the refresh lock.
+ */
+final class RefreshBackoff {
+
+    private final long initialMillis;
+    private final long maxMillis;
+    private final DoubleSupplier random;
+
+    private int failures;
+    private long nextAttemptAtMillis;
+
+    RefreshBackoff(long initialMillis, long maxMillis, DoubleSupplier random) {
+        this.initialMillis = initialMillis;
+        this.maxMillis = Math.max(initialMillis, maxMillis);
+        this.random = random;
+    }
+
+    boolean canAttempt(long nowMillis) {
+        return nowMillis >= nextAttemptAtMillis;
+    }
+
+    void onSuccess() {
+        failures = 0;
+        nextAttemptAtMillis = 0;
+    }
+
+    /**
+     * @return the delay before the next attempt
+     */
+    long onFailure(long nowMillis) {
+        failures++;
+        long delay = initialMillis << Math.min(failures - 1, 30);
+        if (delay <= 0 || delay > maxMillis) {
+            delay = maxMillis;
+        }
+        delay = delay / 2 + (long) (random.getAsDouble() * (delay - delay / 2));
+        nextAttemptAtMillis = nowMillis + delay;
+        return delay;
+    }
+
+    int failures() {
+        return failures;
+    }
+}
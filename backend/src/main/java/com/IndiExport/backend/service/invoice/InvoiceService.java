@@ -4,9 +4,11 @@ import com.IndiExport.backend.dto.InvoiceDownloadResponse;
 import com.IndiExport.backend.dto.InvoiceListResponse;
 import com.IndiExport.backend.entity.*;
 import com.IndiExport.backend.exception.BusinessRuleViolationException;
+import com.IndiExport.backend.exception.ExchangeRateUnavailableException;
 import com.IndiExport.backend.exception.ResourceNotFoundException;
 import com.IndiExport.backend.repository.InvoiceRepository;
 import com.IndiExport.backend.repository.OrderRepository;
+import com.IndiExport.backend.service.currency.OrderCurrencySnapshotService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
@@ -29,17 +31,20 @@ public class InvoiceService {
     private final InvoiceNumberGeneratorService numberGeneratorService;
     private final InvoicePdfGeneratorService pdfGeneratorService;
     private final InvoiceStorageService storageService;
+    private final OrderCurrencySnapshotService currencySnapshotService;
 
     public InvoiceService(InvoiceRepository invoiceRepository,
                           OrderRepository orderRepository,
                           InvoiceNumberGeneratorService numberGeneratorService,
                           InvoicePdfGeneratorService pdfGeneratorService,
-                          InvoiceStorageService storageService) {
+                          InvoiceStorageService storageService,
+                          OrderCurrencySnapshotService currencySnapshotService) {
         this.invoiceRepository = invoiceRepository;
         this.orderRepository = orderRepository;
         this.numberGeneratorService = numberGeneratorService;
         this.pdfGeneratorService = pdfGeneratorService;
         this.storageService = storageService;
+        this.currencySnapshotService = currencySnapshotService;
     }
 
     @Transactional
@@ -91,13 +96,14 @@ public class InvoiceService {
             invoice.setStatus(InvoiceStatus.GENERATED);
             
             // Financials
+            OrderCurrencySnapshot currencySnapshot = resolveCurrencySnapshot(order);
             invoice.setCurrencyBase("INR");
             invoice.setCurrencyBuyer(order.getCurrencyCode());
-            invoice.setExchangeRateMicros(order.getCurrencySnapshot() != null ? order.getCurrencySnapshot().getExchangeRateMicros() : 1_000_000L);
+            invoice.setExchangeRateMicros(currencySnapshot != null ? currencySnapshot.getExchangeRateMicros() : 1_000_000L);
             invoice.setTotalInrPaise(order.getTotalAmountPaise());
             invoice.setSubtotalInrPaise(calculateSubtotal(order));
             invoice.setShippingInrPaise(order.getShippingQuote() != null ? order.getShippingQuote().getShippingCostPaise() : 0);
-            invoice.setTotalBuyerMinor(order.getCurrencySnapshot() != null ? order.getCurrencySnapshot().getConvertedTotalMinor() : 0);
+            invoice.setTotalBuyerMinor(currencySnapshot != null ? currencySnapshot.getConvertedTotalMinor() : 0);
             
             // Metadata
             invoice.setIecNumber(seller.getKyc() != null ? seller.getKyc().getIecNumber() : null);
@@ -122,6 +128,22 @@ public class InvoiceService {
         }
     }
     
+    /**
+     * The order's locked rate; orders in a foreign currency that never got one are given the
+     * stored rate as of their creation, so regenerated invoices don't depend on today's rate.
+     */
+    private OrderCurrencySnapshot resolveCurrencySnapshot(Order order) {
+        if (order.getCurrencySnapshot() != null || "INR".equals(order.getCurrencyCode())) {
+            return order.getCurrencySnapshot();
+        }
+        try {
+            return currencySnapshotService.lockHistoricalRateForOrder(order);
+        } catch (ExchangeRateUnavailableException e) {
+            log.warn("No stored exchange rate for order {} in {}: {}", order.getId(), order.getCurrencyCode(), e.getMessage());
+            return null;
+        }
+    }
+
     private long calculateSubtotal(Order order) {
         // Subtotal = Sum of Item Totals
         return order.getItems().stream()
@@ -4,7 +4,9 @@ import com.IndiExport.backend.dto.review.*;
 import com.IndiExport.backend.entity.*;
 import com.IndiExport.backend.exception.ReviewExceptions.*;
 import com.IndiExport.backend.repository.*;
+import com.IndiExport.backend.service.search.ProductChangedEvent;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -24,6 +26,7 @@ public class ReviewService {
     private final ProductRepository productRepository;
     private final BuyerProfileRepository buyerProfileRepository;
     private final OrderRepository orderRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public ReviewResponse createReview(UUID buyerId, CreateReviewRequest request) {
@@ -161,6 +164,7 @@ public class ReviewService {
             product.setAverageRatingMilli(0);
         }
         productRepository.save(product);
+        eventPublisher.publishEvent(new ProductChangedEvent(product.getId()));
     }
 
     private ReviewResponse mapToResponse(Review review) {
@@ -273,7 +273,7 @@ public class RfqService {
         response.setQuoteCount(rfq.getQuotes() != null ? rfq.getQuotes().size() : 0);
 
         if (rfq.getQuotes() != null) {
-            response.setQuotes(rfq.getQuotes().stream().map(q -> {
+            List<SellerQuoteResponse> quotes = rfq.getQuotes().stream().map(q -> {
                 SellerQuoteResponse sqr = new SellerQuoteResponse();
                 sqr.setId(q.getId());
                 sqr.setSellerId(q.getSeller().getId());
@@ -285,21 +285,26 @@ public class RfqService {
                 sqr.setValidityUntil(q.getValidityUntil());
                 sqr.setStatus(q.getStatus());
                 sqr.setCreatedAt(q.getCreatedAt());
-
-                // Convert seller's INR quote to buyer's target currency
-                if (rfq.getTargetCurrency() != null) {
-                    try {
-                        sqr.setTargetCurrency(rfq.getTargetCurrency());
-                        sqr.setConvertedPriceMinor(
-                                currencyService.convertFromINR(q.getQuotedPriceInrPaise(), rfq.getTargetCurrency())
-                                        .getConvertedPriceMinor());
-                    } catch (Exception e) {
-                        log.warn("Failed to convert seller quote to buyer currency: {}", e.getMessage());
+                return sqr;
+            }).collect(Collectors.toList());
+
+            // Convert sellers' INR quotes to buyer's target currency, one rate lookup for all quotes
+            if (rfq.getTargetCurrency() != null && !quotes.isEmpty()) {
+                quotes.forEach(sqr -> sqr.setTargetCurrency(rfq.getTargetCurrency()));
+                try {
+                    CurrencyDto.ConvertedPriceInfo[] converted = currencyService.convertAllFromINR(
+                            quotes.stream().mapToLong(SellerQuoteResponse::getQuotedPriceInrPaise).toArray(),
+                            rfq.getTargetCurrency());
+                    for (int i = 0; i < converted.length; i++) {
+                        if (converted[i] != null) {
+                            quotes.get(i).setConvertedPriceMinor(converted[i].getConvertedPriceMinor());
+                        }
                     }
+                } catch (Exception e) {
+                    log.warn("Failed to convert seller quotes to buyer currency: {}", e.getMessage());
                 }
-
-                return sqr;
-            }).collect(Collectors.toList()));
+            }
+            response.setQuotes(quotes);
         }
 
         return response;
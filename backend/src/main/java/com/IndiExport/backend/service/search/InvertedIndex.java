@@ -0,0 +1,152 @@
+package com.IndiExport.backend.service.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index (term → postings of product ids) with BM25 ranking.
+ *
+ * Design:
+ * - Postings are kept in a sorted map so a query term also matches indexed terms
+ * it is a prefix of ("shirt" finds "shirts"), scored at a reduced weight
+ * - Documents are token lists; callers express field boosts by repeating tokens
+ * - A read/write lock guards all structures: searches run concurrently, while
+ * the rare product edits take the write lock briefly
+ */
+public class InvertedIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final double PREFIX_MATCH_WEIGHT = 0.5;
+
+    private final NavigableMap<String, Map<UUID, Integer>> postings = new TreeMap<>();
+    private final Map<UUID, Map<String, Integer>> termFrequencies = new HashMap<>();
+    private final Map<UUID, Integer> documentLengths = new HashMap<>();
+    private long totalLength;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Index (or re-index) a document. Any previous postings for the id are replaced.
+     */
+    public void put(UUID id, List<String> tokens) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+            if (tokens.isEmpty()) {
+                return;
+            }
+
+            Map<String, Integer> frequencies = new HashMap<>();
+            for (String token : tokens) {
+                frequencies.merge(token, 1, Integer::sum);
+            }
+            frequencies.forEach((term, tf) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(id, tf));
+
+            termFrequencies.put(id, frequencies);
+            documentLengths.put(id, tokens.size());
+            totalLength += tokens.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(UUID id) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return termFrequencies.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rank documents against the query tokens.
+     *
+     * @param queryTokens normalised query terms
+     * @param matchAll    true = every query term must match (AND), false = any term (OR)
+     * @param limit       maximum number of hits to return
+     * @return hits ordered by descending BM25 score
+     */
+    public List<SearchHit> search(List<String> queryTokens, boolean matchAll, int limit) {
+        lock.readLock().lock();
+        try {
+            int documentCount = termFrequencies.size();
+            if (documentCount == 0 || queryTokens.isEmpty()) {
+                return List.of();
+            }
+            double avgLength = (double) totalLength / documentCount;
+
+            Set<String> terms = new LinkedHashSet<>(queryTokens);
+            Map<UUID, Double> scores = new HashMap<>();
+            Map<UUID, Integer> matchedTerms = new HashMap<>();
+
+            for (String term : terms) {
+                Set<UUID> matchedByTerm = new HashSet<>();
+                for (Map.Entry<String, Map<UUID, Integer>> entry
+                        : postings.subMap(term, true, term + Character.MAX_VALUE, true).entrySet()) {
+                    double weight = entry.getKey().equals(term) ? 1.0 : PREFIX_MATCH_WEIGHT;
+                    Map<UUID, Integer> docs = entry.getValue();
+                    double idf = Math.log(1 + (documentCount - docs.size() + 0.5) / (docs.size() + 0.5));
+
+                    for (Map.Entry<UUID, Integer> doc : docs.entrySet()) {
+                        int tf = doc.getValue();
+                        double norm = K1 * (1 - B + B * documentLengths.get(doc.getKey()) / avgLength);
+                        scores.merge(doc.getKey(), weight * idf * tf * (K1 + 1) / (tf + norm), Double::sum);
+                        matchedByTerm.add(doc.getKey());
+                    }
+                }
+                matchedByTerm.forEach(id -> matchedTerms.merge(id, 1, Integer::sum));
+            }
+
+            int required = matchAll ? terms.size() : 1;
+            List<SearchHit> hits = new ArrayList<>();
+            scores.forEach((id, score) -> {
+                if (matchedTerms.get(id) >= required) {
+                    hits.add(new SearchHit(id, score));
+                }
+            });
+            hits.sort(Comparator.comparingDouble(SearchHit::score).reversed()
+                    .thenComparing(SearchHit::productId));
+            return hits.size() > limit ? new ArrayList<>(hits.subList(0, limit)) : hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeInternal(UUID id) {
+        Map<String, Integer> frequencies = termFrequencies.remove(id);
+        if (frequencies == null) {
+            return;
+        }
+        for (String term : frequencies.keySet()) {
+            Map<UUID, Integer> docs = postings.get(term);
+            if (docs != null) {
+                docs.remove(id);
+                if (docs.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+        totalLength -= documentLengths.remove(id);
+    }
+}
@@ -0,0 +1,406 @@
+package com.IndiExport.backend.service.search;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.IntConsumer;
+
+/**
+ * Compressed set of non-negative ints, laid out like a Roaring bitmap.
+ *
+ * Values are split by their high 16 bits into chunks of 65536. A chunk holding at most
+ * 4096 values is a sorted char array (2 bytes per value); a denser chunk is a fixed
+ * 8 KB bitmap. Sparse attribute values therefore cost little memory, and AND/OR/AND NOT
+ * work chunk by chunk, word by word on dense chunks. Not thread-safe.
+ */
+public final class OrdinalBitmap {
+
+    private static final int ARRAY_MAX = 4096;
+    private static final int WORDS = 1024; // 65536 bits
+
+    private final TreeMap<Integer, Container> chunks = new TreeMap<>();
+
+    public static OrdinalBitmap of(int... values) {
+        OrdinalBitmap bitmap = new OrdinalBitmap();
+        for (int value : values) {
+            bitmap.add(value);
+        }
+        return bitmap;
+    }
+
+    public void add(int value) {
+        int high = value >>> 16;
+        Container chunk = chunks.get(high);
+        chunks.put(high, chunk == null ? new ArrayContainer().add((char) value) : chunk.add((char) value));
+    }
+
+    public void remove(int value) {
+        int high = value >>> 16;
+        Container chunk = chunks.get(high);
+        if (chunk != null) {
+            put(chunks, high, chunk.remove((char) value));
+        }
+    }
+
+    public boolean contains(int value) {
+        Container chunk = chunks.get(value >>> 16);
+        return chunk != null && chunk.contains((char) value);
+    }
+
+    public int cardinality() {
+        int cardinality = 0;
+        for (Container chunk : chunks.values()) {
+            cardinality += chunk.cardinality();
+        }
+        return cardinality;
+    }
+
+    public boolean isEmpty() {
+        return chunks.isEmpty();
+    }
+
+    public OrdinalBitmap and(OrdinalBitmap other) {
+        OrdinalBitmap result = new OrdinalBitmap();
+        OrdinalBitmap small = chunks.size() <= other.chunks.size() ? this : other;
+        OrdinalBitmap large = small == this ? other : this;
+        for (Map.Entry<Integer, Container> entry : small.chunks.entrySet()) {
+            Container match = large.chunks.get(entry.getKey());
+            if (match != null) {
+                put(result.chunks, entry.getKey(), entry.getValue().and(match));
+            }
+        }
+        return result;
+    }
+
+    public OrdinalBitmap or(OrdinalBitmap other) {
+        OrdinalBitmap result = copy();
+        result.addAll(other);
+        return result;
+    }
+
+    /**
+     * In-place union; cheaper than {@link #or} when folding many bitmaps into one.
+     */
+    public void addAll(OrdinalBitmap other) {
+        for (Map.Entry<Integer, Container> entry : other.chunks.entrySet()) {
+            Container mine = chunks.get(entry.getKey());
+            chunks.put(entry.getKey(), mine == null ? entry.getValue().copy() : mine.or(entry.getValue()));
+        }
+    }
+
+    public OrdinalBitmap andNot(OrdinalBitmap other) {
+        OrdinalBitmap result = new OrdinalBitmap();
+        for (Map.Entry<Integer, Container> entry : chunks.entrySet()) {
+            Container theirs = other.chunks.get(entry.getKey());
+            put(result.chunks, entry.getKey(), theirs == null ? entry.getValue().copy() : entry.getValue().andNot(theirs));
+        }
+        return result;
+    }
+
+    public OrdinalBitmap copy() {
+        OrdinalBitmap result = new OrdinalBitmap();
+        chunks.forEach((high, chunk) -> result.chunks.put(high, chunk.copy()));
+        return result;
+    }
+
+    /**
+     * Visit values in ascending order.
+     */
+    public void forEach(IntConsumer consumer) {
+        chunks.forEach((high, chunk) -> chunk.forEach(high << 16, consumer));
+    }
+
+    public int[] toArray() {
+        int[] values = new int[cardinality()];
+        int[] next = {0};
+        forEach(value -> values[next[0]++] = value);
+        return values;
+    }
+
+    private static void put(TreeMap<Integer, Container> chunks, int high, Container chunk) {
+        if (chunk.cardinality() == 0) {
+            chunks.remove(high);
+        } else {
+            chunks.put(high, chunk);
+        }
+    }
+
+    private interface Container {
+        Container add(char value);
+
+        Container remove(char value);
+
+        boolean contains(char value);
+
+        int cardinality();
+
+        Container and(Container other);
+
+        Container or(Container other);
+
+        Container andNot(Container other);
+
+        Container copy();
+
+        void forEach(int base, IntConsumer consumer);
+    }
+
+    /** Sorted distinct values, for chunks with at most ARRAY_MAX values. */
+    private static final class ArrayContainer implements Container {
+        private char[] values;
+        private int size;
+
+        ArrayContainer() {
+            this(new char[4], 0);
+        }
+
+        ArrayContainer(char[] values, int size) {
+            this.values = values;
+            this.size = size;
+        }
+
+        @Override
+        public Container add(char value) {
+            int index = Arrays.binarySearch(values, 0, size, value);
+            if (index >= 0) {
+                return this;
+            }
+            if (size == ARRAY_MAX) {
+                return toBitmap().add(value);
+            }
+            int insertAt = -index - 1;
+            if (size == values.length) {
+                values = Arrays.copyOf(values, Math.min(Math.max(values.length * 2, 4), ARRAY_MAX));
+            }
+            System.arraycopy(values, insertAt, values, insertAt + 1, size - insertAt);
+            values[insertAt] = value;
+            size++;
+            return this;
+        }
+
+        @Override
+        public Container remove(char value) {
+            int index = Arrays.binarySearch(values, 0, size, value);
+            if (index >= 0) {
+                System.arraycopy(values, index + 1, values, index, size - index - 1);
+                size--;
+            }
+            return this;
+        }
+
+        @Override
+        public boolean contains(char value) {
+            return Arrays.binarySearch(values, 0, size, value) >= 0;
+        }
+
+        @Override
+        public int cardinality() {
+            return size;
+        }
+
+        @Override
+        public Container and(Container other) {
+            char[] out = new char[size];
+            int n = 0;
+            if (other instanceof ArrayContainer array) {
+                int i = 0, j = 0;
+                while (i < size && j < array.size) {
+                    if (values[i] < array.values[j]) {
+                        i++;
+                    } else if (values[i] > array.values[j]) {
+                        j++;
+                    } else {
+                        out[n++] = values[i];
+                        i++;
+                        j++;
+                    }
+                }
+            } else {
+                for (int i = 0; i < size; i++) {
+                    if (other.contains(values[i])) {
+                        out[n++] = values[i];
+                    }
+                }
+            }
+            return new ArrayContainer(out, n);
+        }
+
+        @Override
+        public Container or(Container other) {
+            if (other instanceof BitmapContainer bitmap) {
+                return bitmap.or(this);
+            }
+            ArrayContainer array = (ArrayContainer) other;
+            char[] out = new char[size + array.size];
+            int n = 0, i = 0, j = 0;
+            while (i < size || j < array.size) {
+                if (j == array.size || (i < size && values[i] < array.values[j])) {
+                    out[n++] = values[i++];
+                } else if (i == size || values[i] > array.values[j]) {
+                    out[n++] = array.values[j++];
+                } else {
+                    out[n++] = values[i++];
+                    j++;
+                }
+            }
+            ArrayContainer union = new ArrayContainer(out, n);
+            return n > ARRAY_MAX ? union.toBitmap() : union;
+        }
+
+        @Override
+        public Container andNot(Container other) {
+            char[] out = new char[size];
+            int n = 0;
+            for (int i = 0; i < size; i++) {
+                if (!other.contains(values[i])) {
+                    out[n++] = values[i];
+                }
+            }
+            return new ArrayContainer(out, n);
+        }
+
+        @Override
+        public Container copy() {
+            return new ArrayContainer(Arrays.copyOf(values, Math.max(size, 1)), size);
+        }
+
+        @Override
+        public void forEach(int base, IntConsumer consumer) {
+            for (int i = 0; i < size; i++) {
+                consumer.accept(base | values[i]);
+            }
+        }
+
+        BitmapContainer toBitmap() {
+            BitmapContainer bitmap = new BitmapContainer(new long[WORDS], 0);
+            for (int i = 0; i < size; i++) {
+                bitmap.add(values[i]);
+            }
+            return bitmap;
+        }
+    }
+
+    /** One bit per possible value, for chunks with more than ARRAY_MAX values. */
+    private static final class BitmapContainer implements Container {
+        private final long[] words;
+        private int cardinality;
+
+        BitmapContainer(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        static Container of(long[] words) {
+            int cardinality = 0;
+            for (long word : words) {
+                cardinality += Long.bitCount(word);
+            }
+            BitmapContainer bitmap = new BitmapContainer(words, cardinality);
+            return cardinality > ARRAY_MAX ? bitmap : bitmap.toArray();
+        }
+
+        @Override
+        public Container add(char value) {
+            long mask = 1L << value;
+            if ((words[value >>> 6] & mask) == 0) {
+                words[value >>> 6] |= mask;
+                cardinality++;
+            }
+            return this;
+        }
+
+        @Override
+        public Container remove(char value) {
+            long mask = 1L << value;
+            if ((words[value >>> 6] & mask) != 0) {
+                words[value >>> 6] &= ~mask;
+                cardinality--;
+            }
+            return cardinality > ARRAY_MAX ? this : toArray();
+        }
+
+        @Override
+        public boolean contains(char value) {
+            return (words[value >>> 6] & (1L << value)) != 0;
+        }
+
+        @Override
+        public int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        public Container and(Container other) {
+            if (other instanceof ArrayContainer array) {
+                return array.and(this);
+            }
+            long[] theirs = ((BitmapContainer) other).words;
+            long[] out = new long[WORDS];
+            for (int i = 0; i < WORDS; i++) {
+                out[i] = words[i] & theirs[i];
+            }
+            return of(out);
+        }
+
+        @Override
+        public Container or(Container other) {
+            long[] out = words.clone();
+            if (other instanceof ArrayContainer array) {
+                for (int i = 0; i < array.size; i++) {
+                    out[array.values[i] >>> 6] |= 1L << array.values[i];
+                }
+            } else {
+                long[] theirs = ((BitmapContainer) other).words;
+                for (int i = 0; i < WORDS; i++) {
+                    out[i] |= theirs[i];
+                }
+            }
+            return of(out);
+        }
+
+        @Override
+        public Container andNot(Container other) {
+            long[] out = words.clone();
+            if (other instanceof ArrayContainer array) {
+                for (int i = 0; i < array.size; i++) {
+                    out[array.values[i] >>> 6] &= ~(1L << array.values[i]);
+                }
+            } else {
+                long[] theirs = ((BitmapContainer) other).words;
+                for (int i = 0; i < WORDS; i++) {
+                    out[i] &= ~theirs[i];
+                }
+            }
+            return of(out);
+        }
+
+        @Override
+        public Container copy() {
+            return new BitmapContainer(words.clone(), cardinality);
+        }
+
+        @Override
+        public void forEach(int base, IntConsumer consumer) {
+            for (int i = 0; i < WORDS; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    consumer.accept(base | (i << 6) | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+        }
+
+        ArrayContainer toArray() {
+            char[] values = new char[cardinality];
+            int n = 0;
+            for (int i = 0; i < WORDS; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    values[n++] = (char) ((i << 6) | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            return new ArrayContainer(values, n);
+        }
+    }
+}
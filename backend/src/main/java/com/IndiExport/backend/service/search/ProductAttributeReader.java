@@ -0,0 +1,62 @@
+package com.IndiExport.backend.service.search;
+
+import com.IndiExport.backend.entity.Incoterm;
+import com.IndiExport.backend.entity.Product;
+import com.IndiExport.backend.entity.SellerKyc;
+import com.IndiExport.backend.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Loads {@link ProductAttributes} for the in-memory catalogue structures: the whole ACTIVE
+ * catalogue from two scalar queries (no entities, no lazy loading), or one product by id.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductAttributeReader {
+
+    private final ProductRepository productRepository;
+
+    public List<ProductAttributes> readActive() {
+        Map<UUID, Map<UUID, String>> categoriesByProduct = new HashMap<>();
+        for (Object[] row : productRepository.findCategoryRowsByStatus(Product.ProductStatus.ACTIVE)) {
+            categoriesByProduct.computeIfAbsent((UUID) row[0], id -> new HashMap<>()).put((UUID) row[1], (String) row[2]);
+        }
+
+        List<ProductAttributes> products = new ArrayList<>();
+        for (Object[] row : productRepository.findAttributeRowsByStatus(Product.ProductStatus.ACTIVE)) {
+            UUID productId = (UUID) row[0];
+            products.add(new ProductAttributes(
+                    productId,
+                    ((Number) row[1]).longValue(),
+                    ((Number) row[2]).intValue(),
+                    row[3] != null ? ((Number) row[3]).intValue() : null,
+                    (Incoterm) row[4],
+                    (String) row[5],
+                    (String) row[6],
+                    (UUID) row[7],
+                    row[8] == SellerKyc.VerificationStatus.VERIFIED,
+                    categoriesByProduct.getOrDefault(productId, Map.of()),
+                    (LocalDateTime) row[9],
+                    row[10] != null ? ((Number) row[10]).intValue() : 0));
+        }
+        return products;
+    }
+
+    /**
+     * Must run inside a transaction; empty when the product is missing or not ACTIVE.
+     */
+    public Optional<ProductAttributes> readActive(UUID productId) {
+        return productRepository.findById(productId)
+                .filter(product -> product.getStatus() == Product.ProductStatus.ACTIVE)
+                .map(ProductAttributes::of);
+    }
+}
@@ -0,0 +1,44 @@
+package com.IndiExport.backend.service.search;
+
+import com.IndiExport.backend.entity.Category;
+import com.IndiExport.backend.entity.Incoterm;
+import com.IndiExport.backend.entity.Product;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Filterable and sortable attributes of one ACTIVE product, as held by the in-memory
+ * catalogue structures ({@link ProductFacetSnapshot}, {@link ProductBitmapIndex}).
+ *
+ * @param categories category id to category name
+ */
+public record ProductAttributes(UUID id, long pricePaise, int ratingMilli, Integer leadTimeDays, Incoterm incoterm,
+                                String originCountry, String hsCode, UUID sellerId, boolean verifiedSeller,
+                                Map<UUID, String> categories, LocalDateTime createdAt, int totalOrders) {
+
+    /**
+     * Reads the attributes of a loaded product; seller, KYC and categories must be initialisable.
+     */
+    public static ProductAttributes of(Product product) {
+        Map<UUID, String> categories = new HashMap<>();
+        for (Category category : product.getCategories()) {
+            categories.put(category.getId(), category.getName());
+        }
+        return new ProductAttributes(
+                product.getId(),
+                product.getPricePaise(),
+                product.getAverageRatingMilli(),
+                product.getLeadTimeDays(),
+                product.getIncoterm(),
+                product.getOriginCountry(),
+                product.getHsCode(),
+                product.getSeller().getId(),
+                product.getSeller().isVerified(),
+                categories,
+                product.getCreatedAt(),
+                product.getTotalOrders() != null ? product.getTotalOrders() : 0);
+    }
+}
@@ -0,0 +1,346 @@
+package com.IndiExport.backend.service.search;
+
+import com.IndiExport.backend.entity.Incoterm;
+
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Bitmap index over the structured attributes of ACTIVE products.
+ *
+ * Each product holds a dense int ordinal (freed ordinals are reused, keeping bitmaps
+ * compact) and every low-cardinality attribute value maps to an {@link OrdinalBitmap} of
+ * the products that have it. A filter combination is answered with bitmap AND/OR; the
+ * remaining range and prefix predicates (price, HS code) are checked against primitive
+ * columns for the surviving ordinals only. Sorting uses the same columns and keeps just
+ * offset + limit candidates, so the database is only asked to load the final page.
+ *
+ * Maintained incrementally: {@link #put} replaces a product's postings, {@link #remove}
+ * drops them and {@link #setSellerVerified} flips the verified bit for all of a seller's
+ * products at once.
+ */
+public class ProductBitmapIndex {
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<UUID, Integer> ordinals = new HashMap<>();
+    private final ArrayDeque<Integer> freeOrdinals = new ArrayDeque<>();
+    private int nextOrdinal;
+
+    // Columns indexed by ordinal
+    private ProductAttributes[] rows = new ProductAttributes[1024];
+    private long[] pricePaise = new long[1024];
+    private int[] ratingMilli = new int[1024];
+    private long[] createdAt = new long[1024];
+    private int[] totalOrders = new int[1024];
+
+    // Bitmaps per attribute value; live is every indexed (ACTIVE) product
+    private final OrdinalBitmap live = new OrdinalBitmap();
+    private final OrdinalBitmap verified = new OrdinalBitmap();
+    private final Map<Incoterm, OrdinalBitmap> byIncoterm = new EnumMap<>(Incoterm.class);
+    private final Map<UUID, OrdinalBitmap> byCategory = new HashMap<>();
+    private final Map<UUID, String> categoryNames = new HashMap<>();
+    private final Map<UUID, OrdinalBitmap> bySeller = new HashMap<>();
+    private final Map<String, OrdinalBitmap> byOriginCountry = new HashMap<>();
+    private final TreeMap<Integer, OrdinalBitmap> byLeadTime = new TreeMap<>();
+    private final TreeMap<Integer, OrdinalBitmap> byRating = new TreeMap<>();
+
+    public void put(ProductAttributes product) {
+        lock.writeLock().lock();
+        try {
+            Integer existing = ordinals.get(product.id());
+            int ordinal;
+            if (existing != null) {
+                ordinal = existing;
+                unindex(ordinal);
+            } else {
+                ordinal = allocate();
+                ordinals.put(product.id(), ordinal);
+            }
+            index(ordinal, product);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(UUID productId) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.remove(productId);
+            if (ordinal != null) {
+                unindex(ordinal);
+                rows[ordinal] = null;
+                freeOrdinals.push(ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void setSellerVerified(UUID sellerId, boolean isVerified) {
+        lock.writeLock().lock();
+        try {
+            OrdinalBitmap products = bySeller.get(sellerId);
+            if (products != null) {
+                products.forEach(isVerified ? verified::add : verified::remove);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param sortKey sort order, or null to keep the order of {@code criteria.keywordMatches()}
+     *                (relevance); newest first when there are no keyword matches either
+     */
+    public ProductIdPage search(ProductFilterCriteria criteria, ProductSearchCursor.SortKey sortKey, long offset, int limit) {
+        lock.readLock().lock();
+        try {
+            OrdinalBitmap matches = match(criteria);
+            int total = matches.cardinality();
+            int wanted = (int) Math.min(total, offset + limit);
+            if (offset >= wanted) {
+                return new ProductIdPage(List.of(), total);
+            }
+
+            Comparator<Integer> order = sortKey == null && criteria.keywordMatches() != null
+                    ? byRank(criteria.keywordMatches())
+                    : bySortKey(sortKey != null ? sortKey : ProductSearchCursor.SortKey.NEWEST);
+
+            // Bounded heap of the best offset + limit ordinals; the worst one is on top
+            PriorityQueue<Integer> best = new PriorityQueue<>(wanted + 1, order.reversed());
+            matches.forEach(ordinal -> {
+                best.offer(ordinal);
+                if (best.size() > wanted) {
+                    best.poll();
+                }
+            });
+            List<Integer> sorted = new ArrayList<>(best);
+            sorted.sort(order);
+
+            List<UUID> ids = new ArrayList<>(limit);
+            for (int i = (int) offset; i < sorted.size(); i++) {
+                ids.add(rows[sorted.get(i)].id());
+            }
+            return new ProductIdPage(ids, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private OrdinalBitmap match(ProductFilterCriteria criteria) {
+        OrdinalBitmap result = live;
+
+        if (criteria.keywordMatches() != null) {
+            result = result.and(toBitmap(criteria.keywordMatches()));
+        }
+        if (criteria.categoryId() != null) {
+            result = result.and(orEmpty(byCategory.get(criteria.categoryId())));
+        } else if (criteria.categoryName() != null && !criteria.categoryName().isBlank()) {
+            String needle = criteria.categoryName().toLowerCase(Locale.ROOT);
+            OrdinalBitmap named = new OrdinalBitmap();
+            for (Map.Entry<UUID, OrdinalBitmap> entry : byCategory.entrySet()) {
+                String name = categoryNames.get(entry.getKey());
+                if (name != null && name.toLowerCase(Locale.ROOT).contains(needle)) {
+                    named.addAll(entry.getValue());
+                }
+            }
+            result = result.and(named);
+        }
+        if (criteria.incoterm() != null) {
+            result = result.and(orEmpty(byIncoterm.get(criteria.incoterm())));
+        }
+        if (Boolean.TRUE.equals(criteria.verifiedSeller())) {
+            result = result.and(verified);
+        }
+        if (criteria.sellerId() != null) {
+            result = result.and(orEmpty(bySeller.get(criteria.sellerId())));
+        }
+        if (criteria.originCountry() != null && !criteria.originCountry().isBlank()) {
+            result = result.and(orEmpty(byOriginCountry.get(ProductFacetSnapshot.normalizeCountry(criteria.originCountry()))));
+        }
+        if (criteria.maxLeadTimeDays() != null) {
+            result = result.and(union(byLeadTime.headMap(criteria.maxLeadTimeDays(), true).values()));
+        }
+        if (criteria.minRating() != null) {
+            int minRatingMilli = (int) (criteria.minRating() * 1000);
+            result = result.and(union(byRating.tailMap(minRatingMilli, true).values()));
+        }
+
+        // Range and prefix predicates: checked per surviving ordinal against the columns
+        Long minPrice = criteria.minPricePaise();
+        Long maxPrice = criteria.maxPricePaise();
+        String hsCodePrefix = criteria.hsCodePrefix() != null && !criteria.hsCodePrefix().isBlank()
+                ? criteria.hsCodePrefix()
+                : null;
+        if (minPrice != null || maxPrice != null || hsCodePrefix != null) {
+            long lo = minPrice != null ? minPrice : Long.MIN_VALUE;
+            long hi = maxPrice != null ? maxPrice : Long.MAX_VALUE;
+            OrdinalBitmap scanned = new OrdinalBitmap();
+            result.forEach(ordinal -> {
+                String hsCode = rows[ordinal].hsCode();
+                if (pricePaise[ordinal] >= lo && pricePaise[ordinal] <= hi
+                        && (hsCodePrefix == null || (hsCode != null && hsCode.startsWith(hsCodePrefix)))) {
+                    scanned.add(ordinal);
+                }
+            });
+            result = scanned;
+        }
+        return result;
+    }
+
+    private Comparator<Integer> bySortKey(ProductSearchCursor.SortKey sortKey) {
+        Comparator<Integer> order = switch (sortKey) {
+            case NEWEST -> Comparator.comparingLong((Integer o) -> createdAt[o]).reversed();
+            case PRICE_ASC -> Comparator.comparingLong((Integer o) -> pricePaise[o]);
+            case PRICE_DESC -> Comparator.comparingLong((Integer o) -> pricePaise[o]).reversed();
+            case RATING -> Comparator.comparingInt((Integer o) -> ratingMilli[o]).reversed();
+            case POPULARITY -> Comparator.comparingInt((Integer o) -> totalOrders[o]).reversed();
+        };
+        // id as a final tie-breaker keeps page boundaries stable between requests
+        return order.thenComparing(o -> rows[o].id());
+    }
+
+    private Comparator<Integer> byRank(Collection<UUID> rankedIds) {
+        Map<Integer, Integer> rank = new HashMap<>();
+        int position = 0;
+        for (UUID id : rankedIds) {
+            Integer ordinal = ordinals.get(id);
+            if (ordinal != null) {
+                rank.putIfAbsent(ordinal, position);
+            }
+            position++;
+        }
+        return Comparator.comparingInt(o -> rank.getOrDefault(o, Integer.MAX_VALUE));
+    }
+
+    private int allocate() {
+        if (!freeOrdinals.isEmpty()) {
+            return freeOrdinals.pop();
+        }
+        int ordinal = nextOrdinal++;
+        if (ordinal == rows.length) {
+            int capacity = rows.length * 2;
+            rows = Arrays.copyOf(rows, capacity);
+            pricePaise = Arrays.copyOf(pricePaise, capacity);
+            ratingMilli = Arrays.copyOf(ratingMilli, capacity);
+            createdAt = Arrays.copyOf(createdAt, capacity);
+            totalOrders = Arrays.copyOf(totalOrders, capacity);
+        }
+        return ordinal;
+    }
+
+    private void index(int ordinal, ProductAttributes product) {
+        rows[ordinal] = product;
+        pricePaise[ordinal] = product.pricePaise();
+        ratingMilli[ordinal] = product.ratingMilli();
+        createdAt[ordinal] = product.createdAt() != null
+                ? product.createdAt().toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + product.createdAt().getNano()
+                : 0;
+        totalOrders[ordinal] = product.totalOrders();
+
+        live.add(ordinal);
+        if (product.verifiedSeller()) {
+            verified.add(ordinal);
+        }
+        if (product.incoterm() != null) {
+            byIncoterm.computeIfAbsent(product.incoterm(), k -> new OrdinalBitmap()).add(ordinal);
+        }
+        for (Map.Entry<UUID, String> category : product.categories().entrySet()) {
+            byCategory.computeIfAbsent(category.getKey(), k -> new OrdinalBitmap()).add(ordinal);
+            categoryNames.put(category.getKey(), category.getValue());
+        }
+        bySeller.computeIfAbsent(product.sellerId(), k -> new OrdinalBitmap()).add(ordinal);
+        if (product.originCountry() != null) {
+            byOriginCountry.computeIfAbsent(ProductFacetSnapshot.normalizeCountry(product.originCountry()),
+                    k -> new OrdinalBitmap()).add(ordinal);
+        }
+        if (product.leadTimeDays() != null) {
+            byLeadTime.computeIfAbsent(product.leadTimeDays(), k -> new OrdinalBitmap()).add(ordinal);
+        }
+        byRating.computeIfAbsent(product.ratingMilli(), k -> new OrdinalBitmap()).add(ordinal);
+    }
+
+    private void unindex(int ordinal) {
+        ProductAttributes product = rows[ordinal];
+        live.remove(ordinal);
+        verified.remove(ordinal);
+        if (product.incoterm() != null) {
+            removeFrom(byIncoterm, product.incoterm(), ordinal);
+        }
+        for (UUID categoryId : product.categories().keySet()) {
+            if (removeFrom(byCategory, categoryId, ordinal)) {
+                categoryNames.remove(categoryId);
+            }
+        }
+        removeFrom(bySeller, product.sellerId(), ordinal);
+        if (product.originCountry() != null) {
+            removeFrom(byOriginCountry, ProductFacetSnapshot.normalizeCountry(product.originCountry()), ordinal);
+        }
+        if (product.leadTimeDays() != null) {
+            removeFrom(byLeadTime, product.leadTimeDays(), ordinal);
+        }
+        removeFrom(byRating, product.ratingMilli(), ordinal);
+    }
+
+    /**
+     * @return true when the value has no products left and was dropped
+     */
+    private static <K> boolean removeFrom(Map<K, OrdinalBitmap> postings, K key, int ordinal) {
+        OrdinalBitmap bitmap = postings.get(key);
+        if (bitmap == null) {
+            return false;
+        }
+        bitmap.remove(ordinal);
+        if (bitmap.isEmpty()) {
+            postings.remove(key);
+            return true;
+        }
+        return false;
+    }
+
+    private OrdinalBitmap toBitmap(Collection<UUID> productIds) {
+        OrdinalBitmap bitmap = new OrdinalBitmap();
+        for (UUID id : productIds) {
+            Integer ordinal = ordinals.get(id);
+            if (ordinal != null) {
+                bitmap.add(ordinal);
+            }
+        }
+        return bitmap;
+    }
+
+    private static OrdinalBitmap union(Collection<OrdinalBitmap> bitmaps) {
+        OrdinalBitmap result = new OrdinalBitmap();
+        for (OrdinalBitmap bitmap : bitmaps) {
+            result.addAll(bitmap);
+        }
+        return result;
+    }
+
+    private static OrdinalBitmap orEmpty(OrdinalBitmap bitmap) {
+        return bitmap != null ? bitmap : new OrdinalBitmap();
+    }
+}
@@ -0,0 +1,10 @@
+package com.IndiExport.backend.service.search;
+
+import java.util.UUID;
+
+/**
+ * Published whenever a product's searchable state changes (create, edit, status change, rating, delete).
+ * In-memory search structures listen for it after the transaction commits and re-read the product.
+ */
+public record ProductChangedEvent(UUID productId) {
+}
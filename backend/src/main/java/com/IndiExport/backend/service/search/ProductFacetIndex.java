@@ -0,0 +1,83 @@
+package com.IndiExport.backend.service.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Holds the current {@link ProductFacetSnapshot}.
+ *
+ * The snapshot is rebuilt from {@link ProductAttributeReader#readActive()} at startup and, after a
+ * {@link ProductChangedEvent}, by a background job at most once per refresh interval, so a
+ * burst of product edits costs one rebuild and facet requests never wait for one. Counts may
+ * therefore lag writes by up to the refresh interval, independently of the search result
+ * cache; responses carry the snapshot time.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductFacetIndex {
+
+    private final ProductAttributeReader productAttributeReader;
+
+    private volatile ProductFacetSnapshot snapshot;
+    private volatile boolean stale;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        stale = false; // Cleared first so a change committed during the build triggers another one
+
+        List<ProductAttributes> rows = productAttributeReader.readActive();
+        snapshot = new ProductFacetSnapshot(rows, Instant.now());
+        log.info("Product facet snapshot built: {} products in {} ms", rows.size(), System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        stale = true;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSellerVerificationChanged(SellerVerificationChangedEvent event) {
+        stale = true;
+    }
+
+    @Scheduled(fixedDelayString = "${search.facets.refresh-interval-ms:30000}")
+    public void refreshIfStale() {
+        if (stale && snapshot != null) {
+            try {
+                rebuild();
+            } catch (Exception e) {
+                stale = true;
+                log.warn("Product facet snapshot refresh failed, keeping the previous one: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * @return the latest snapshot, building it on the spot if a request beats the startup build
+     */
+    public ProductFacetSnapshot current() {
+        ProductFacetSnapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    rebuild();
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+}
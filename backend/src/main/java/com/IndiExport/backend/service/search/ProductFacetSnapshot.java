@@ -0,0 +1,318 @@
+package com.IndiExport.backend.service.search;
+
+import com.IndiExport.backend.entity.Incoterm;
+
+import java.time.Instant;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Immutable column-oriented copy of the ACTIVE catalogue for facet counting.
+ *
+ * Every product gets a dense ordinal; scalar attributes live in primitive arrays indexed by
+ * that ordinal and discrete attributes (category, incoterm, origin country, verified seller)
+ * are one {@link BitSet} per value. A facet request is a handful of bitset ANDs plus one scan
+ * over the price and rating columns, whatever the number of facet values.
+ *
+ * Counts are disjunctive: the counts of one facet honour every filter except that facet's own,
+ * so the UI can show how many results each alternative value would give.
+ */
+public final class ProductFacetSnapshot {
+
+    /** Lower bounds of the price buckets in paise; the last bucket is open-ended. */
+    static final long[] PRICE_BUCKET_FLOORS_PAISE = {0, 50_000, 100_000, 500_000, 1_000_000, 5_000_000};
+
+    /** "N stars and up" rating buckets, highest first. */
+    static final int[] RATING_BUCKET_FLOORS = {4, 3, 2, 1};
+
+    /** Counts per facet value; price and rating counts follow the bucket floor arrays. */
+    public record Facets(int total, Map<UUID, Integer> categories, Map<Incoterm, Integer> incoterms,
+                         Map<String, Integer> originCountries, int[] priceBuckets, int[] ratingBuckets) {
+    }
+
+    private final Instant builtAt;
+    private final int size;
+    private final Map<UUID, Integer> ordinals;
+
+    private final long[] pricePaise;
+    private final int[] ratingMilli;
+    private final int[] leadTimeDays;
+    private final String[] hsCodes;
+    private final UUID[] sellerIds;
+
+    private final BitSet verified;
+    private final BitSet[] byIncoterm;
+    private final Map<String, BitSet> byOriginCountry;
+    private final Map<UUID, BitSet> byCategory;
+    private final Map<UUID, String> categoryNames;
+
+    public ProductFacetSnapshot(List<ProductAttributes> rows, Instant builtAt) {
+        this.builtAt = builtAt;
+        this.size = rows.size();
+        this.ordinals = new HashMap<>(size * 2);
+        this.pricePaise = new long[size];
+        this.ratingMilli = new int[size];
+        this.leadTimeDays = new int[size];
+        this.hsCodes = new String[size];
+        this.sellerIds = new UUID[size];
+        this.verified = new BitSet(size);
+        this.byIncoterm = new BitSet[Incoterm.values().length];
+        this.byOriginCountry = new TreeMap<>();
+        this.byCategory = new HashMap<>();
+        this.categoryNames = new HashMap<>();
+
+        for (int i = 0; i < size; i++) {
+            ProductAttributes row = rows.get(i);
+            ordinals.put(row.id(), i);
+            pricePaise[i] = row.pricePaise();
+            ratingMilli[i] = row.ratingMilli();
+            leadTimeDays[i] = row.leadTimeDays() != null ? row.leadTimeDays() : Integer.MAX_VALUE;
+            hsCodes[i] = row.hsCode();
+            sellerIds[i] = row.sellerId();
+            if (row.verifiedSeller()) {
+                verified.set(i);
+            }
+            if (row.incoterm() != null) {
+                int slot = row.incoterm().ordinal();
+                if (byIncoterm[slot] == null) {
+                    byIncoterm[slot] = new BitSet(size);
+                }
+                byIncoterm[slot].set(i);
+            }
+            if (row.originCountry() != null) {
+                byOriginCountry.computeIfAbsent(normalizeCountry(row.originCountry()), c -> new BitSet(size)).set(i);
+            }
+            for (Map.Entry<UUID, String> category : row.categories().entrySet()) {
+                byCategory.computeIfAbsent(category.getKey(), c -> new BitSet(size)).set(i);
+                categoryNames.put(category.getKey(), category.getValue());
+            }
+        }
+    }
+
+    public static long[] priceBucketFloorsPaise() {
+        return PRICE_BUCKET_FLOORS_PAISE.clone();
+    }
+
+    public static int[] ratingBucketFloors() {
+        return RATING_BUCKET_FLOORS.clone();
+    }
+
+    public Instant builtAt() {
+        return builtAt;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public String categoryName(UUID categoryId) {
+        return categoryNames.get(categoryId);
+    }
+
+    public Facets facets(ProductFilterCriteria criteria) {
+        // Filters that are not facets themselves apply to every count
+        BitSet base = all();
+        if (criteria.keywordMatches() != null) {
+            base.and(toBitSet(criteria.keywordMatches()));
+        }
+        if (Boolean.TRUE.equals(criteria.verifiedSeller())) {
+            base.and(verified);
+        }
+        if (criteria.hsCodePrefix() != null && !criteria.hsCodePrefix().isBlank()) {
+            base.and(scanHsCodePrefix(criteria.hsCodePrefix()));
+        }
+        if (criteria.maxLeadTimeDays() != null) {
+            base.and(scanLeadTime(criteria.maxLeadTimeDays()));
+        }
+        if (criteria.sellerId() != null) {
+            base.and(scanSeller(criteria.sellerId()));
+        }
+
+        BitSet category = categoryMask(criteria);
+        BitSet incoterm = criteria.incoterm() != null ? orEmpty(byIncoterm[criteria.incoterm().ordinal()]) : null;
+        BitSet country = criteria.originCountry() != null && !criteria.originCountry().isBlank()
+                ? orEmpty(byOriginCountry.get(normalizeCountry(criteria.originCountry())))
+                : null;
+        BitSet price = criteria.minPricePaise() != null || criteria.maxPricePaise() != null
+                ? scanPrice(criteria.minPricePaise(), criteria.maxPricePaise())
+                : null;
+        BitSet rating = criteria.minRating() != null ? scanRating((int) (criteria.minRating() * 1000)) : null;
+
+        BitSet matching = intersect(base, category, incoterm, country, price, rating);
+
+        Map<UUID, Integer> categoryCounts = new LinkedHashMap<>();
+        BitSet forCategory = intersect(base, incoterm, country, price, rating);
+        for (Map.Entry<UUID, BitSet> entry : byCategory.entrySet()) {
+            int count = andCardinality(forCategory, entry.getValue());
+            if (count > 0) {
+                categoryCounts.put(entry.getKey(), count);
+            }
+        }
+
+        Map<Incoterm, Integer> incotermCounts = new LinkedHashMap<>();
+        BitSet forIncoterm = intersect(base, category, country, price, rating);
+        for (Incoterm value : Incoterm.values()) {
+            BitSet members = byIncoterm[value.ordinal()];
+            int count = members != null ? andCardinality(forIncoterm, members) : 0;
+            if (count > 0) {
+                incotermCounts.put(value, count);
+            }
+        }
+
+        Map<String, Integer> countryCounts = new LinkedHashMap<>();
+        BitSet forCountry = intersect(base, category, incoterm, price, rating);
+        for (Map.Entry<String, BitSet> entry : byOriginCountry.entrySet()) {
+            int count = andCardinality(forCountry, entry.getValue());
+            if (count > 0) {
+                countryCounts.put(entry.getKey(), count);
+            }
+        }
+
+        int[] priceCounts = new int[PRICE_BUCKET_FLOORS_PAISE.length];
+        BitSet forPrice = intersect(base, category, incoterm, country, rating);
+        for (int i = forPrice.nextSetBit(0); i >= 0; i = forPrice.nextSetBit(i + 1)) {
+            priceCounts[priceBucket(pricePaise[i])]++;
+        }
+
+        int[] ratingCounts = new int[RATING_BUCKET_FLOORS.length];
+        BitSet forRating = intersect(base, category, incoterm, country, price);
+        for (int i = forRating.nextSetBit(0); i >= 0; i = forRating.nextSetBit(i + 1)) {
+            for (int b = 0; b < RATING_BUCKET_FLOORS.length; b++) {
+                if (ratingMilli[i] >= RATING_BUCKET_FLOORS[b] * 1000) {
+                    ratingCounts[b]++; // Buckets are cumulative: a 4.5 counts towards 4+, 3+, 2+ and 1+
+                }
+            }
+        }
+
+        return new Facets(matching.cardinality(), categoryCounts, incotermCounts, countryCounts,
+                priceCounts, ratingCounts);
+    }
+
+    static int priceBucket(long pricePaise) {
+        for (int b = PRICE_BUCKET_FLOORS_PAISE.length - 1; b > 0; b--) {
+            if (pricePaise >= PRICE_BUCKET_FLOORS_PAISE[b]) {
+                return b;
+            }
+        }
+        return 0;
+    }
+
+    static String normalizeCountry(String country) {
+        return country.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private BitSet categoryMask(ProductFilterCriteria criteria) {
+        if (criteria.categoryId() != null) {
+            return orEmpty(byCategory.get(criteria.categoryId()));
+        }
+        if (criteria.categoryName() == null || criteria.categoryName().isBlank()) {
+            return null;
+        }
+        // Same semantics as the SQL filter: any category whose name contains the text
+        String needle = criteria.categoryName().toLowerCase(Locale.ROOT);
+        BitSet mask = new BitSet(size);
+        for (Map.Entry<UUID, BitSet> entry : byCategory.entrySet()) {
+            String name = categoryNames.get(entry.getKey());
+            if (name != null && name.toLowerCase(Locale.ROOT).contains(needle)) {
+                mask.or(entry.getValue());
+            }
+        }
+        return mask;
+    }
+
+    private BitSet toBitSet(Collection<UUID> productIds) {
+        BitSet mask = new BitSet(size);
+        for (UUID id : productIds) {
+            Integer ordinal = ordinals.get(id);
+            if (ordinal != null) {
+                mask.set(ordinal);
+            }
+        }
+        return mask;
+    }
+
+    private BitSet scanPrice(Long min, Long max) {
+        long lo = min != null ? min : Long.MIN_VALUE;
+        long hi = max != null ? max : Long.MAX_VALUE;
+        BitSet mask = new BitSet(size);
+        for (int i = 0; i < size; i++) {
+            if (pricePaise[i] >= lo && pricePaise[i] <= hi) {
+                mask.set(i);
+            }
+        }
+        return mask;
+    }
+
+    private BitSet scanRating(int minRatingMilli) {
+        BitSet mask = new BitSet(size);
+        for (int i = 0; i < size; i++) {
+            if (ratingMilli[i] >= minRatingMilli) {
+                mask.set(i);
+            }
+        }
+        return mask;
+    }
+
+    private BitSet scanLeadTime(int maxDays) {
+        BitSet mask = new BitSet(size);
+        for (int i = 0; i < size; i++) {
+            if (leadTimeDays[i] <= maxDays) {
+                mask.set(i);
+            }
+        }
+        return mask;
+    }
+
+    private BitSet scanHsCodePrefix(String prefix) {
+        BitSet mask = new BitSet(size);
+        for (int i = 0; i < size; i++) {
+            if (hsCodes[i] != null && hsCodes[i].startsWith(prefix)) {
+                mask.set(i);
+            }
+        }
+        return mask;
+    }
+
+    private BitSet scanSeller(UUID sellerId) {
+        BitSet mask = new BitSet(size);
+        for (int i = 0; i < size; i++) {
+            if (sellerId.equals(sellerIds[i])) {
+                mask.set(i);
+            }
+        }
+        return mask;
+    }
+
+    private BitSet all() {
+        BitSet mask = new BitSet(size);
+        mask.set(0, size);
+        return mask;
+    }
+
+    private BitSet orEmpty(BitSet members) {
+        return members != null ? members : new BitSet(0);
+    }
+
+    private static BitSet intersect(BitSet base, BitSet... masks) {
+        BitSet result = (BitSet) base.clone();
+        for (BitSet mask : masks) {
+            if (mask != null) {
+                result.and(mask);
+            }
+        }
+        return result;
+    }
+
+    private static int andCardinality(BitSet a, BitSet b) {
+        BitSet both = (BitSet) a.clone();
+        both.and(b);
+        return both.cardinality();
+    }
+}
@@ -0,0 +1,34 @@
+package com.IndiExport.backend.service.search;
+
+import com.IndiExport.backend.dto.ProductDto;
+import com.IndiExport.backend.entity.Incoterm;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Structured product filters evaluated in memory; null fields do not restrict.
+ *
+ * @param keywordMatches ids matched by the keyword search, or null when there is no keyword
+ */
+public record ProductFilterCriteria(Collection<UUID> keywordMatches, UUID categoryId, String categoryName,
+                                    Long minPricePaise, Long maxPricePaise, Double minRating,
+                                    Boolean verifiedSeller, Incoterm incoterm, String hsCodePrefix,
+                                    Integer maxLeadTimeDays, String originCountry, UUID sellerId) {
+
+    public static ProductFilterCriteria from(ProductDto.ProductFilterRequest filter, Collection<UUID> keywordMatches) {
+        return new ProductFilterCriteria(
+                keywordMatches,
+                filter.getCategoryId(),
+                filter.getCategory(),
+                filter.resolveMinPricePaise(),
+                filter.resolveMaxPricePaise(),
+                filter.getMinRating(),
+                filter.getVerifiedSeller(),
+                filter.getIncoterm(),
+                filter.getHsCode(),
+                filter.getMaxLeadTimeDays(),
+                filter.getOriginCountry(),
+                filter.getSellerId());
+    }
+}
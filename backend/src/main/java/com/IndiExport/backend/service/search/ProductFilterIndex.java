@@ -0,0 +1,86 @@
+package com.IndiExport.backend.service.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Optional;
+
+/**
+ * Keeps the {@link ProductBitmapIndex} in step with the database: built at startup, then
+ * updated per product from {@link ProductChangedEvent}s and per seller from
+ * {@link SellerVerificationChangedEvent}s once the publishing transaction has committed.
+ */
+@Component
+@Slf4j
+public class ProductFilterIndex {
+
+    private final ProductAttributeReader productAttributeReader;
+    private final boolean enabled;
+
+    private volatile ProductBitmapIndex index;
+
+    public ProductFilterIndex(
+            ProductAttributeReader productAttributeReader,
+            @Value("${search.filter-index.enabled:true}") boolean enabled) {
+        this.productAttributeReader = productAttributeReader;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        ProductBitmapIndex fresh = new ProductBitmapIndex();
+        productAttributeReader.readActive().forEach(fresh::put);
+        index = fresh;
+        log.info("Product filter index built: {} products in {} ms",
+                fresh.size(), System.currentTimeMillis() - start);
+    }
+
+    // Both listeners run before ProductSearchResultCache invalidates, so a reloaded page is
+    // filtered and sorted on the updated attributes
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        ProductBitmapIndex current = index;
+        if (current == null) {
+            return; // Startup build will pick the change up
+        }
+        productAttributeReader.readActive(event.productId())
+                .ifPresentOrElse(current::put, () -> current.remove(event.productId()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onSellerVerificationChanged(SellerVerificationChangedEvent event) {
+        ProductBitmapIndex current = index;
+        if (current != null) {
+            current.setSellerVerified(event.sellerId(), event.verified());
+        }
+    }
+
+    /**
+     * @return empty while the index is disabled or not yet built, so callers can fall back to SQL
+     */
+    public Optional<ProductIdPage> search(
+            ProductFilterCriteria criteria, ProductSearchCursor.SortKey sortKey, long offset, int limit) {
+        ProductBitmapIndex current = index;
+        if (current == null) {
+            return Optional.empty();
+        }
+        return Optional.of(current.search(criteria, sortKey, offset, limit));
+    }
+}
@@ -0,0 +1,112 @@
+package com.IndiExport.backend.service.search;
+
+import com.IndiExport.backend.util.KeywordUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * PostgreSQL full-text keyword search (search.keyword-engine=fulltext).
+ *
+ * Products carry a weighted {@code search_vector} tsvector (name 'A' > brand/tags 'B'
+ * > description 'C') backed by a GIN index, so a keyword lookup is an index probe
+ * instead of a LIKE scan. The column is not mapped on the entity: it is created at
+ * startup and rewritten after every committed {@link ProductChangedEvent}.
+ */
+@Component
+@ConditionalOnProperty(name = "search.keyword-engine", havingValue = "fulltext")
+@RequiredArgsConstructor
+@Slf4j
+public class ProductFullTextSearch {
+
+    private static final String TS_CONFIG = "english";
+
+    private static final String VECTOR_EXPRESSION = """
+            setweight(to_tsvector('%1$s', coalesce(p.name, '')), 'A') ||
+            setweight(to_tsvector('%1$s', coalesce(p.brand, '') || ' ' || coalesce(
+                (SELECT string_agg(t.name, ' ') FROM product_tags pt JOIN tags t ON t.id = pt.tag_id
+                 WHERE pt.product_id = p.id), '')), 'B') ||
+            setweight(to_tsvector('%1$s', coalesce(p.description, '')), 'C')
+            """.formatted(TS_CONFIG);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureSchema() {
+        try {
+            jdbcTemplate.execute("ALTER TABLE products ADD COLUMN IF NOT EXISTS search_vector tsvector");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_products_search_vector ON products USING GIN (search_vector)");
+
+            int backfilled = jdbcTemplate.update(
+                    "UPDATE products p SET search_vector = " + VECTOR_EXPRESSION + " WHERE p.search_vector IS NULL");
+            log.info("Full-text search column ready ({} products backfilled)", backfilled);
+        } catch (DataAccessException e) {
+            log.error("Failed to prepare products.search_vector, keyword search will fall back to LIKE: {}",
+                    e.getMessage());
+        }
+    }
+
+    // Before ProductSearchResultCache invalidates, so a reloaded page matches the rewritten vector
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onProductChanged(ProductChangedEvent event) {
+        jdbcTemplate.update("UPDATE products p SET search_vector = " + VECTOR_EXPRESSION + " WHERE p.id = ?",
+                event.productId());
+    }
+
+    /**
+     * Match ACTIVE products and rank them with ts_rank, best first.
+     *
+     * @param matchAll true = plainto_tsquery (all terms), false = terms OR-ed together
+     * @return empty if the query has no usable terms or the search failed — callers then use SQL LIKE
+     */
+    public Optional<List<SearchHit>> search(String keyword, boolean matchAll, int limit) {
+        // Same guard as the in-memory index: only stopwords or short words means no usable terms
+        List<String> tokens = KeywordUtil.tokenize(keyword);
+        if (tokens.isEmpty()) {
+            return Optional.empty();
+        }
+        String tsQuery;
+        if (matchAll) {
+            tsQuery = "plainto_tsquery('" + TS_CONFIG + "', ?)";
+        } else {
+            // Tokens are strictly alphanumeric, so joining them cannot inject tsquery operators
+            keyword = String.join(" | ", tokens);
+            tsQuery = "to_tsquery('" + TS_CONFIG + "', ?)";
+        }
+
+        String sql = "SELECT p.id, ts_rank(p.search_vector, q) AS rank FROM products p, " + tsQuery + " q " +
+                "WHERE p.status = 'ACTIVE' AND p.search_vector @@ q " +
+                "ORDER BY rank DESC, p.id LIMIT ?";
+        try {
+            // The text search configuration has stopwords of its own; an empty query matches nothing
+            Integer terms = jdbcTemplate.queryForObject("SELECT numnode(" + tsQuery + ")", Integer.class, keyword);
+            if (terms == null || terms == 0) {
+                return Optional.empty();
+            }
+            return Optional.of(jdbcTemplate.query(sql, (rs, rowNum) -> new SearchHit(
+                    rs.getObject("id", UUID.class),
+                    rs.getDouble("rank")),
+                    keyword, limit));
+        } catch (DataAccessException e) {
+            log.warn("Full-text search failed for '{}', falling back to LIKE: {}", keyword, e.getMessage());
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.IndiExport.backend.service.search;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One page of product search results as ids, in display order, plus the number of
+ * matches over all pages. Cards are loaded for these ids separately.
+ */
+public record ProductIdPage(List<UUID> ids, long total) {
+}
@@ -0,0 +1,157 @@
+package com.IndiExport.backend.service.search;
+
+import com.IndiExport.backend.dto.ProductDto;
+import com.IndiExport.backend.entity.Product;
+import com.IndiExport.backend.exception.ValidationException;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Opaque keyset cursor for product listings: the sort key value and id of the
+ * last product on the previous page.
+ *
+ * The next page is "rows strictly after (value, id)" in (sort key, id) order, which
+ * the (status, sort column) indexes answer with a range scan — no OFFSET and no
+ * COUNT, so page 1000 costs the same as page 1.
+ */
+public record ProductSearchCursor(SortKey sortKey, String value, UUID lastId) {
+
+    /**
+     * Sort orders that support keyset pagination, keyed by the frontend's sortBy values.
+     */
+    public enum SortKey {
+        NEWEST("newest", "createdAt", Sort.Direction.DESC),
+        PRICE_ASC("priceAsc", "pricePaise", Sort.Direction.ASC),
+        PRICE_DESC("priceDesc", "pricePaise", Sort.Direction.DESC),
+        RATING("rating", "averageRatingMilli", Sort.Direction.DESC),
+        POPULARITY("popularity", "totalOrders", Sort.Direction.DESC);
+
+        private final String sortBy;
+        private final String property;
+        private final Sort.Direction direction;
+
+        SortKey(String sortBy, String property, Sort.Direction direction) {
+            this.sortBy = sortBy;
+            this.property = property;
+            this.direction = direction;
+        }
+
+        public static SortKey from(String sortBy) {
+            if (sortBy == null || sortBy.isBlank()) {
+                return NEWEST;
+            }
+            return find(sortBy).orElseThrow(() ->
+                    new ValidationException("sortBy", "'" + sortBy + "' is not supported with cursor pagination"));
+        }
+
+        public static Optional<SortKey> find(String sortBy) {
+            for (SortKey key : values()) {
+                if (key.sortBy.equals(sortBy)) {
+                    return Optional.of(key);
+                }
+            }
+            return Optional.empty();
+        }
+
+        /**
+         * Sort key plus id as a unique tie-breaker, both in the key's direction.
+         */
+        public Sort sort() {
+            return Sort.by(direction, property).and(Sort.by(direction, "id"));
+        }
+
+        private String keyOf(Product product) {
+            return switch (this) {
+                case NEWEST -> product.getCreatedAt().toString();
+                case PRICE_ASC, PRICE_DESC -> Long.toString(product.getPricePaise());
+                case RATING -> Integer.toString(product.getAverageRatingMilli());
+                case POPULARITY -> Integer.toString(product.getTotalOrders() != null ? product.getTotalOrders() : 0);
+            };
+        }
+    }
+
+    public static ProductSearchCursor after(SortKey sortKey, Product last) {
+        return new ProductSearchCursor(sortKey, sortKey.keyOf(last), last.getId());
+    }
+
+    /**
+     * Cursor after the last row of a seller catalogue page, which is a projection rather than an entity.
+     */
+    public static ProductSearchCursor after(SortKey sortKey, ProductDto.SellerProductListItem last) {
+        String value = switch (sortKey) {
+            case NEWEST -> last.getCreatedAt().toString();
+            case PRICE_ASC, PRICE_DESC -> Long.toString(last.getPricePaise());
+            case RATING -> Long.toString(Math.round(last.getAverageRating() * 1000));
+            case POPULARITY -> Integer.toString(last.getTotalOrders());
+        };
+        return new ProductSearchCursor(sortKey, value, last.getId());
+    }
+
+    public String encode() {
+        String raw = sortKey.name() + "|" + value + "|" + lastId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws ValidationException if the token is malformed or was issued for another sort order
+     */
+    public static ProductSearchCursor decode(String token, SortKey expectedSortKey) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Expected 3 cursor parts, got " + parts.length);
+            }
+            ProductSearchCursor cursor = new ProductSearchCursor(
+                    SortKey.valueOf(parts[0]), parts[1], UUID.fromString(parts[2]));
+            cursor.parsedValue(); // Fail fast on a corrupted value
+            if (cursor.sortKey() != expectedSortKey) {
+                throw new ValidationException("cursor", "Cursor was issued for a different sort order");
+            }
+            return cursor;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ValidationException("cursor", "Malformed cursor");
+        }
+    }
+
+    /**
+     * Restricts a listing to the rows after this cursor.
+     */
+    public Specification<Product> seekAfter() {
+        return (root, query, cb) -> switch (sortKey) {
+            case NEWEST -> seek(cb, root.get("createdAt"), (LocalDateTime) parsedValue(), root.get("id"));
+            case PRICE_ASC, PRICE_DESC -> seek(cb, root.get("pricePaise"), (Long) parsedValue(), root.get("id"));
+            case RATING, POPULARITY -> seek(cb, root.get(sortKey.property), (Integer) parsedValue(), root.get("id"));
+        };
+    }
+
+    private Object parsedValue() {
+        return switch (sortKey) {
+            case NEWEST -> LocalDateTime.parse(value);
+            case PRICE_ASC, PRICE_DESC -> Long.valueOf(value);
+            case RATING, POPULARITY -> Integer.valueOf(value);
+        };
+    }
+
+    // (key, id) after (value, lastId) in the key's direction
+    private <T extends Comparable<? super T>> Predicate seek(CriteriaBuilder cb, Path<T> key, T keyValue, Path<UUID> id) {
+        if (sortKey.direction == Sort.Direction.DESC) {
+            return cb.or(
+                    cb.lessThan(key, keyValue),
+                    cb.and(cb.equal(key, keyValue), cb.lessThan(id, lastId)));
+        }
+        return cb.or(
+                cb.greaterThan(key, keyValue),
+                cb.and(cb.equal(key, keyValue), cb.greaterThan(id, lastId)));
+    }
+}
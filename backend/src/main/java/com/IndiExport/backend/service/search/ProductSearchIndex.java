@@ -0,0 +1,117 @@
+package com.IndiExport.backend.service.search;
+
+import com.IndiExport.backend.entity.Product;
+import com.IndiExport.backend.entity.Tag;
+import com.IndiExport.backend.repository.ProductRepository;
+import com.IndiExport.backend.util.KeywordUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Keyword index over ACTIVE products, used by ProductSearchService instead of
+ * LIKE scans on name/description/brand/tags.
+ *
+ * Built once at startup from ProductRepository and kept current through
+ * {@link ProductChangedEvent}s. Until the first build completes, {@link #search}
+ * returns empty and callers fall back to SQL.
+ */
+@Component
+@Slf4j
+public class ProductSearchIndex {
+
+    // Field boosts, applied by repeating the field's tokens
+    private static final int NAME_WEIGHT = 3;
+    private static final int BRAND_TAG_WEIGHT = 2;
+
+    private final ProductRepository productRepository;
+    private final boolean enabled;
+
+    private volatile InvertedIndex index;
+
+    public ProductSearchIndex(
+            ProductRepository productRepository,
+            @Value("${search.keyword-engine:index}") String keywordEngine) {
+        this.productRepository = productRepository;
+        this.enabled = "index".equalsIgnoreCase(keywordEngine);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        if (!enabled) {
+            return; // Another keyword engine is configured; don't hold the catalogue in memory
+        }
+        long start = System.currentTimeMillis();
+        InvertedIndex fresh = new InvertedIndex();
+        for (Product product : productRepository.findAllByStatusWithTags(Product.ProductStatus.ACTIVE)) {
+            fresh.put(product.getId(), tokensFor(product));
+        }
+        index = fresh;
+        log.info("Product search index built: {} products in {} ms", fresh.size(), System.currentTimeMillis() - start);
+    }
+
+    // Before ProductSearchResultCache invalidates, so a page reloaded after it sees the new keywords
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        InvertedIndex current = index;
+        if (current == null) {
+            return; // Startup build will pick the change up
+        }
+
+        productRepository.findById(event.productId())
+                .filter(product -> product.getStatus() == Product.ProductStatus.ACTIVE)
+                .ifPresentOrElse(
+                        product -> current.put(product.getId(), tokensFor(product)),
+                        () -> current.remove(event.productId()));
+    }
+
+    /**
+     * Resolve keyword matches from memory, best first.
+     *
+     * @param limit the most matches to return; callers cap only relevance-ranked searches
+     * @return empty if the index cannot answer (not built yet, or the keyword has
+     *         no indexable terms, e.g. only stop words) — callers then use SQL
+     */
+    public Optional<List<SearchHit>> search(String keyword, boolean matchAll, int limit) {
+        InvertedIndex current = index;
+        List<String> tokens = KeywordUtil.tokenize(keyword);
+        if (current == null || tokens.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(current.search(tokens, matchAll, limit));
+    }
+
+    private static List<String> tokensFor(Product product) {
+        List<String> tokens = new ArrayList<>();
+        List<String> nameTokens = KeywordUtil.tokenize(product.getName());
+        for (int i = 0; i < NAME_WEIGHT; i++) {
+            tokens.addAll(nameTokens);
+        }
+
+        List<String> brandAndTags = new ArrayList<>(KeywordUtil.tokenize(product.getBrand()));
+        for (Tag tag : product.getTags()) {
+            brandAndTags.addAll(KeywordUtil.tokenize(tag.getName()));
+        }
+        for (int i = 0; i < BRAND_TAG_WEIGHT; i++) {
+            tokens.addAll(brandAndTags);
+        }
+
+        tokens.addAll(KeywordUtil.tokenize(product.getDescription()));
+        return tokens;
+    }
+}
@@ -0,0 +1,155 @@
+package com.IndiExport.backend.service.search;
+
+import com.IndiExport.backend.dto.ProductDto;
+import com.IndiExport.backend.entity.Incoterm;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * LRU cache of product search result pages, as ids plus total count, keyed by the
+ * normalised filter and page. Cards (and currency conversion) are still built per request
+ * from the cached ids, so entries stay small and currency-independent.
+ *
+ * Any {@link ProductChangedEvent} or {@link SellerVerificationChangedEvent} clears the
+ * cache: a single product change can move it in or out of arbitrary filter combinations.
+ */
+@Component
+public class ProductSearchResultCache {
+
+    /** Hit/miss counters and occupancy, for the admin stats endpoint. */
+    public record Stats(long hits, long misses, long evictions, long invalidations, int size, int maxEntries) {
+        public double hitRate() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0 : (double) hits / lookups;
+        }
+    }
+
+    private final int maxEntries;
+    private final Map<Key, ProductIdPage> entries;
+
+    // Bumped on every invalidation so a page computed before it is not stored after it
+    private long generation;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    public ProductSearchResultCache(@Value("${search.result-cache.max-entries:2000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, ProductIdPage> eldest) {
+                if (size() > ProductSearchResultCache.this.maxEntries) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Cached page for this filter, or the loader's result (stored unless invalidated meanwhile).
+     * The loader runs outside the cache lock, so concurrent misses for one key may both load.
+     */
+    public ProductIdPage get(ProductDto.ProductFilterRequest filter, Supplier<ProductIdPage> loader) {
+        if (maxEntries <= 0) {
+            return loader.get();
+        }
+
+        Key key = Key.of(filter);
+        long loadGeneration;
+        synchronized (this) {
+            ProductIdPage cached = entries.get(key);
+            if (cached != null) {
+                hits++;
+                return cached;
+            }
+            misses++;
+            loadGeneration = generation;
+        }
+
+        ProductIdPage page = loader.get();
+        synchronized (this) {
+            if (generation == loadGeneration) {
+                entries.put(key, page);
+            }
+        }
+        return page;
+    }
+
+    // Ordered last: the search indexes apply the change at HIGHEST_PRECEDENCE (an unannotated
+    // listener would also be LOWEST_PRECEDENCE, and ties run in registration order), so no page
+    // computed from the pre-change index can be cached after the clear
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onProductChanged(ProductChangedEvent event) {
+        invalidate();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onSellerVerificationChanged(SellerVerificationChangedEvent event) {
+        invalidate();
+    }
+
+    public synchronized void invalidate() {
+        generation++;
+        invalidations++;
+        entries.clear();
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(hits, misses, evictions, invalidations, entries.size(), maxEntries);
+    }
+
+    /**
+     * Filter values after the same normalisation the search applies, so requests that
+     * search for the same thing share an entry.
+     */
+    record Key(String keyword, boolean matchAll, UUID categoryId, String categoryName, Long minPricePaise,
+               Long maxPricePaise, Double minRating, boolean verifiedSeller, Incoterm incoterm, String hsCode,
+               Integer maxLeadTimeDays, String originCountry, UUID sellerId, String sortBy, int page, int size) {
+
+        static Key of(ProductDto.ProductFilterRequest filter) {
+            return new Key(
+                    normalize(filter.getKeyword()),
+                    !"OR".equalsIgnoreCase(filter.getKeywordOperator()),
+                    filter.getCategoryId(),
+                    filter.getCategoryId() == null ? normalize(filter.getCategory()) : null,
+                    filter.resolveMinPricePaise(),
+                    filter.resolveMaxPricePaise(),
+                    filter.getMinRating(),
+                    Boolean.TRUE.equals(filter.getVerifiedSeller()),
+                    filter.getIncoterm(),
+                    blankToNull(filter.getHsCode()),
+                    filter.getMaxLeadTimeDays(),
+                    filter.getOriginCountry() != null && !filter.getOriginCountry().isBlank()
+                            ? filter.getOriginCountry().trim().toUpperCase(Locale.ROOT)
+                            : null,
+                    filter.getSellerId(),
+                    filter.getSortBy() != null ? filter.getSortBy() : "newest",
+                    filter.getPage(),
+                    filter.getSize());
+        }
+
+        private static String normalize(String text) {
+            String value = blankToNull(text);
+            return value == null ? null : value.toLowerCase(Locale.ROOT);
+        }
+
+        private static String blankToNull(String text) {
+            return text == null || text.isBlank() ? null : text;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.IndiExport.backend.service.search;
+
+import com.IndiExport.backend.entity.Category;
+import com.IndiExport.backend.entity.Product;
+import com.IndiExport.backend.entity.Tag;
+import com.IndiExport.backend.repository.ProductRepository;
+import com.IndiExport.backend.repository.ProductViewRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Autocomplete over ACTIVE product names, brands, tags and category names.
+ *
+ * Each product contributes its phrases weighted by popularity (orders count ten
+ * times a page view), so shared brands/tags/categories rank by the combined
+ * popularity of their products. Built at startup and updated incrementally from
+ * {@link ProductChangedEvent}s; lookups never touch the database.
+ */
+@Component
+@Slf4j
+public class ProductSuggestionIndex {
+
+    private static final long ORDER_WEIGHT = 10;
+
+    private final ProductRepository productRepository;
+    private final ProductViewRepository productViewRepository;
+    private final int maxSuggestions;
+
+    private volatile SuggestionTrie trie;
+
+    public ProductSuggestionIndex(
+            ProductRepository productRepository,
+            ProductViewRepository productViewRepository,
+            @Value("${search.suggestions.max-results:10}") int maxSuggestions) {
+        this.productRepository = productRepository;
+        this.productViewRepository = productViewRepository;
+        this.maxSuggestions = maxSuggestions;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+
+        Map<UUID, Long> viewCounts = new HashMap<>();
+        for (Object[] row : productViewRepository.countViewsByProduct()) {
+            viewCounts.put((UUID) row[0], ((Number) row[1]).longValue());
+        }
+
+        Map<UUID, Map<String, Long>> phrasesByProduct = new HashMap<>();
+        for (Product product : productRepository.findAllByStatusWithTagsAndCategories(Product.ProductStatus.ACTIVE)) {
+            phrasesByProduct.put(product.getId(), phrasesFor(product, viewCounts.getOrDefault(product.getId(), 0L)));
+        }
+
+        SuggestionTrie fresh = new SuggestionTrie(maxSuggestions);
+        fresh.putAll(phrasesByProduct);
+        trie = fresh;
+        log.info("Product suggestion index built: {} phrases from {} products in {} ms",
+                fresh.size(), phrasesByProduct.size(), System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        SuggestionTrie current = trie;
+        if (current == null) {
+            return; // Startup build will pick the change up
+        }
+
+        productRepository.findById(event.productId())
+                .filter(product -> product.getStatus() == Product.ProductStatus.ACTIVE)
+                .ifPresentOrElse(
+                        product -> current.put(product.getId(),
+                                phrasesFor(product, productViewRepository.countByProductId(product.getId()))),
+                        () -> current.remove(event.productId()));
+    }
+
+    /**
+     * @return empty until the index has been built, so callers can fall back to SQL
+     */
+    public Optional<List<String>> suggest(String keyword) {
+        SuggestionTrie current = trie;
+        if (current == null) {
+            return Optional.empty();
+        }
+        return Optional.of(current.complete(keyword, maxSuggestions));
+    }
+
+    private static Map<String, Long> phrasesFor(Product product, long views) {
+        long orders = product.getTotalOrders() != null ? product.getTotalOrders() : 0;
+        long weight = 1 + ORDER_WEIGHT * orders + views;
+
+        Map<String, Long> phrases = new HashMap<>();
+        phrases.merge(product.getName(), weight, Long::sum);
+        if (product.getBrand() != null && !product.getBrand().isBlank()) {
+            phrases.merge(product.getBrand(), weight, Long::sum);
+        }
+        for (Tag tag : product.getTags()) {
+            phrases.merge(tag.getName(), weight, Long::sum);
+        }
+        for (Category category : product.getCategories()) {
+            phrases.merge(category.getName(), weight, Long::sum);
+        }
+        return phrases;
+    }
+}
@@ -0,0 +1,10 @@
+package com.IndiExport.backend.service.search;
+
+import java.util.UUID;
+
+/**
+ * A product matching a keyword query and its relevance score (higher is better).
+ * Scores are only comparable within one result list.
+ */
+public record SearchHit(UUID productId, double score) {
+}
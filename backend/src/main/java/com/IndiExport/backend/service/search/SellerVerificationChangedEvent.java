@@ -0,0 +1,10 @@
+package com.IndiExport.backend.service.search;
+
+import java.util.UUID;
+
+/**
+ * Published when an admin approves or rejects a seller's KYC, so in-memory catalogue
+ * structures can update the verified-seller attribute of that seller's products.
+ */
+public record SellerVerificationChangedEvent(UUID sellerId, boolean verified) {
+}
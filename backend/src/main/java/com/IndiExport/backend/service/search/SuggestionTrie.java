@@ -0,0 +1,253 @@
+package com.IndiExport.backend.service.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Weighted prefix trie for autocomplete.
+ *
+ * Design:
+ * - Each phrase is reachable from the start of every word it contains, so
+ * "shi" completes "Cotton Shirt" as well as "Shirt"
+ * - Phrases are contributed by sources (products); the same phrase from several
+ * sources (a shared brand, tag or category) accumulates their weights
+ * - Every node caches its top completions, so a lookup is a walk down the prefix
+ * plus a list copy. Caches are rebuilt bottom-up along the affected paths on
+ * each change, or for the whole trie after a bulk load
+ */
+public class SuggestionTrie {
+
+    private static final Comparator<Suggestion> BY_WEIGHT = Comparator
+            .comparingLong((Suggestion s) -> s.weight).reversed()
+            .thenComparing(s -> s.display);
+
+    private final int cacheSize;
+    private final Node root = new Node();
+    private final Map<String, Suggestion> suggestions = new HashMap<>();
+    private final Map<UUID, Map<String, Long>> contributions = new HashMap<>();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public SuggestionTrie(int cacheSize) {
+        this.cacheSize = cacheSize;
+    }
+
+    /**
+     * Replace everything a source contributes: phrase (display form) → weight.
+     */
+    public void put(UUID sourceId, Map<String, Long> phrases) {
+        lock.writeLock().lock();
+        try {
+            Set<String> dirtyKeys = new LinkedHashSet<>();
+            removeInternal(sourceId, dirtyKeys);
+            addInternal(sourceId, phrases, dirtyKeys);
+            dirtyKeys.forEach(this::refreshPath);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(UUID sourceId) {
+        lock.writeLock().lock();
+        try {
+            Set<String> dirtyKeys = new LinkedHashSet<>();
+            removeInternal(sourceId, dirtyKeys);
+            dirtyKeys.forEach(this::refreshPath);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Bulk variant of {@link #put} for building a fresh trie: caches are computed once at the end.
+     */
+    public void putAll(Map<UUID, Map<String, Long>> phrasesBySource) {
+        lock.writeLock().lock();
+        try {
+            Set<String> ignored = new LinkedHashSet<>();
+            phrasesBySource.forEach((sourceId, phrases) -> {
+                removeInternal(sourceId, ignored);
+                addInternal(sourceId, phrases, ignored);
+            });
+            refreshAll(root);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Highest-weighted phrases having a word that starts with the prefix.
+     */
+    public List<String> complete(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.children.get(key.charAt(i));
+            }
+            if (node == null) {
+                return List.of();
+            }
+            return node.top.stream()
+                    .limit(limit)
+                    .map(s -> s.display)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return suggestions.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.toLowerCase().replaceAll("[^a-z0-9]+", " ").trim();
+    }
+
+    private void addInternal(UUID sourceId, Map<String, Long> phrases, Set<String> dirtyKeys) {
+        Map<String, Long> applied = new HashMap<>();
+        phrases.forEach((display, weight) -> {
+            String key = normalize(display);
+            if (key.isEmpty()) {
+                return;
+            }
+            // Phrases normalizing to one key (e.g. a brand equal to a tag) count as one source
+            boolean firstForSource = !applied.containsKey(key);
+            applied.merge(key, weight, Long::sum);
+
+            Suggestion suggestion = suggestions.get(key);
+            if (suggestion == null) {
+                suggestion = new Suggestion(display.trim());
+                suggestions.put(key, suggestion);
+                for (String entryKey : entryKeys(key)) {
+                    nodeFor(entryKey).terminals.add(suggestion);
+                }
+            }
+            suggestion.weight += weight;
+            if (firstForSource) {
+                suggestion.sources++;
+            }
+            dirtyKeys.addAll(entryKeys(key));
+        });
+        contributions.put(sourceId, applied);
+    }
+
+    private void removeInternal(UUID sourceId, Set<String> dirtyKeys) {
+        Map<String, Long> previous = contributions.remove(sourceId);
+        if (previous == null) {
+            return;
+        }
+        previous.forEach((key, weight) -> {
+            Suggestion suggestion = suggestions.get(key);
+            if (suggestion == null) {
+                return;
+            }
+            suggestion.weight -= weight;
+            suggestion.sources--;
+            List<String> entryKeys = entryKeys(key);
+            if (suggestion.sources <= 0) {
+                suggestions.remove(key);
+                for (String entryKey : entryKeys) {
+                    nodeFor(entryKey).terminals.remove(suggestion);
+                }
+            }
+            dirtyKeys.addAll(entryKeys);
+        });
+    }
+
+    // "cotton shirt" is entered as "cotton shirt" and "shirt"
+    private static List<String> entryKeys(String key) {
+        List<String> keys = new ArrayList<>();
+        keys.add(key);
+        for (int i = key.indexOf(' '); i >= 0; i = key.indexOf(' ', i + 1)) {
+            keys.add(key.substring(i + 1));
+        }
+        return keys;
+    }
+
+    private Node nodeFor(String key) {
+        Node node = root;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.children.computeIfAbsent(key.charAt(i), c -> new Node());
+        }
+        return node;
+    }
+
+    private void refreshPath(String key) {
+        List<Node> path = new ArrayList<>();
+        path.add(root);
+        Node node = root;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.children.get(key.charAt(i));
+            if (node == null) {
+                break; // Already pruned by an earlier refresh
+            }
+            path.add(node);
+        }
+
+        for (int depth = path.size() - 1; depth >= 0; depth--) {
+            Node current = path.get(depth);
+            refreshNode(current);
+            if (depth > 0 && current.terminals.isEmpty() && current.children.isEmpty()) {
+                path.get(depth - 1).children.remove(key.charAt(depth - 1));
+            }
+        }
+    }
+
+    private void refreshAll(Node node) {
+        for (Node child : node.children.values()) {
+            refreshAll(child);
+        }
+        refreshNode(node);
+    }
+
+    private void refreshNode(Node node) {
+        Set<Suggestion> candidates = Collections.newSetFromMap(new IdentityHashMap<>());
+        candidates.addAll(node.terminals);
+        for (Node child : node.children.values()) {
+            candidates.addAll(child.top);
+        }
+        List<Suggestion> top = new ArrayList<>(candidates);
+        top.sort(BY_WEIGHT);
+        node.top = top.size() > cacheSize ? new ArrayList<>(top.subList(0, cacheSize)) : top;
+    }
+
+    private static final class Node {
+        private final Map<Character, Node> children = new HashMap<>();
+        private final Set<Suggestion> terminals = Collections.newSetFromMap(new IdentityHashMap<>());
+        private List<Suggestion> top = List.of();
+    }
+
+    private static final class Suggestion {
+        private final String display;
+        private long weight;
+        private int sources;
+
+        private Suggestion(String display) {
+            this.display = display;
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package com.IndiExport.backend.util;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -31,4 +33,22 @@ public class KeywordUtil {
                 .filter(word -> !STOP_WORDS.contains(word))
                 .collect(Collectors.toSet());
     }
+
+    /**
+     * Same normalisation as {@link #extractKeywords(String...)} but keeps duplicates and
+     * input order, so callers can derive term frequencies (e.g. for search ranking).
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return tokens;
+        }
+
+        for (String word : text.toLowerCase().split("[^a-zA-Z0-9]+")) {
+            if (word.length() >= 3 && !STOP_WORDS.contains(word)) {
+                tokens.add(word);
+            }
+        }
+        return tokens;
+    }
 }
@@ -0,0 +1,47 @@
+package com.IndiExport.backend.repository.analytics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnalyticsDaysTest {
+
+    private final ZoneId zone = AnalyticsDays.zone();
+    private final ZoneId storedZone = AnalyticsDays.storedZone();
+
+    @AfterEach
+    void tearDown() {
+        AnalyticsDays.useZones(zone, storedZone);
+    }
+
+    @Test
+    void testStoredTimesAreConvertedToAnalyticsDays() {
+        AnalyticsDays.useZones(ZoneId.of("Asia/Kolkata"), ZoneId.of("UTC"));
+
+        assertEquals("CAST((created_at AT TIME ZONE 'UTC' AT TIME ZONE 'Asia/Kolkata') AS DATE)",
+                AnalyticsDays.sqlDay("created_at"));
+        assertEquals("CAST((viewed_at AT TIME ZONE 'Asia/Kolkata') AS DATE)",
+                AnalyticsDays.sqlDayOfInstant("viewed_at"));
+        // Midnight in Kolkata is 18:30 the evening before in UTC
+        assertEquals(LocalDateTime.of(2026, 3, 14, 18, 30),
+                AnalyticsDays.toStored(LocalDate.of(2026, 3, 15).atStartOfDay()));
+        assertEquals(LocalDateTime.of(2026, 3, 14, 20, 0),
+                AnalyticsDays.toStored(Instant.parse("2026-03-14T20:00:00Z")));
+        assertEquals(LocalDate.of(2026, 3, 15), AnalyticsDays.dayOf(Instant.parse("2026-03-14T20:00:00Z")));
+    }
+
+    @Test
+    void testSameZonesNeedNoConversion() {
+        AnalyticsDays.useZones(ZoneId.of("Asia/Kolkata"), ZoneId.of("Asia/Kolkata"));
+
+        assertEquals("CAST(created_at AS DATE)", AnalyticsDays.sqlDay("created_at"));
+        LocalDateTime time = LocalDateTime.of(2026, 3, 15, 0, 0);
+        assertEquals(time, AnalyticsDays.toStored(time));
+    }
+}
@@ -0,0 +1,92 @@
+package com.IndiExport.backend.repository.analytics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.StatementCallback;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Statement;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnalyticsQueryExecutorTest {
+
+    private final DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+    private final AnalyticsQueryExecutor executor =
+            new AnalyticsQueryExecutor(new DataSourceTransactionManager(dataSource), 2, 200);
+
+    @AfterEach
+    void tearDown() {
+        executor.destroy();
+    }
+
+    @Test
+    void testSectionsRunConcurrently() {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        AnalyticsQueryExecutor.FanOut fanOut = executor.fanOut();
+
+        Supplier<String> a = fanOut.fork("a", () -> { bothStarted.countDown(); bothStarted.await(); return "a"; }, "-");
+        Supplier<String> b = fanOut.fork("b", () -> { bothStarted.countDown(); bothStarted.await(); return "b"; }, "-");
+
+        assertEquals("a", a.get());
+        assertEquals("b", b.get());
+        assertTrue(fanOut.degradedSections().isEmpty());
+    }
+
+    @Test
+    void testSlowSectionDegradesToFallback() {
+        AnalyticsQueryExecutor.FanOut fanOut = executor.fanOut();
+
+        Supplier<Long> slow = fanOut.fork("slow", () -> { Thread.sleep(5_000); return 1L; }, 0L);
+        Supplier<Long> fast = fanOut.fork("fast", () -> 2L, 0L);
+
+        assertEquals(0L, slow.get());
+        assertEquals(2L, fast.get());
+        assertEquals(List.of("slow"), fanOut.degradedSections());
+    }
+
+    @Test
+    void testFailedSectionDegradesToFallback() {
+        AnalyticsQueryExecutor.FanOut fanOut = executor.fanOut();
+
+        Supplier<List<String>> failing = fanOut.fork("failing", () -> { throw new IllegalStateException("boom"); }, List.of());
+
+        assertEquals(List.of(), failing.get());
+        assertEquals(List.of("failing"), fanOut.degradedSections());
+    }
+
+    @Test
+    void testSectionsQueueBehindConcurrencyCap() {
+        AnalyticsQueryExecutor.FanOut fanOut = executor.fanOut();
+
+        // Two slots, both held past the deadline: the third section never gets to run
+        fanOut.fork("held1", () -> { Thread.sleep(5_000); return 1; }, 0);
+        fanOut.fork("held2", () -> { Thread.sleep(5_000); return 1; }, 0);
+        Supplier<Integer> queued = fanOut.fork("queued", () -> 3, -1);
+
+        assertEquals(-1, queued.get());
+        assertEquals(List.of("queued"), fanOut.degradedSections());
+    }
+
+    @Test
+    void testStatementsTimeOutAtTheDeadline() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        AnalyticsQueryExecutor threeSeconds =
+                new AnalyticsQueryExecutor(new DataSourceTransactionManager(dataSource), 2, 3_000);
+        AnalyticsQueryExecutor.FanOut fanOut = threeSeconds.fanOut();
+
+        Supplier<Integer> timeout = fanOut.fork("timeout",
+                () -> jdbcTemplate.execute((StatementCallback<Integer>) Statement::getQueryTimeout), 0);
+
+        int seconds = timeout.get();
+        assertTrue(seconds >= 1 && seconds <= 3, "query timeout " + seconds);
+        threeSeconds.destroy();
+    }
+}
@@ -0,0 +1,60 @@
+package com.IndiExport.backend.repository.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductViewBufferTest {
+
+    private static ProductViewEvent view() {
+        return new ProductViewEvent(UUID.randomUUID(), null, "IN", Instant.now(), 0L);
+    }
+
+    @Test
+    void testFullBufferDropsAndCounts() {
+        ProductViewBuffer buffer = new ProductViewBuffer(2);
+
+        assertTrue(buffer.offer(view()));
+        assertTrue(buffer.offer(view()));
+        assertFalse(buffer.offer(view()));
+
+        assertEquals(2, buffer.acceptedCount());
+        assertEquals(1, buffer.droppedCount());
+        assertEquals(2, buffer.size());
+    }
+
+    @Test
+    void testDrainsInBatchesInArrivalOrder() {
+        ProductViewBuffer buffer = new ProductViewBuffer(10);
+        List<ProductViewEvent> offered = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ProductViewEvent event = view();
+            offered.add(event);
+            buffer.offer(event);
+        }
+
+        List<ProductViewEvent> batch = new ArrayList<>();
+        assertEquals(3, buffer.drainTo(batch, 3));
+        assertEquals(offered.subList(0, 3), batch);
+
+        batch.clear();
+        assertEquals(2, buffer.drainTo(batch, 3));
+        assertEquals(offered.subList(3, 5), batch);
+        assertEquals(0, buffer.drainTo(batch, 3));
+    }
+
+    @Test
+    void testDrainingFreesCapacity() {
+        ProductViewBuffer buffer = new ProductViewBuffer(1);
+        buffer.offer(view());
+        buffer.drainTo(new ArrayList<>(), 10);
+
+        assertTrue(buffer.offer(view()));
+        assertEquals(0, buffer.droppedCount());
+    }
+}
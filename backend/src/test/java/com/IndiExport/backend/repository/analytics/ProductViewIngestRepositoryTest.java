@@ -0,0 +1,68 @@
+package com.IndiExport.backend.repository.analytics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the batch insert against an in-memory H2 database in PostgreSQL mode.
+ */
+class ProductViewIngestRepositoryTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private ProductViewIngestRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE products (id UUID PRIMARY KEY)");
+        jdbcTemplate.execute("""
+            CREATE TABLE product_views (
+                id UUID PRIMARY KEY,
+                product_id UUID NOT NULL REFERENCES products (id),
+                buyer_id UUID,
+                country VARCHAR(2),
+                viewed_at TIMESTAMP NOT NULL)
+        """);
+        repository = new ProductViewIngestRepository(jdbcTemplate);
+    }
+
+    @Test
+    void testInsertsViewsWithTheirTimestamps() {
+        UUID productId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO products (id) VALUES (?)", productId);
+        Instant viewedAt = Instant.parse("2026-03-01T10:15:30Z");
+
+        int written = repository.insertBatch(List.of(
+                new ProductViewEvent(productId, UUID.randomUUID(), "DE", viewedAt, 1L),
+                new ProductViewEvent(productId, null, "XX", viewedAt.plusSeconds(60), 2L)));
+
+        assertEquals(2, written);
+        List<Timestamp> stored = jdbcTemplate.queryForList(
+                "SELECT viewed_at FROM product_views ORDER BY viewed_at", Timestamp.class);
+        assertEquals(List.of(viewedAt, viewedAt.plusSeconds(60)), stored.stream().map(Timestamp::toInstant).toList());
+    }
+
+    @Test
+    void testSkipsViewsOfUnknownProducts() {
+        UUID productId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO products (id) VALUES (?)", productId);
+
+        int written = repository.insertBatch(List.of(
+                new ProductViewEvent(productId, null, "IN", Instant.now(), 1L),
+                new ProductViewEvent(UUID.randomUUID(), null, "IN", Instant.now(), 2L)));
+
+        assertEquals(1, written);
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM product_views", Integer.class));
+    }
+}
@@ -0,0 +1,37 @@
+package com.IndiExport.backend.repository.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductViewPartitionsTest {
+
+    private final YearMonth march = YearMonth.of(2026, 3);
+
+    @Test
+    void testPartitionNameRoundTrip() {
+        assertEquals("product_views_y2026m03", ProductViewPartitions.partitionName(march));
+        assertEquals(Optional.of(march), ProductViewPartitions.parsePartitionName("product_views_y2026m03"));
+        assertEquals(Optional.empty(), ProductViewPartitions.parsePartitionName("product_views_default"));
+    }
+
+    @Test
+    void testCreatesFromFirstDataMonthThroughMonthsAhead() {
+        assertEquals(List.of(YearMonth.of(2026, 1), YearMonth.of(2026, 2), march, YearMonth.of(2026, 4)),
+                ProductViewPartitions.monthsToCreate(YearMonth.of(2026, 1), march, 1));
+        assertEquals(List.of(march, YearMonth.of(2026, 4), YearMonth.of(2026, 5)),
+                ProductViewPartitions.monthsToCreate(null, march, 2));
+    }
+
+    @Test
+    void testRetiresOnlyMonthsWhollyOutsideRetention() {
+        List<YearMonth> existing = List.of(march, YearMonth.of(2025, 3), YearMonth.of(2025, 1), YearMonth.of(2025, 2));
+
+        assertEquals(List.of(YearMonth.of(2025, 1), YearMonth.of(2025, 2)),
+                ProductViewPartitions.monthsToRetire(existing, march, 13));
+    }
+}
@@ -0,0 +1,35 @@
+package com.IndiExport.backend.repository.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RollupCoverageTest {
+
+    private final LocalDate first = LocalDate.of(2026, 3, 1);
+
+    @Test
+    void testNoActivityIsAlwaysCovered() {
+        assertTrue(new RollupCoverage(null, Set.of()).covers(null, first));
+    }
+
+    @Test
+    void testDaysBeforeFirstActivityNeedNoRollup() {
+        RollupCoverage coverage = new RollupCoverage(first, Set.of(first, first.plusDays(1)));
+
+        assertTrue(coverage.covers(null, first.plusDays(1)));
+        assertTrue(coverage.covers(first.minusDays(30), first.plusDays(1)));
+        assertTrue(coverage.covers(first.minusDays(30), first.minusDays(1)));
+    }
+
+    @Test
+    void testMissingDayIsNotCovered() {
+        RollupCoverage coverage = new RollupCoverage(first, Set.of(first, first.plusDays(2)));
+
+        assertFalse(coverage.covers(null, first.plusDays(2)));
+        assertTrue(coverage.covers(first.plusDays(2), first.plusDays(2)));
+    }
+}
@@ -0,0 +1,89 @@
+package com.IndiExport.backend.repository.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RollupWindowTest {
+
+    private final LocalDate today = LocalDate.of(2026, 3, 15);
+    private final LocalDateTime now = today.atTime(14, 30);
+
+    @Test
+    void testMidnightAlignedRangeReadsWholeDaysFromRollups() {
+        RollupWindow window = RollupWindow.of(LocalDate.of(2026, 3, 1).atStartOfDay(), now, today);
+
+        assertTrue(window.hasRollup());
+        assertEquals(LocalDate.of(2026, 3, 1), window.rollupFrom());
+        assertEquals(LocalDate.of(2026, 3, 14), window.rollupTo());
+        assertEquals(List.of(new RollupWindow.LiveRange(today.atStartOfDay(), now, true)), window.liveRanges());
+    }
+
+    @Test
+    void testPartialFirstDayIsComputedLive() {
+        LocalDateTime from = LocalDate.of(2026, 3, 1).atTime(9, 0);
+        RollupWindow window = RollupWindow.of(from, now, today);
+
+        assertEquals(LocalDate.of(2026, 3, 2), window.rollupFrom());
+        assertEquals(List.of(
+                new RollupWindow.LiveRange(from, LocalDate.of(2026, 3, 2).atStartOfDay(), false),
+                new RollupWindow.LiveRange(today.atStartOfDay(), now, true)), window.liveRanges());
+        assertEquals("((t >= ? AND t < ?) OR (t >= ? AND t <= ?))", window.livePredicate("t"));
+        assertEquals(4, window.liveArgs().size());
+    }
+
+    @Test
+    void testDayColumnBoundsPrecedeTheLiveRanges() {
+        LocalDateTime from = LocalDate.of(2026, 3, 1).atTime(9, 0);
+        RollupWindow window = RollupWindow.of(from, now, today);
+
+        assertEquals("(d >= ? AND d <= ? AND ((t >= ? AND t < ?) OR (t >= ? AND t <= ?)))",
+                window.livePredicate("t", "d"));
+        List<Object> args = window.liveArgs(true);
+        assertEquals(List.of(LocalDate.of(2026, 3, 1), today), args.subList(0, 2));
+        assertEquals(window.liveArgs(), args.subList(2, args.size()));
+    }
+
+    @Test
+    void testDayColumnBoundWithUnboundedStart() {
+        RollupWindow window = RollupWindow.liveOnly(null, now);
+
+        assertEquals("(d <= ? AND ((t <= ?)))", window.livePredicate("t", "d"));
+        assertEquals(List.of(today, now), window.liveArgs(true));
+    }
+
+    @Test
+    void testRangeEndingInThePastStopsBeforeItsLastDay() {
+        LocalDateTime to = LocalDate.of(2026, 3, 10).atTime(12, 0);
+        RollupWindow window = RollupWindow.of(LocalDate.of(2026, 3, 1).atStartOfDay(), to, today);
+
+        assertEquals(LocalDate.of(2026, 3, 9), window.rollupTo());
+        assertEquals(List.of(new RollupWindow.LiveRange(LocalDate.of(2026, 3, 10).atStartOfDay(), to, true)),
+                window.liveRanges());
+    }
+
+    @Test
+    void testRangeWithoutWholeClosedDaysIsLiveOnly() {
+        LocalDateTime from = today.minusDays(1).atTime(18, 0);
+        RollupWindow window = RollupWindow.of(from, now, today);
+
+        assertFalse(window.hasRollup());
+        assertEquals(List.of(new RollupWindow.LiveRange(from, now, true)), window.liveRanges());
+    }
+
+    @Test
+    void testUnboundedStart() {
+        RollupWindow window = RollupWindow.of(null, now, today);
+
+        assertNull(window.rollupFrom());
+        assertEquals("d <= ?", window.rollupPredicate("d"));
+        assertEquals(List.of(today.minusDays(1)), window.rollupArgs());
+        assertEquals("((t >= ? AND t <= ?))", window.livePredicate("t"));
+
+        assertEquals("((t <= ?))", RollupWindow.liveOnly(null, now).livePredicate("t"));
+    }
+}
@@ -0,0 +1,72 @@
+package com.IndiExport.backend.service.analytics;
+
+import com.IndiExport.backend.event.OrderChangedEvent;
+import com.IndiExport.backend.repository.analytics.AnalyticsDays;
+import com.IndiExport.backend.service.analytics.AnalyticsDashboardCache.DayRange;
+import com.IndiExport.backend.service.analytics.AnalyticsDashboardCache.Endpoint;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnalyticsDashboardCacheTest {
+
+    private final UUID buyer = UUID.randomUUID();
+    private final UUID seller = UUID.randomUUID();
+    private final LocalDate day = LocalDate.of(2026, 3, 15);
+
+    private Instant at(LocalDate date, int hour) {
+        return date.atTime(hour, 0).atZone(AnalyticsDays.zone()).toInstant();
+    }
+
+    @Test
+    void testReloadsDuringTheDayShareAnEntry() {
+        AnalyticsDashboardCache cache = new AnalyticsDashboardCache(10, 60_000);
+        DayRange morning = DayRange.of(at(day.minusDays(30), 9), at(day, 9));
+        DayRange evening = DayRange.of(at(day.minusDays(30), 18), at(day, 18));
+        assertEquals(morning, evening);
+        assertEquals(at(day.minusDays(30), 0), morning.from());
+
+        Object first = cache.get(Endpoint.BUYER, buyer, morning, "USD", Object::new);
+        assertSame(first, cache.get(Endpoint.BUYER, buyer, evening, "USD", () -> fail("should be cached")));
+        assertNotSame(first, cache.get(Endpoint.BUYER, buyer, evening, "EUR", Object::new));
+
+        AnalyticsDashboardCache.Stats stats = cache.stats();
+        AnalyticsDashboardCache.EndpointStats buyerStats = stats.endpoints().stream()
+                .filter(s -> s.endpoint() == Endpoint.BUYER).findFirst().orElseThrow();
+        assertEquals(1, buyerStats.hits());
+        assertEquals(2, buyerStats.misses());
+    }
+
+    @Test
+    void testOrderChangeEvictsBothParties() {
+        AnalyticsDashboardCache cache = new AnalyticsDashboardCache(10, 60_000);
+        DayRange range = DayRange.of(at(day.minusDays(7), 0), at(day, 0));
+        UUID otherSeller = UUID.randomUUID();
+        cache.get(Endpoint.BUYER, buyer, range, "INR", Object::new);
+        cache.get(Endpoint.SELLER, seller, range, "INR", Object::new);
+        Object untouched = cache.get(Endpoint.SELLER, otherSeller, range, "INR", Object::new);
+
+        cache.onOrderChanged(new OrderChangedEvent(buyer, seller));
+
+        assertEquals(1, cache.stats().size());
+        assertSame(untouched, cache.get(Endpoint.SELLER, otherSeller, range, "INR", () -> fail("should be cached")));
+    }
+
+    @Test
+    void testExpiredAndUnstorableResponsesAreReloaded() throws InterruptedException {
+        AnalyticsDashboardCache cache = new AnalyticsDashboardCache(10, 1);
+        DayRange range = DayRange.of(at(day, 0), at(day, 0));
+
+        Object first = cache.get(Endpoint.SELLER, seller, range, "INR", Object::new);
+        Thread.sleep(5);
+        assertNotSame(first, cache.get(Endpoint.SELLER, seller, range, "INR", Object::new));
+
+        AnalyticsDashboardCache longLived = new AnalyticsDashboardCache(10, 60_000);
+        longLived.get(Endpoint.ADVANCED_SELLER, seller, range, "INR", Object::new, response -> false);
+        assertEquals(0, longLived.stats().size());
+    }
+}
@@ -0,0 +1,56 @@
+package com.IndiExport.backend.service.analytics;
+
+import com.IndiExport.backend.exception.ValidationException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnalyticsExportWriterTest {
+
+    private static final List<String> COLUMNS = List.of("order_number", "created_at", "total_amount_paise");
+
+    @Test
+    void testCsvWritesHeaderAndRows() throws IOException {
+        StringWriter out = new StringWriter();
+        AnalyticsExportWriter writer = AnalyticsExportWriter.create(AnalyticsExportWriter.Format.CSV, out, COLUMNS);
+        writer.writeRow(new Object[]{"ORD-1", LocalDateTime.of(2026, 3, 1, 10, 15), 125000L});
+        writer.writeRow(new Object[]{"ORD-2", null, 0L});
+
+        assertEquals("order_number,created_at,total_amount_paise\r\n"
+                + "ORD-1,2026-03-01T10:15,125000\r\n"
+                + "ORD-2,,0\r\n", out.toString());
+    }
+
+    @Test
+    void testCsvQuotesSeparatorsAndNeutralisesFormulas() throws IOException {
+        StringWriter out = new StringWriter();
+        AnalyticsExportWriter writer = AnalyticsExportWriter.create(AnalyticsExportWriter.Format.CSV, out, COLUMNS);
+        writer.writeRow(new Object[]{"a,\"b\"", "=SUM(A1)", -5L});
+
+        String row = out.toString().split("\r\n")[1];
+        assertEquals("\"a,\"\"b\"\"\",'=SUM(A1),-5", row);
+    }
+
+    @Test
+    void testNdjsonWritesOneObjectPerLine() throws IOException {
+        StringWriter out = new StringWriter();
+        AnalyticsExportWriter writer = AnalyticsExportWriter.create(AnalyticsExportWriter.Format.NDJSON, out, COLUMNS);
+        writer.writeRow(new Object[]{"ORD-\"1\"\n", LocalDateTime.of(2026, 3, 1, 10, 15), 125000L});
+        writer.writeRow(new Object[]{"ORD-2", null, 0L});
+
+        assertEquals("{\"order_number\":\"ORD-\\\"1\\\"\\n\",\"created_at\":\"2026-03-01T10:15\",\"total_amount_paise\":125000}\n"
+                + "{\"order_number\":\"ORD-2\",\"created_at\":null,\"total_amount_paise\":0}\n", out.toString());
+    }
+
+    @Test
+    void testFormatDefaultsToCsvAndRejectsUnknown() {
+        assertEquals(AnalyticsExportWriter.Format.CSV, AnalyticsExportWriter.Format.parse(null));
+        assertEquals(AnalyticsExportWriter.Format.NDJSON, AnalyticsExportWriter.Format.parse(" ndjson "));
+        assertThrows(ValidationException.class, () -> AnalyticsExportWriter.Format.parse("xlsx"));
+    }
+}
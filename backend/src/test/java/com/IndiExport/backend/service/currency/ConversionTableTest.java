@@ -0,0 +1,102 @@
+package com.IndiExport.backend.service.currency;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConversionTableTest {
+
+    private static final Instant FETCHED_AT = Instant.parse("2026-01-01T00:00:00Z");
+
+    private static ConversionTable table(Map<String, Long> ratesMicros) {
+        return new ExchangeRateSnapshot(ratesMicros, FETCHED_AT, "test").conversionTable();
+    }
+
+    @Test
+    void testSlotLookupIgnoresCaseAndRejectsUnknownCodes() {
+        ConversionTable table = table(Map.of("USD", 11_950L, "JPY", 1_790_000L));
+
+        int usd = table.slotOf("USD");
+        assertTrue(usd >= 0);
+        assertEquals(usd, table.slotOf("usd"));
+        assertEquals(usd, table.slotOf("uSd"));
+        assertEquals("USD", table.code(usd));
+        assertEquals(11_950L, table.rateMicros(usd));
+
+        assertEquals(-1, table.slotOf("EUR"));
+        assertEquals(-1, table.slotOf("US"));
+        assertEquals(-1, table.slotOf("US1"));
+        assertEquals(-1, table.slotOf(null));
+        assertEquals(FETCHED_AT, table.fetchedAt());
+        assertEquals("test", table.providerName());
+    }
+
+    @Test
+    void testConvertsWithTargetMinorUnits() {
+        ConversionTable table = table(Map.of("USD", 12_000L, "JPY", 1_790_000L, "KWD", 3_700L));
+
+        // ₹1000.00 at 0.012 → $12.00
+        assertEquals(1_200, table.toMinor(table.slotOf("USD"), 100_000));
+        // ₹1000.00 at 1.79 → ¥1790 (no minor unit)
+        assertEquals(1_790, table.toMinor(table.slotOf("JPY"), 100_000));
+        // ₹1000.00 at 0.0037 → 3.700 KWD (three decimals)
+        assertEquals(3_700, table.toMinor(table.slotOf("KWD"), 100_000));
+        // $12.00 back to ₹1000.00
+        assertEquals(100_000, table.toPaise(table.slotOf("USD"), 1_200));
+    }
+
+    @Test
+    void testRoundsHalfUp() {
+        ConversionTable table = table(Map.of("USD", 500_000L)); // 0.5
+
+        assertEquals(1, table.toMinor(table.slotOf("USD"), 1)); // 0.5 → 1
+        assertEquals(1, table.toMinor(table.slotOf("USD"), 2));
+        assertEquals(2, table.toMinor(table.slotOf("USD"), 3)); // 1.5 → 2
+        assertEquals(0, ConversionTable.scaleAndRound(49, 1, 100));
+        assertEquals(1, ConversionTable.scaleAndRound(50, 1, 100));
+    }
+
+    @Test
+    void testBatchPassesNonPositiveAmountsThrough() {
+        ConversionTable table = table(Map.of("USD", 12_000L));
+        long[] out = new long[4];
+
+        table.toMinor(table.slotOf("USD"), new long[]{100_000, 0, -5, 1_000}, out);
+
+        assertArrayEquals(new long[]{1_200, 0, -5, 12}, out);
+    }
+
+    @Test
+    void testProductsBeyondLongRangeAreExact() {
+        long amount = Long.MAX_VALUE / 1_000;
+        long factor = 1_000_000_000L;
+
+        long expected = BigInteger.valueOf(amount).multiply(BigInteger.valueOf(factor))
+                .add(BigInteger.valueOf(ConversionTable.SCALE / 2))
+                .divide(BigInteger.valueOf(ConversionTable.SCALE)).longValueExact();
+        assertEquals(expected, ConversionTable.scaleAndRound(amount, factor, ConversionTable.SCALE));
+    }
+
+    @Test
+    void testMatchesThePreviousFormulaForOrderSizedAmounts() {
+        Map<String, Long> rates = Map.of("USD", 11_950L, "EUR", 10_987L, "JPY", 1_791_234L, "KWD", 3_678L);
+        ConversionTable table = table(rates);
+        Random random = new Random(42);
+
+        for (int i = 0; i < 100_000; i++) {
+            long amount = 1 + (long) (random.nextDouble() * 10_000_000_000L); // up to ₹10 crore
+            for (Map.Entry<String, Long> rate : rates.entrySet()) {
+                long multiplier = CurrencyMetadata.getMinorUnitMultiplier(rate.getKey());
+                long viaDouble = Math.round((double) amount * rate.getValue() * multiplier / 100_000_000d);
+                long exact = table.toMinor(table.slotOf(rate.getKey()), amount);
+                // Identical except where the double product lands within its rounding error of a .5
+                assertTrue(Math.abs(exact - viaDouble) <= 1, rate.getKey() + " " + amount);
+            }
+        }
+    }
+}
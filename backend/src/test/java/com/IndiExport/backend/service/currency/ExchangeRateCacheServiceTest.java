@@ -0,0 +1,176 @@
+package com.IndiExport.backend.service.currency;
+
+import com.IndiExport.backend.exception.ExchangeRateUnavailableException;
+import com.IndiExport.backend.exception.ExternalApiException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExchangeRateCacheServiceTest {
+
+    /** Provider answering from a fixed map, or failing once {@code failing} is set. */
+    private static class StubClient implements ExchangeRateProvider {
+        final AtomicInteger fetches = new AtomicInteger();
+        volatile boolean failing;
+
+        ExchangeRateSource source() {
+            return new ExchangeRateSource(List.of(this), new String[]{"stub"}, 0);
+        }
+
+        @Override
+        public String getProviderName() {
+            return "stub";
+        }
+
+        @Override
+        public Map<String, Double> fetchRates() {
+            fetches.incrementAndGet();
+            if (failing) {
+                throw new ExternalApiException("stub", "down");
+            }
+            return Map.of("USD", 0.01195, "EUR", 0.011, "JPY", 1.78, "XYZ", 3.0);
+        }
+    }
+
+    /** History kept in memory instead of exchange_rate_snapshots. */
+    private static class StubHistory extends ExchangeRateHistoryService {
+        final List<ExchangeRateSnapshot> stored = new ArrayList<>();
+
+        StubHistory() {
+            super(null);
+        }
+
+        @Override
+        public void record(ExchangeRateSnapshot snapshot) {
+            stored.add(snapshot);
+        }
+
+        @Override
+        public Optional<ExchangeRateSnapshot> findLatest() {
+            return stored.isEmpty() ? Optional.empty() : Optional.of(stored.get(stored.size() - 1));
+        }
+
+        @Override
+        public Optional<ExchangeRateCacheService.CachedRate> findRateAsOf(String currency, Instant asOf) {
+            return stored.stream()
+                    .filter(s -> !s.fetchedAt().isAfter(asOf) && s.rateMicros(currency) != null)
+                    .reduce((a, b) -> b)
+                    .map(s -> new ExchangeRateCacheService.CachedRate(s.rateMicros(currency), s.fetchedAt(), s.providerName()));
+        }
+    }
+
+    /** Without the refresh-ahead job, and retrying immediately after a failure. */
+    private static ExchangeRateCacheService lazy(StubClient client, long ttlMinutes) {
+        return new ExchangeRateCacheService(client.source(), new StubHistory(), ttlMinutes, false, 0.75, 0, 0);
+    }
+
+    @Test
+    void testOneFetchServesEveryCurrency() {
+        StubClient client = new StubClient();
+        ExchangeRateCacheService cache = lazy(client, 60);
+
+        assertEquals(11_950, cache.getRate("usd").rateMicros());
+        assertEquals(11_000, cache.getRate("EUR").rateMicros());
+        assertEquals(1_780_000, cache.getRate("JPY").rateMicros());
+        assertEquals(1, client.fetches.get());
+        // Unsupported codes in the response are not kept
+        assertNull(cache.getSnapshot().rateMicros("XYZ"));
+    }
+
+    @Test
+    void testCurrencyMissingFromResponseIsUnavailable() {
+        ExchangeRateCacheService cache = lazy(new StubClient(), 60);
+
+        assertThrows(ExchangeRateUnavailableException.class, () -> cache.getRate("GBP"));
+    }
+
+    @Test
+    void testExpiredSnapshotIsServedWhenRefreshFails() {
+        StubClient client = new StubClient();
+        ExchangeRateCacheService cache = lazy(client, 0);
+        long first = cache.getRate("USD").rateMicros();
+
+        client.failing = true;
+        assertEquals(first, cache.getRate("USD").rateMicros());
+        assertEquals(2, client.fetches.get());
+    }
+
+    @Test
+    void testColdStartFailureIsUnavailable() {
+        StubClient client = new StubClient();
+        client.failing = true;
+        ExchangeRateCacheService cache = lazy(client, 60);
+
+        assertThrows(ExchangeRateUnavailableException.class, () -> cache.getRate("USD"));
+    }
+
+    @Test
+    void testRefreshAheadRenewsOnlyOnceDue() {
+        StubClient client = new StubClient();
+        ExchangeRateCacheService cache = new ExchangeRateCacheService(client.source(), new StubHistory(), 60, true, 0.75, 60_000, 60_000);
+
+        cache.refreshAhead();
+        cache.refreshAhead();
+        assertEquals(1, client.fetches.get());
+
+        ExchangeRateCacheService eager = new ExchangeRateCacheService(client.source(), new StubHistory(), 60, true, 0, 60_000, 60_000);
+        eager.refreshAhead();
+        eager.refreshAhead();
+        assertEquals(3, client.fetches.get());
+    }
+
+    @Test
+    void testRequestsNeverFetchOnceASnapshotExists() {
+        StubClient client = new StubClient();
+        ExchangeRateCacheService cache = new ExchangeRateCacheService(client.source(), new StubHistory(), 0, true, 0.75, 60_000, 60_000);
+        long rate = cache.getRate("USD").rateMicros();
+
+        client.failing = true;
+        assertEquals(rate, cache.getRate("USD").rateMicros());
+        assertEquals(1, client.fetches.get());
+
+        // The job retries, then backs off instead of calling the provider every tick
+        cache.refreshAhead();
+        cache.refreshAhead();
+        assertEquals(2, client.fetches.get());
+        assertEquals(rate, cache.getRate("USD").rateMicros());
+    }
+
+    @Test
+    void testWarmStartServesStoredRatesWithoutFetching() {
+        StubClient client = new StubClient();
+        StubHistory history = new StubHistory();
+        history.stored.add(new ExchangeRateSnapshot(Map.of("USD", 12_000L), Instant.now().minusSeconds(86_400), "stored"));
+        ExchangeRateCacheService cache = new ExchangeRateCacheService(client.source(), history, 60, true, 0.75, 60_000, 60_000);
+
+        cache.warmStart();
+        assertEquals(12_000, cache.getRate("USD").rateMicros());
+        assertEquals(0, client.fetches.get());
+
+        cache.refreshAhead();
+        assertEquals(11_950, cache.getRate("USD").rateMicros());
+        assertEquals(2, history.stored.size());
+    }
+
+    @Test
+    void testRateAsOfReadsHistoryForPastInstants() {
+        StubClient client = new StubClient();
+        StubHistory history = new StubHistory();
+        Instant lastWeek = Instant.now().minusSeconds(7 * 86_400);
+        history.stored.add(new ExchangeRateSnapshot(Map.of("USD", 12_000L), lastWeek, "stored"));
+        ExchangeRateCacheService cache = new ExchangeRateCacheService(client.source(), history, 60, true, 0.75, 60_000, 60_000);
+        cache.refreshAhead();
+
+        assertEquals(12_000, cache.getRateAsOf("usd", lastWeek.plusSeconds(60)).rateMicros());
+        assertEquals(11_950, cache.getRateAsOf("USD", Instant.now()).rateMicros());
+        assertThrows(ExchangeRateUnavailableException.class, () -> cache.getRateAsOf("USD", lastWeek.minusSeconds(60)));
+        assertEquals(1, client.fetches.get());
+    }
+}
@@ -0,0 +1,130 @@
+package com.IndiExport.backend.service.currency;
+
+import com.IndiExport.backend.exception.ExternalApiException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExchangeRateSourceTest {
+
+    /** Provider that answers after {@code delayMs}, or fails. */
+    private static class StubProvider implements ExchangeRateProvider {
+        final String name;
+        final long delayMs;
+        final boolean failing;
+        final AtomicInteger fetches = new AtomicInteger();
+
+        StubProvider(String name, long delayMs, boolean failing) {
+            this.name = name;
+            this.delayMs = delayMs;
+            this.failing = failing;
+        }
+
+        @Override
+        public String getProviderName() {
+            return name;
+        }
+
+        @Override
+        public Map<String, Double> fetchRates() {
+            fetches.incrementAndGet();
+            try {
+                Thread.sleep(delayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (failing) {
+                throw new ExternalApiException(name, "down");
+            }
+            return Map.of("USD", 0.012);
+        }
+    }
+
+    private static ExchangeRateSource source(long hedgeAfterMs, StubProvider... providers) {
+        String[] order = new String[providers.length];
+        for (int i = 0; i < providers.length; i++) {
+            order[i] = providers[i].name;
+        }
+        return new ExchangeRateSource(List.of(providers), order, hedgeAfterMs);
+    }
+
+    @Test
+    void testUsesTheFirstProviderInOrder() {
+        StubProvider a = new StubProvider("a", 0, false);
+        StubProvider b = new StubProvider("b", 0, false);
+
+        ExchangeRateSource.FetchedRates fetched = source(0, a, b).fetch();
+
+        assertEquals("a", fetched.providerName());
+        assertEquals(0.012, fetched.rates().get("USD"));
+        assertEquals(0, b.fetches.get());
+    }
+
+    @Test
+    void testFailsOverToTheNextProvider() {
+        StubProvider a = new StubProvider("a", 0, true);
+        StubProvider b = new StubProvider("b", 0, true);
+        StubProvider c = new StubProvider("c", 0, false);
+
+        assertEquals("c", source(0, a, b, c).fetch().providerName());
+        assertEquals(1, a.fetches.get());
+        assertEquals(1, b.fetches.get());
+    }
+
+    @Test
+    void testFailsWhenEveryProviderFails() {
+        ExchangeRateSource source = source(0, new StubProvider("a", 0, true), new StubProvider("b", 0, true));
+
+        assertThrows(ExternalApiException.class, source::fetch);
+    }
+
+    @Test
+    void testOrderMustNameKnownProviders() {
+        List<ExchangeRateProvider> available = List.of(new StubProvider("a", 0, false));
+
+        assertThrows(IllegalStateException.class,
+                () -> new ExchangeRateSource(available, new String[]{"a", "missing"}, 0));
+        assertThrows(IllegalStateException.class, () -> new ExchangeRateSource(available, new String[0], 0));
+    }
+
+    @Test
+    void testHedgeAnswersFromTheSecondaryWhenThePrimaryIsSlow() {
+        StubProvider slow = new StubProvider("slow", 2_000, false);
+        StubProvider fast = new StubProvider("fast", 0, false);
+        ExchangeRateSource source = source(50, slow, fast);
+
+        long start = System.nanoTime();
+        assertEquals("fast", source.fetch().providerName());
+        assertTrue(System.nanoTime() - start < 1_000_000_000L);
+        source.destroy();
+    }
+
+    @Test
+    void testHedgeIsNotSentWhenThePrimaryAnswersInTime() {
+        StubProvider primary = new StubProvider("primary", 0, false);
+        StubProvider secondary = new StubProvider("secondary", 0, false);
+
+        assertEquals("primary", source(1_000, primary, secondary).fetch().providerName());
+        assertEquals(0, secondary.fetches.get());
+    }
+
+    @Test
+    void testHedgeFailsOverAtOnceWhenThePrimaryFails() {
+        StubProvider primary = new StubProvider("primary", 0, true);
+        StubProvider secondary = new StubProvider("secondary", 0, false);
+
+        assertEquals("secondary", source(1_000, primary, secondary).fetch().providerName());
+    }
+
+    @Test
+    void testSlowPrimaryStillWinsIfTheHedgeFails() {
+        StubProvider slow = new StubProvider("slow", 200, false);
+        StubProvider broken = new StubProvider("broken", 0, true);
+
+        assertEquals("slow", source(20, slow, broken).fetch().providerName());
+    }
+}
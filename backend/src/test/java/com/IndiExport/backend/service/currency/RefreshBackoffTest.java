@@ -0,0 +1,50 @@
+package com.IndiExport.backend.service.currency;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RefreshBackoffTest {
+
+    @Test
+    void testDelayDoublesUpToTheMax() {
+        RefreshBackoff backoff = new RefreshBackoff(1_000, 5_000, () -> 1.0);
+
+        assertEquals(1_000, backoff.onFailure(0));
+        assertEquals(2_000, backoff.onFailure(0));
+        assertEquals(4_000, backoff.onFailure(0));
+        assertEquals(5_000, backoff.onFailure(0));
+        assertEquals(5_000, backoff.onFailure(0));
+        assertEquals(5, backoff.failures());
+    }
+
+    @Test
+    void testJitterKeepsAtLeastHalfTheDelay() {
+        RefreshBackoff backoff = new RefreshBackoff(1_000, 60_000, () -> 0.0);
+
+        assertEquals(500, backoff.onFailure(0));
+        assertEquals(1_000, backoff.onFailure(0));
+    }
+
+    @Test
+    void testAttemptsWaitForTheDelayAndSuccessResets() {
+        RefreshBackoff backoff = new RefreshBackoff(1_000, 60_000, () -> 1.0);
+        assertTrue(backoff.canAttempt(0));
+
+        backoff.onFailure(10_000);
+        assertFalse(backoff.canAttempt(10_999));
+        assertTrue(backoff.canAttempt(11_000));
+
+        backoff.onSuccess();
+        assertTrue(backoff.canAttempt(0));
+        assertEquals(0, backoff.failures());
+    }
+
+    @Test
+    void testManyFailuresDoNotOverflow() {
+        RefreshBackoff backoff = new RefreshBackoff(1_000, 60_000, () -> 1.0);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i < 6 ? 1_000L << i : 60_000, backoff.onFailure(0));
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.IndiExport.backend.service.search;
+
+import com.IndiExport.backend.util.KeywordUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InvertedIndexTest {
+
+    private final UUID cottonShirt = UUID.randomUUID();
+    private final UUID silkShirt = UUID.randomUUID();
+    private final UUID cottonYarn = UUID.randomUUID();
+
+    private InvertedIndex buildIndex() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(cottonShirt, KeywordUtil.tokenize("Cotton Shirts cotton shirts organic cotton"));
+        index.put(silkShirt, KeywordUtil.tokenize("Silk Shirts premium silk"));
+        index.put(cottonYarn, KeywordUtil.tokenize("Cotton Yarn for weaving"));
+        return index;
+    }
+
+    @Test
+    void testAndRequiresEveryTerm() {
+        List<SearchHit> hits = buildIndex().search(List.of("cotton", "shirts"), true, 10);
+
+        assertEquals(1, hits.size());
+        assertEquals(cottonShirt, hits.get(0).productId());
+    }
+
+    @Test
+    void testOrRanksByRelevance() {
+        List<SearchHit> hits = buildIndex().search(List.of("cotton", "shirts"), false, 10);
+
+        assertEquals(3, hits.size());
+        assertEquals(cottonShirt, hits.get(0).productId()); // Matches both terms, several times
+    }
+
+    @Test
+    void testPrefixMatch() {
+        List<SearchHit> hits = buildIndex().search(List.of("shirt"), true, 10);
+
+        assertEquals(2, hits.size());
+    }
+
+    @Test
+    void testRemoveAndReindex() {
+        InvertedIndex index = buildIndex();
+        index.remove(cottonYarn);
+        index.put(silkShirt, KeywordUtil.tokenize("Silk Scarves"));
+
+        assertEquals(2, index.size());
+        assertTrue(index.search(List.of("yarn"), true, 10).isEmpty());
+        assertEquals(1, index.search(List.of("shirts"), true, 10).size());
+    }
+
+    @Test
+    void testLimit() {
+        assertEquals(1, buildIndex().search(List.of("cotton"), true, 1).size());
+    }
+}
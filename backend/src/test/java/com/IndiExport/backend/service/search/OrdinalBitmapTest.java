@@ -0,0 +1,76 @@
+package com.IndiExport.backend.service.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrdinalBitmapTest {
+
+    private static final int UNIVERSE = 200_000; // Spans several 65536-value chunks
+
+    private static OrdinalBitmap randomBitmap(Random random, BitSet mirror, double density) {
+        OrdinalBitmap bitmap = new OrdinalBitmap();
+        for (int i = 0; i < UNIVERSE; i++) {
+            if (random.nextDouble() < density) {
+                bitmap.add(i);
+                mirror.set(i);
+            }
+        }
+        return bitmap;
+    }
+
+    private static void assertSameValues(BitSet expected, OrdinalBitmap actual) {
+        assertEquals(expected.cardinality(), actual.cardinality());
+        assertArrayEquals(expected.stream().toArray(), actual.toArray());
+    }
+
+    @Test
+    void testSetOperationsMatchBitSet() {
+        Random random = new Random(42);
+        // Sparse (array chunks) against dense (bitmap chunks) covers every container pairing
+        for (double[] densities : new double[][]{{0.01, 0.02}, {0.01, 0.5}, {0.5, 0.3}}) {
+            BitSet a = new BitSet();
+            BitSet b = new BitSet();
+            OrdinalBitmap left = randomBitmap(random, a, densities[0]);
+            OrdinalBitmap right = randomBitmap(random, b, densities[1]);
+
+            BitSet and = (BitSet) a.clone();
+            and.and(b);
+            BitSet or = (BitSet) a.clone();
+            or.or(b);
+            BitSet andNot = (BitSet) a.clone();
+            andNot.andNot(b);
+
+            assertSameValues(and, left.and(right));
+            assertSameValues(or, left.or(right));
+            assertSameValues(andNot, left.andNot(right));
+            assertSameValues(a, left); // Operands are left untouched
+        }
+    }
+
+    @Test
+    void testAddAndRemoveAcrossContainerConversion() {
+        OrdinalBitmap bitmap = new OrdinalBitmap();
+        for (int i = 0; i < 10_000; i++) {
+            bitmap.add(i * 2);
+        }
+        assertEquals(10_000, bitmap.cardinality());
+        assertTrue(bitmap.contains(19_998));
+        assertFalse(bitmap.contains(19_999));
+
+        for (int i = 0; i < 9_000; i++) {
+            bitmap.remove(i * 2);
+        }
+        assertEquals(1_000, bitmap.cardinality());
+        assertFalse(bitmap.contains(0));
+        assertTrue(bitmap.contains(18_000));
+
+        for (int i = 9_000; i < 10_000; i++) {
+            bitmap.remove(i * 2);
+        }
+        assertTrue(bitmap.isEmpty());
+    }
+}
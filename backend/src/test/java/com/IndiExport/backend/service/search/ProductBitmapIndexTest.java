@@ -0,0 +1,97 @@
+package com.IndiExport.backend.service.search;
+
+import com.IndiExport.backend.entity.Incoterm;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductBitmapIndexTest {
+
+    private final UUID textiles = UUID.randomUUID();
+    private final UUID spices = UUID.randomUUID();
+    private final UUID weaver = UUID.randomUUID();
+    private final UUID grower = UUID.randomUUID();
+
+    private final UUID shirt = UUID.randomUUID();
+    private final UUID yarn = UUID.randomUUID();
+    private final UUID pepper = UUID.randomUUID();
+
+    private final LocalDateTime now = LocalDateTime.now();
+
+    private ProductBitmapIndex buildIndex() {
+        ProductBitmapIndex index = new ProductBitmapIndex();
+        index.put(product(shirt, 80_000, 4500, 7, Incoterm.FOB, weaver, true, textiles, now.minusDays(1)));
+        index.put(product(yarn, 20_000, 3200, 14, Incoterm.FOB, weaver, true, textiles, now));
+        index.put(product(pepper, 600_000, 4100, 5, Incoterm.CIF, grower, false, spices, now.minusDays(2)));
+        return index;
+    }
+
+    private ProductAttributes product(UUID id, long pricePaise, int ratingMilli, int leadTimeDays, Incoterm incoterm,
+                                      UUID sellerId, boolean verified, UUID category, LocalDateTime createdAt) {
+        return new ProductAttributes(id, pricePaise, ratingMilli, leadTimeDays, incoterm, "INDIA", null, sellerId,
+                verified, Map.of(category, category == textiles ? "Textiles" : "Spices"), createdAt, 0);
+    }
+
+    private ProductFilterCriteria criteria(Incoterm incoterm, Boolean verifiedSeller, Integer maxLeadTimeDays,
+                                           Double minRating, Long maxPricePaise) {
+        return new ProductFilterCriteria(null, null, null, null, maxPricePaise, minRating, verifiedSeller,
+                incoterm, null, maxLeadTimeDays, null, null);
+    }
+
+    @Test
+    void testCombinedFilters() {
+        ProductBitmapIndex index = buildIndex();
+
+        assertEquals(List.of(shirt, yarn),
+                index.search(criteria(Incoterm.FOB, true, null, null, null), ProductSearchCursor.SortKey.PRICE_DESC, 0, 10).ids());
+        assertEquals(List.of(shirt, pepper),
+                index.search(criteria(null, null, 10, 4.0, null), ProductSearchCursor.SortKey.NEWEST, 0, 10).ids());
+        assertEquals(List.of(shirt),
+                index.search(criteria(null, null, 10, 4.5, null), ProductSearchCursor.SortKey.NEWEST, 0, 10).ids());
+        assertEquals(List.of(yarn),
+                index.search(criteria(null, null, null, null, 50_000L), ProductSearchCursor.SortKey.NEWEST, 0, 10).ids());
+    }
+
+    @Test
+    void testSortAndPaging() {
+        ProductBitmapIndex index = buildIndex();
+        ProductFilterCriteria all = criteria(null, null, null, null, null);
+
+        ProductIdPage first = index.search(all, ProductSearchCursor.SortKey.NEWEST, 0, 2);
+        ProductIdPage second = index.search(all, ProductSearchCursor.SortKey.NEWEST, 2, 2);
+
+        assertEquals(3, first.total());
+        assertEquals(List.of(yarn, shirt), first.ids());
+        assertEquals(List.of(pepper), second.ids());
+        assertTrue(index.search(all, ProductSearchCursor.SortKey.NEWEST, 4, 2).ids().isEmpty());
+    }
+
+    @Test
+    void testKeywordMatchesKeepRelevanceOrder() {
+        ProductFilterCriteria keyword = new ProductFilterCriteria(List.of(pepper, yarn), null, null, null, null,
+                null, null, null, null, null, null, null);
+
+        assertEquals(List.of(pepper, yarn), buildIndex().search(keyword, null, 0, 10).ids());
+    }
+
+    @Test
+    void testUpdatesAndSellerVerification() {
+        ProductBitmapIndex index = buildIndex();
+        ProductFilterCriteria verifiedOnly = criteria(null, true, null, null, null);
+
+        index.remove(yarn);
+        index.put(product(shirt, 80_000, 4500, 7, Incoterm.CIF, weaver, true, textiles, now));
+        assertEquals(2, index.size());
+        assertEquals(List.of(shirt, pepper),
+                index.search(criteria(Incoterm.CIF, null, null, null, null), ProductSearchCursor.SortKey.PRICE_ASC, 0, 10).ids());
+
+        index.setSellerVerified(grower, true);
+        index.setSellerVerified(weaver, false);
+        assertEquals(List.of(pepper), index.search(verifiedOnly, ProductSearchCursor.SortKey.NEWEST, 0, 10).ids());
+    }
+}
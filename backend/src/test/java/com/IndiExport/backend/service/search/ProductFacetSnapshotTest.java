@@ -0,0 +1,82 @@
+package com.IndiExport.backend.service.search;
+
+import com.IndiExport.backend.entity.Incoterm;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductFacetSnapshotTest {
+
+    private final UUID textiles = UUID.randomUUID();
+    private final UUID spices = UUID.randomUUID();
+    private final UUID seller = UUID.randomUUID();
+
+    private final UUID shirt = UUID.randomUUID();
+    private final UUID yarn = UUID.randomUUID();
+    private final UUID pepper = UUID.randomUUID();
+
+    private ProductFacetSnapshot buildSnapshot() {
+        return new ProductFacetSnapshot(List.of(
+                row(shirt, 80_000, 4500, 7, Incoterm.FOB, "India", "6205", seller, true, textiles),
+                row(yarn, 20_000, 3200, 14, Incoterm.FOB, "INDIA", "5205", seller, false, textiles),
+                row(pepper, 600_000, 4100, 5, Incoterm.CIF, "Vietnam", "0904", seller, true, spices)),
+                Instant.now());
+    }
+
+    private ProductAttributes row(UUID id, long pricePaise, int ratingMilli, int leadTimeDays, Incoterm incoterm,
+                                  String originCountry, String hsCode, UUID sellerId, boolean verified, UUID category) {
+        return new ProductAttributes(id, pricePaise, ratingMilli, leadTimeDays, incoterm, originCountry, hsCode,
+                sellerId, verified, Map.of(category, category == textiles ? "Textiles" : "Spices"),
+                LocalDateTime.now(), 0);
+    }
+
+    private ProductFilterCriteria criteria(UUID categoryId, Incoterm incoterm, Boolean verifiedSeller) {
+        return new ProductFilterCriteria(null, categoryId, null, null, null, null, verifiedSeller,
+                incoterm, null, null, null, null);
+    }
+
+    @Test
+    void testCountsWithoutFilters() {
+        ProductFacetSnapshot.Facets facets = buildSnapshot().facets(criteria(null, null, null));
+
+        assertEquals(3, facets.total());
+        assertEquals(2, facets.categories().get(textiles));
+        assertEquals(2, facets.incoterms().get(Incoterm.FOB));
+        assertEquals(2, facets.originCountries().get("INDIA")); // Case-insensitive
+        assertArrayEquals(new int[]{1, 1, 0, 1, 0, 0}, facets.priceBuckets());
+        assertArrayEquals(new int[]{2, 3, 3, 3}, facets.ratingBuckets()); // Cumulative "and up"
+    }
+
+    @Test
+    void testFacetIgnoresItsOwnFilter() {
+        ProductFacetSnapshot.Facets facets = buildSnapshot().facets(criteria(textiles, null, null));
+
+        assertEquals(2, facets.total());
+        assertEquals(1, facets.categories().get(spices)); // Alternative category stays visible
+        assertNull(facets.incoterms().get(Incoterm.CIF)); // Other facets are narrowed to textiles
+    }
+
+    @Test
+    void testNonFacetFiltersApplyEverywhere() {
+        ProductFacetSnapshot.Facets facets = buildSnapshot().facets(criteria(null, Incoterm.FOB, true));
+
+        assertEquals(1, facets.total());
+        assertEquals(1, facets.incoterms().get(Incoterm.CIF));
+        assertEquals(1, facets.categories().get(textiles));
+    }
+
+    @Test
+    void testKeywordMatchesRestrictCounts() {
+        ProductFacetSnapshot.Facets facets = buildSnapshot().facets(new ProductFilterCriteria(
+                List.of(pepper, UUID.randomUUID()), null, null, null, null, null, null, null, null, null, null, null));
+
+        assertEquals(1, facets.total());
+        assertEquals(Map.of("VIETNAM", 1), facets.originCountries());
+    }
+}
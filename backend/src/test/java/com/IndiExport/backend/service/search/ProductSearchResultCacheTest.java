@@ -0,0 +1,60 @@
+package com.IndiExport.backend.service.search;
+
+import com.IndiExport.backend.dto.ProductDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductSearchResultCacheTest {
+
+    private static ProductDto.ProductFilterRequest filter(String keyword, int page) {
+        ProductDto.ProductFilterRequest filter = new ProductDto.ProductFilterRequest();
+        filter.setKeyword(keyword);
+        filter.setPage(page);
+        return filter;
+    }
+
+    private static ProductIdPage page() {
+        return new ProductIdPage(List.of(UUID.randomUUID()), 1);
+    }
+
+    @Test
+    void testEquivalentFiltersShareAnEntry() {
+        ProductSearchResultCache cache = new ProductSearchResultCache(10);
+        ProductIdPage first = cache.get(filter("Cotton", 0), ProductSearchResultCacheTest::page);
+
+        assertSame(first, cache.get(filter("cotton", 0), () -> fail("should be cached")));
+        assertNotSame(first, cache.get(filter("cotton", 1), ProductSearchResultCacheTest::page));
+
+        ProductSearchResultCache.Stats stats = cache.stats();
+        assertEquals(1, stats.hits());
+        assertEquals(2, stats.misses());
+    }
+
+    @Test
+    void testLeastRecentlyUsedEntryIsEvicted() {
+        ProductSearchResultCache cache = new ProductSearchResultCache(2);
+        cache.get(filter("a", 0), ProductSearchResultCacheTest::page);
+        cache.get(filter("b", 0), ProductSearchResultCacheTest::page);
+        cache.get(filter("a", 0), () -> fail("should be cached")); // "b" is now the eldest
+        cache.get(filter("c", 0), ProductSearchResultCacheTest::page);
+
+        assertEquals(1, cache.stats().evictions());
+        cache.get(filter("a", 0), () -> fail("should be cached"));
+    }
+
+    @Test
+    void testPageLoadedAcrossAnInvalidationIsNotStored() {
+        ProductSearchResultCache cache = new ProductSearchResultCache(10);
+        cache.get(filter("cotton", 0), () -> {
+            cache.onProductChanged(new ProductChangedEvent(UUID.randomUUID()));
+            return page();
+        });
+
+        assertEquals(0, cache.stats().size());
+        assertEquals(1, cache.stats().invalidations());
+    }
+}
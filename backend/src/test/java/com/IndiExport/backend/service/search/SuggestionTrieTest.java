@@ -0,0 +1,66 @@
+package com.IndiExport.backend.service.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SuggestionTrieTest {
+
+    private final UUID shirt = UUID.randomUUID();
+    private final UUID scarf = UUID.randomUUID();
+
+    @Test
+    void testCompletesWordPrefixesByWeight() {
+        SuggestionTrie trie = new SuggestionTrie(10);
+        trie.put(shirt, Map.of("Cotton Shirt", 5L, "Textiles", 5L));
+        trie.put(scarf, Map.of("Silk Scarf", 20L, "Textiles", 20L));
+
+        assertEquals(List.of("Silk Scarf"), trie.complete("sil", 10));
+        assertEquals(List.of("Cotton Shirt"), trie.complete("shi", 10)); // Matches the second word
+        assertTrue(trie.complete("  ", 10).isEmpty());
+        assertEquals("Textiles", trie.complete("t", 1).get(0)); // Shared phrase sums weights (25)
+    }
+
+    @Test
+    void testUpdateAndRemove() {
+        SuggestionTrie trie = new SuggestionTrie(10);
+        trie.put(shirt, Map.of("Cotton Shirt", 5L));
+        trie.put(scarf, Map.of("Cotton Scarf", 1L));
+        assertEquals(List.of("Cotton Shirt", "Cotton Scarf"), trie.complete("cot", 10));
+
+        trie.put(scarf, Map.of("Cotton Scarf", 50L));
+        assertEquals(List.of("Cotton Scarf", "Cotton Shirt"), trie.complete("cot", 10));
+
+        trie.remove(scarf);
+        assertEquals(List.of("Cotton Shirt"), trie.complete("cot", 10));
+        assertTrue(trie.complete("sca", 10).isEmpty());
+        assertEquals(1, trie.size());
+    }
+
+    @Test
+    void testRemovingASourceWhosePhrasesShareAKeyDropsTheSuggestion() {
+        SuggestionTrie trie = new SuggestionTrie(10);
+        // Brand and tag normalize to the same key
+        trie.put(shirt, Map.of("Acme", 3L, "ACME!", 2L));
+        assertEquals(1, trie.size());
+
+        trie.remove(shirt);
+        assertTrue(trie.complete("acm", 10).isEmpty());
+        assertEquals(0, trie.size());
+    }
+
+    @Test
+    void testBulkLoadMatchesIncremental() {
+        SuggestionTrie trie = new SuggestionTrie(2);
+        trie.putAll(Map.of(
+                shirt, Map.of("Cotton Shirt", 5L),
+                scarf, Map.of("Cotton Scarf", 7L),
+                UUID.randomUUID(), Map.of("Cotton Yarn", 1L)));
+
+        assertEquals(List.of("Cotton Scarf", "Cotton Shirt"), trie.complete("cotton", 10));
+    }
+}
@@ -0,0 +1,67 @@
+package com.IndiExport.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HyperLogLogTest {
+
+    @Test
+    void testSmallCardinalityIsNearlyExact() {
+        HyperLogLog sketch = new HyperLogLog(11);
+        for (int i = 0; i < 100; i++) {
+            sketch.add("visitor-" + i);
+            sketch.add("visitor-" + i); // duplicates do not count
+        }
+        assertEquals(100, sketch.estimate(), 2);
+    }
+
+    @Test
+    void testLargeCardinalityWithinErrorBound() {
+        HyperLogLog sketch = new HyperLogLog(11);
+        for (int i = 0; i < 200_000; i++) {
+            sketch.add(UUID.randomUUID());
+        }
+        // 4 standard errors of ~2.3%
+        assertEquals(200_000, sketch.estimate(), 200_000 * 0.092);
+    }
+
+    @Test
+    void testMergeEqualsUnion() {
+        HyperLogLog monday = new HyperLogLog(11);
+        HyperLogLog tuesday = new HyperLogLog(11);
+        HyperLogLog both = new HyperLogLog(11);
+        for (int i = 0; i < 5_000; i++) {
+            monday.add("v" + i);
+            both.add("v" + i);
+        }
+        for (int i = 2_500; i < 10_000; i++) {
+            tuesday.add("v" + i);
+            both.add("v" + i);
+        }
+
+        monday.merge(tuesday);
+        assertEquals(both.estimate(), monday.estimate());
+        assertEquals(10_000, monday.estimate(), 10_000 * 0.07);
+    }
+
+    @Test
+    void testSerializationRoundTrip() {
+        HyperLogLog sketch = new HyperLogLog(8);
+        sketch.add("IN");
+        sketch.add("US");
+
+        HyperLogLog copy = HyperLogLog.fromBytes(sketch.toBytes());
+        assertEquals(8, copy.precision());
+        assertEquals(257, sketch.toBytes().length);
+        assertEquals(sketch.estimate(), copy.estimate());
+    }
+
+    @Test
+    void testRejectsMismatchedPrecision() {
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(11).merge(new HyperLogLog(8)));
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(3));
+    }
+}
@@ -29,7 +29,9 @@ const productApi = {
     },
 
     sellerGetProducts: async (params) => {
-        // params: page, size, keyword, status
+        // params: page, size, keyword, status, sortBy
+        // items: id, title, brand, sku, pricePaise, minQty, unit, leadTimeDays, stockQuantity,
+        // status, averageRating, totalReviews, totalOrders, createdAt, media (listing fields only)
         return await axiosClient.get('sellers/products', { params });
     },
 
@@ -20,7 +20,7 @@ const ProductCard = ({ product, activeCount, onToggleActive, onDelete }) => {
                     </div>
                 )}
                 {/* Status Badge */}
-                <div className={`absolute top-2 right-2 px-2 py-0.5 rounded text-[10px] font-bold uppercase tracking-wide border ${product.active
+                <div className={`absolute top-2 right-2 px-2 py-0.5 rounded text-[10px] font-bold uppercase tracking-wide border ${product.status === 'ACTIVE'
                     ? 'bg-green-100/90 text-green-700 border-green-200'
                     : 'bg-slate-100/90 text-slate-500 border-slate-200'
                     }`}>